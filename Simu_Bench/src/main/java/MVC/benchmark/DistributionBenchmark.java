@@ -0,0 +1,65 @@
+package MVC.benchmark;
+
+import eduni.distributions.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@code sample()} for each generator in {@code eduni.distributions}.
+ * Every generator is created with the same fixed seed. The {@code algorithm} parameter
+ * compares the fast samplers (e.g. Ziggurat normal and negexp) with the legacy ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DistributionBenchmark {
+
+    private static final long SEED = 4851L;
+
+    @Param({"Uniform", "Negexp", "Normal", "LogNormal", "Gamma", "Erlang", "Beta", "Weibull",
+            "Pareto", "Logistic", "Cauchy", "ChiSquare", "Tstudent",
+            "Poisson", "Binomial", "Geometric", "Pascal", "Bernoulli"})
+    public String distribution;
+
+    @Param({"FAST", "LEGACY"})
+    public Distributions.Algorithm algorithm;
+
+    private ContinuousGenerator continuous;
+    private DiscreteGenerator discrete;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (distribution) {
+            case "Uniform" -> continuous = new Uniform(0, 10, SEED);
+            case "Negexp" -> continuous = new Negexp(5, SEED);
+            case "Normal" -> continuous = new Normal(5, 1, SEED);
+            case "LogNormal" -> continuous = new LogNormal(1, 0.5, SEED);
+            case "Gamma" -> continuous = new Gamma(2, 3, SEED);
+            case "Erlang" -> continuous = new Erlang(3, 2, SEED);
+            case "Beta" -> continuous = new Beta(2, 5, SEED);
+            case "Weibull" -> continuous = new Weibull(2, 1.5, SEED);
+            case "Pareto" -> continuous = new Pareto(1, 3, SEED);
+            case "Logistic" -> continuous = new Logistic(0, 1, SEED);
+            case "Cauchy" -> continuous = new Cauchy(0, 1, SEED);
+            case "ChiSquare" -> continuous = new ChiSquare(4, SEED);
+            case "Tstudent" -> continuous = new Tstudent(5, SEED);
+            case "Poisson" -> discrete = new Poisson(4, SEED);
+            case "Binomial" -> discrete = new Binomial(0.3, 20, SEED);
+            case "Geometric" -> discrete = new Geometric(0.2, SEED);
+            case "Pascal" -> discrete = new Pascal(0.4, 3, SEED);
+            case "Bernoulli" -> discrete = new Bernoulli(0.5, SEED);
+            default -> throw new IllegalArgumentException("Unknown distribution " + distribution);
+        }
+        if (continuous instanceof Generator g) g.setAlgorithm(algorithm);
+        if (discrete instanceof Generator g) g.setAlgorithm(algorithm);
+    }
+
+    @Benchmark
+    public double sample() {
+        return continuous != null ? continuous.sample() : discrete.sample();
+    }
+}
@@ -0,0 +1,68 @@
+package MVC.benchmark;
+
+import MVC.simu.framework.Event;
+import MVC.simu.framework.EventListType;
+import MVC.simu.framework.IEventList;
+import MVC.simu.model.EventType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold-model benchmark of the {@link IEventList} implementations.
+ * <p>
+ * The list is filled with {@code size} events, then every operation removes the next event
+ * and schedules a new one at its time plus a random increment, so the list size stays constant.
+ * Increments come from a fixed-seed table, so every run measures exactly the same workload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EventListBenchmark {
+
+    /** Number of precomputed increments; a power of two so the index can be masked. */
+    private static final int INCREMENTS = 1 << 16;
+
+    @Param({"ARRAY_HEAP", "BINARY_HEAP", "CALENDAR_QUEUE", "LADDER_QUEUE"})
+    public EventListType eventList;
+
+    /** Pending events, spanning the crossover points between the implementations. */
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int size;
+
+    /** Increment distribution: exponential, or a bimodal mix of near and far events. */
+    @Param({"EXPONENTIAL", "BIMODAL"})
+    public String increments;
+
+    private IEventList list;
+    private final double[] increment = new double[INCREMENTS];
+    private final EventType[] types = EventType.values();
+    private final Event facade = new Event(null, 0);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < INCREMENTS; i++) {
+            double e = -Math.log(1 - random.nextDouble());
+            increment[i] = increments.equals("BIMODAL") && random.nextInt(10) == 0 ? 1000 * e : e;
+        }
+        list = eventList.create();
+        for (int i = 0; i < size; i++) {
+            list.schedule(types[i % types.length], increment[i & (INCREMENTS - 1)], i);
+        }
+        next = size;
+    }
+
+    @Benchmark
+    public double hold() {
+        Event e = list.removeNext(facade);
+        double time = e.getTime() + increment[next++ & (INCREMENTS - 1)];
+        list.schedule(e.getType(), time, e.getPayload());
+        return time;
+    }
+}
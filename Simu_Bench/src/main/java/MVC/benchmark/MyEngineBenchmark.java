@@ -0,0 +1,58 @@
+package MVC.benchmark;
+
+import MVC.controller.NullController;
+import MVC.simu.framework.EventListType;
+import MVC.simu.framework.SimulationContext;
+import MVC.simu.framework.Trace;
+import MVC.simu.model.MyEngine;
+import eduni.project_distributionconfiguration.DistributionConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a complete headless {@link MyEngine} run, without database persistence,
+ * for a fixed seed and simulation horizon. Each invocation simulates exactly the same run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MyEngineBenchmark {
+
+    private static final long SEED = 2024L;
+
+    @Param({"1000", "10000"})
+    public double horizon;
+
+    @Param({"ARRAY_HEAP", "LADDER_QUEUE"})
+    public EventListType eventList;
+
+    private DistributionConfig[] configs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+        configs = new DistributionConfig[] {
+                new DistributionConfig("Negexp", 1.0, false),
+                new DistributionConfig("Normal", 2.0, 0.5, false),
+                new DistributionConfig("Gamma", 1.0, 2.0, false),
+                new DistributionConfig("Negexp", 3.0, false),
+                new DistributionConfig("Negexp", 1.5, false),
+                new DistributionConfig("Normal", 2.5, 0.3, false),
+                new DistributionConfig("Negexp", 0.8, true)
+        };
+    }
+
+    @Benchmark
+    public int run() {
+        MyEngine engine = new MyEngine(NullController.INSTANCE, configs, new SimulationContext(SEED), eventList);
+        engine.setHeadless(true);
+        engine.setPersistResults(false);
+        engine.setSimulationTime(horizon);
+        engine.run();
+        return engine.getTotalApplications();
+    }
+}
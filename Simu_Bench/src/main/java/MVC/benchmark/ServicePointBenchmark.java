@@ -0,0 +1,66 @@
+package MVC.benchmark;
+
+import MVC.controller.NullController;
+import MVC.simu.framework.ArrayEventHeap;
+import MVC.simu.framework.Event;
+import MVC.simu.framework.IEventList;
+import MVC.simu.framework.SimulationContext;
+import MVC.simu.framework.Trace;
+import MVC.simu.model.ApplicationAsCustomer;
+import MVC.simu.model.EventType;
+import MVC.simu.model.ServicePoint;
+import eduni.distributions.Negexp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of one {@link ServicePoint} customer cycle: {@code addQueue} (which begins service
+ * and schedules the completion event), advancing the clock to the next completion, and
+ * {@code removeQueue}. Applications are created once and reused, so the context registry
+ * does not grow during the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ServicePointBenchmark {
+
+    private static final int APPLICATIONS = 1024;
+
+    /** Number of customers kept in the service point (queue plus service). */
+    @Param({"1", "50"})
+    public int load;
+
+    private SimulationContext context;
+    private IEventList eventList;
+    private ServicePoint servicePoint;
+    private ApplicationAsCustomer[] applications;
+    private final Event facade = new Event(null, 0);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+        context = new SimulationContext(42L);
+        eventList = new ArrayEventHeap();
+        servicePoint = new ServicePoint(new Negexp(5, context.nextStreamSeed()), eventList,
+                EventType.END_DOC_CHECK, NullController.INSTANCE, context);
+        applications = new ApplicationAsCustomer[APPLICATIONS];
+        for (int i = 0; i < APPLICATIONS; i++) {
+            applications[i] = new ApplicationAsCustomer(context, i % 2 == 0, true);
+        }
+        for (int i = 0; i < load; i++) {
+            servicePoint.addQueue(applications[next++ & (APPLICATIONS - 1)]);
+        }
+    }
+
+    @Benchmark
+    public ApplicationAsCustomer cycle() {
+        servicePoint.addQueue(applications[next++ & (APPLICATIONS - 1)]);
+        context.getClock().setTime(eventList.removeNext(facade).getTime());
+        return servicePoint.removeQueue();
+    }
+}
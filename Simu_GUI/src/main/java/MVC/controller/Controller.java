@@ -68,6 +68,7 @@ public class Controller implements IControllerVtoM, IControllerMtoV {
         engine = new MyEngine(this, configs, seed); // new Engine thread is created for every simulation
         engine.setSimulationTime(ui.getTime());
         engine.setDelay(ui.getDelay());
+        engine.getMetrics().registerMBean();
         ui.getVisualisation().clearDisplay();
         ((Thread) engine).start();
     }
@@ -0,0 +1,57 @@
+package MVC.controller;
+
+import MVC.view.IVisualisation;
+
+/**
+ * NullController is a no-op implementation of {@link IControllerMtoV}.
+ *
+ * <p>It is used as the observer of a headless simulation engine (see
+ * {@link MVC.simu.framework.IEngine#setHeadless(boolean)}), where no view exists and
+ * the JavaFX toolkit must not be touched. Every callback returns immediately, and
+ * {@link #getVisualisation()} returns an equally inert visualisation, so model code
+ * can keep calling the controller without null checks.</p>
+ *
+ * See {@link IControllerMtoV}
+ */
+public final class NullController implements IControllerMtoV {
+
+    /** Shared stateless instance. */
+    public static final NullController INSTANCE = new NullController();
+
+    /** Visualisation that ignores every call. */
+    private static final IVisualisation NULL_VISUALISATION = new IVisualisation() {
+        @Override
+        public void clearDisplay() {}
+
+        @Override
+        public void newCustomer() {}
+
+        @Override
+        public void updateServicePointQueue(int servicePointId, int queueSize) {}
+
+        @Override
+        public void moveCustomer(int fromSP, int toSP, boolean isApproved) {}
+    };
+
+    private NullController() {}
+
+    @Override
+    public void showEndTime(double time) {}
+
+    @Override
+    public void visualiseCustomer() {}
+
+    @Override
+    public void updateQueueStatus(int servicePointId, int queueSize) {}
+
+    @Override
+    public void displayResults(String resultsText) {}
+
+    @Override
+    public void updateStatistics(int totalApps, int approved, int rejected, double avgTime, double currentTime) {}
+
+    @Override
+    public IVisualisation getVisualisation() {
+        return NULL_VISUALISATION;
+    }
+}
@@ -9,6 +9,8 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import MVC.view.*;
+import MVC.simu.framework.EngineMetrics;
+import MVC.simu.framework.Trace;
 
 /**
  * SimulationController manages the simulation execution screen, providing
@@ -244,8 +246,9 @@ public class SimulationController implements ISimulatorUI {
     /**
      * Displays final simulation results.
      *
-     * <p>This implementation logs the results to the console. The detailed
-     * results are displayed in the separate results view after navigation.</p>
+     * <p>This implementation logs the results to the console and traces the
+     * engine metrics at {@link Trace.Level#INFO}. The detailed results are
+     * displayed in the separate results view after navigation.</p>
      *
      * @param resultsText the formatted results text
      */
@@ -254,9 +257,23 @@ public class SimulationController implements ISimulatorUI {
         Platform.runLater(() -> {
             System.out.println("Simulation Complete!");
             System.out.println(resultsText);
+            EngineMetrics metrics = getEngineMetrics();
+            if (metrics != null) Trace.out(Trace.Level.INFO, () -> "Engine metrics: " + metrics);
         });
     }
 
+    /**
+     * Returns the runtime metrics of the running (or last) simulation engine.
+     *
+     * <p>The metrics are also published over JMX as {@value EngineMetrics#OBJECT_NAME}.</p>
+     *
+     * @return the engine metrics, or {@code null} if no simulation has been started
+     */
+    public EngineMetrics getEngineMetrics() {
+        if (controller == null || controller.getEngine() == null) return null;
+        return controller.getEngine().getMetrics();
+    }
+
     /**
      * Updates the real-time statistics display with current simulation metrics.
      *
@@ -0,0 +1,261 @@
+package MVC.simu.framework;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Allocation-free implementation of {@link IEventList}.
+ * <p>
+ * Instead of storing {@link Event} objects, the {@code ArrayEventHeap} keeps every
+ * pending event as one slot in parallel primitive arrays (time, sequence number,
+ * event-type handle and an {@code int} payload) and orders the slots with an
+ * index-based binary heap. Scheduling through {@link #schedule(IEventType, double, int)}
+ * and dequeuing through {@link #removeNext(Event)} therefore create no garbage once
+ * the arrays have grown to the steady-state size.
+ * <p>
+ * Events with equal times are ordered by type {@link IEventType#getPriority() priority}
+ * and then returned in the order they were scheduled, exactly like {@link Event#compareTo(Event)}.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Stores event data in {@code double[]}, {@code long[]} and {@code int[]} arrays</li>
+ *   <li>Maps event types to small integer handles (the enum ordinal where possible)</li>
+ *   <li>Fills a caller-supplied {@link Event} facade when an event is removed</li>
+ * </ul>
+ */
+public class ArrayEventHeap implements IEventList {
+
+    /** Initial capacity of the slot arrays. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] times;
+    private long[] seqs;
+    private int[] typeHandles;
+    private int[] payloads;
+
+    /** Event types indexed by handle. */
+    private IEventType[] types = new IEventType[16];
+
+    /** Same-time priority of each registered event type, indexed by handle. */
+    private int[] typePriorities = new int[16];
+
+    /** Number of pending events. */
+    private int size;
+
+    /** Sequence number given to the next scheduled event. */
+    private long nextSeq;
+
+    /** Constructs an empty {@code ArrayEventHeap}. */
+    public ArrayEventHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty {@code ArrayEventHeap} with the given initial capacity.
+     *
+     * @param initialCapacity number of events that fit before the arrays grow
+     */
+    public ArrayEventHeap(int initialCapacity) {
+        int capacity = Math.max(2, initialCapacity);
+        times = new double[capacity];
+        seqs = new long[capacity];
+        typeHandles = new int[capacity];
+        payloads = new int[capacity];
+    }
+
+    /**
+     * Adds a new event to the heap. The event object itself is not retained.
+     *
+     * @param t the {@link Event} to be added
+     */
+    @Override
+    public void add(Event t) {
+        schedule(t.getType(), t.getTime(), t.getPayload());
+    }
+
+    /**
+     * Schedules a new event without allocating an {@link Event} object.
+     *
+     * @param type    the event type
+     * @param time    the simulation time at which the event occurs
+     * @param payload an integer handle carried with the event
+     */
+    @Override
+    public void schedule(IEventType type, double time, int payload) {
+        if (size == times.length) grow();
+        int i = size++;
+        times[i] = time;
+        seqs[i] = nextSeq++;
+        typeHandles[i] = handleOf(type);
+        payloads[i] = payload;
+        siftUp(i);
+    }
+
+    /**
+     * Removes and returns the next event as a newly allocated {@link Event}.
+     * The engine uses {@link #removeNext(Event)} instead to avoid the allocation.
+     *
+     * @return the next scheduled {@link Event}
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @Override
+    public Event remove() {
+        return removeNext(new Event(null, 0));
+    }
+
+    /**
+     * Removes the next event and copies its data into {@code reusable}.
+     *
+     * @param reusable the event object to fill
+     * @return {@code reusable}, holding the removed event's data
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @Override
+    public Event removeNext(Event reusable) {
+        if (size == 0) throw new NoSuchElementException("Event list is empty");
+        reusable.setType(types[typeHandles[0]]);
+        reusable.setTime(times[0]);
+        reusable.setPayload(payloads[0]);
+        reusable.setSeq(seqs[0]);
+
+        int last = --size;
+        if (last > 0) {
+            move(last, 0);
+            siftDown(0);
+        }
+        return reusable;
+    }
+
+    /**
+     * Returns the time of the next scheduled event without removing it.
+     *
+     * @return the time of the next event, or {@link Double#POSITIVE_INFINITY} if empty
+     */
+    @Override
+    public double getNextTime() {
+        return size == 0 ? Double.POSITIVE_INFINITY : times[0];
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return {@code true} if no events remain, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events currently stored
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the handle for an event type, registering it on first use.
+     * Enum types use their ordinal so the lookup is a single array access.
+     */
+    private int handleOf(IEventType type) {
+        if (type instanceof Enum<?> e) {
+            int ordinal = e.ordinal();
+            if (ordinal < types.length && types[ordinal] == type) return ordinal;
+            if (ordinal >= types.length) growTypes(ordinal + 1);
+            if (types[ordinal] == null) return register(type, ordinal);
+        }
+        // Non-enum type or ordinal already taken by another type: use any free or matching slot
+        for (int h = 0; h < types.length; h++) {
+            if (types[h] == type) return h;
+        }
+        for (int h = 0; h < types.length; h++) {
+            if (types[h] == null) return register(type, h);
+        }
+        int h = types.length;
+        growTypes(h + 1);
+        return register(type, h);
+    }
+
+    private int register(IEventType type, int handle) {
+        types[handle] = type;
+        typePriorities[handle] = (type != null) ? type.getPriority() : 0;
+        return handle;
+    }
+
+    private void growTypes(int minCapacity) {
+        int capacity = Math.max(minCapacity, types.length * 2);
+        types = Arrays.copyOf(types, capacity);
+        typePriorities = Arrays.copyOf(typePriorities, capacity);
+    }
+
+    /** Returns {@code true} if slot {@code a} comes before slot {@code b}. */
+    private boolean before(int a, int b) {
+        return before(times[a], typePriorities[typeHandles[a]], seqs[a], b);
+    }
+
+    /** Returns {@code true} if an event with the given keys comes before slot {@code b}. */
+    private boolean before(double time, int priority, long seq, int b) {
+        if (time != times[b]) return time < times[b];
+        int other = typePriorities[typeHandles[b]];
+        if (priority != other) return priority < other;
+        return seq < seqs[b];
+    }
+
+    private void siftUp(int i) {
+        double time = times[i];
+        long seq = seqs[i];
+        int type = typeHandles[i];
+        int payload = payloads[i];
+        int priority = typePriorities[type];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(time, priority, seq, parent)) break;
+            move(parent, i);
+            i = parent;
+        }
+        times[i] = time;
+        seqs[i] = seq;
+        typeHandles[i] = type;
+        payloads[i] = payload;
+    }
+
+    private void siftDown(int i) {
+        double time = times[i];
+        long seq = seqs[i];
+        int type = typeHandles[i];
+        int payload = payloads[i];
+        int priority = typePriorities[type];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(right, child)) child = right;
+            if (before(time, priority, seq, child)) break;
+            move(child, i);
+            i = child;
+        }
+        times[i] = time;
+        seqs[i] = seq;
+        typeHandles[i] = type;
+        payloads[i] = payload;
+    }
+
+    /** Copies slot {@code from} into slot {@code to}. */
+    private void move(int from, int to) {
+        times[to] = times[from];
+        seqs[to] = seqs[from];
+        typeHandles[to] = typeHandles[from];
+        payloads[to] = payloads[from];
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        times = Arrays.copyOf(times, capacity);
+        seqs = Arrays.copyOf(seqs, capacity);
+        typeHandles = Arrays.copyOf(typeHandles, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+    }
+}
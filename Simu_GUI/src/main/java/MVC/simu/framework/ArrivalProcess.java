@@ -3,36 +3,64 @@ package MVC.simu.framework;
 import MVC.simu.model.EventType;
 import eduni.distributions.*;
 
+import java.util.function.DoubleConsumer;
+
 /**
  * Represents the arrival process in a discrete-event simulation.
  * <p>
  * The {@code ArrivalProcess} is responsible for generating new arrival events
  * based on a given probability distribution (for example, exponential or normal).
- * Each generated event is added to the global {@link EventList} to be processed
+ * Each generated event is added to the global {@link IEventList} to be processed
  * later by the simulation engine.
  *
  * <h3>Responsibilities:</h3>
  * <ul>
  *   <li>Samples inter-arrival times from a {@link ContinuousGenerator}</li>
  *   <li>Schedules new {@link Event}s of a specific {@link EventType}</li>
- *   <li>Uses the shared {@link Clock} to determine the current simulation time</li>
+ *   <li>Uses the {@link Clock} of its {@link SimulationContext} to determine the current simulation time</li>
+ *   <li>Pre-samples inter-arrival times in chunks and can replay its arrival stream</li>
  * </ul>
  *
  * <p>
+ * Inter-arrival times are drawn {@value #CHUNK_SIZE} at a time into a primitive buffer with
+ * the bulk {@link ContinuousGenerator#sample(double[], int, int)}, instead of once per arrival. Only the next arrival is
+ * ever scheduled. The values are drawn in the same order as before, so a given seed still
+ * produces the same arrival sequence. Draws left in the buffer at the end of a run are simply
+ * never used; the generator is owned by this process, so this does not affect other streams.
+ *
+ * <p>
  * Typically used by the simulation model {@code MyEngine} to create
  * incoming customers, applications, or entities that enter the system.
  */
 public class ArrivalProcess {
 
+    /** Number of inter-arrival times sampled per refill of the buffer. */
+    public static final int CHUNK_SIZE = 256;
+
     /** Random number generator used to sample inter-arrival times. */
 	private ContinuousGenerator generator;
 
     /** Reference to the global event list. */
-	private EventList eventList;
+	private IEventList eventList;
 
     /** The type of event to generate (e.g., {@code EventType.ARRIVAL}). */
 	private EventType type;
 
+    /** Clock of the run this process belongs to. */
+	private Clock clock;
+
+    /** Pre-sampled inter-arrival times; entries from {@code next} on are still unused. */
+	private final double[] buffer = new double[CHUNK_SIZE];
+
+    /** Index of the next unused inter-arrival time in {@link #buffer}. */
+	private int next = CHUNK_SIZE;
+
+    /** Generator state at construction, for {@link #rewind()}. */
+	private final long initialSeed;
+
+    /** Receives every inter-arrival time used, or {@code null}. */
+	private DoubleConsumer interarrivalTimeObserver;
+
     /**
      * Constructs a new {@code ArrivalProcess} with the given generator, event list, and event type.
      *
@@ -40,10 +68,24 @@ public class ArrivalProcess {
      * @param tl the global event list to which new events are added
      * @param type the event type associated with each generated arrival
      */
-	public ArrivalProcess(ContinuousGenerator g, EventList tl, EventType type) {
+	public ArrivalProcess(ContinuousGenerator g, IEventList tl, EventType type) {
+		this(g, tl, type, SimulationContext.getDefault());
+	}
+
+    /**
+     * Constructs a new {@code ArrivalProcess} that belongs to the given simulation run.
+     *
+     * @param g the continuous random generator providing inter-arrival times
+     * @param tl the event list of the run to which new events are added
+     * @param type the event type associated with each generated arrival
+     * @param context the simulation context whose clock is used
+     */
+	public ArrivalProcess(ContinuousGenerator g, IEventList tl, EventType type, SimulationContext context) {
 		this.generator = g;
 		this.eventList = tl;
 		this.type = type;
+		this.clock = context.getClock();
+		this.initialSeed = g.getSeed();
 	}
 
     /**
@@ -53,7 +95,34 @@ public class ArrivalProcess {
      * plus a random sample from the inter-arrival time distribution.
      */
 	public void generateNext() {
-		Event t = new Event(type, Clock.getInstance().getTime() + generator.sample());
-		eventList.add(t);
+		if (next == CHUNK_SIZE) refill();
+		double interarrivalTime = buffer[next++];
+		if (interarrivalTimeObserver != null) interarrivalTimeObserver.accept(interarrivalTime);
+		eventList.schedule(type, clock.getTime() + interarrivalTime, 0);
+	}
+
+    /**
+     * Sets a receiver for every inter-arrival time when it is used, e.g. as a control variate.
+     *
+     * @param interarrivalTimeObserver the receiver, or {@code null} to remove it
+     */
+	public void setInterarrivalTimeObserver(DoubleConsumer interarrivalTimeObserver) {
+		this.interarrivalTimeObserver = interarrivalTimeObserver;
+	}
+
+    /**
+     * Rewinds the arrival stream to its start, so that the following arrivals repeat the
+     * inter-arrival times drawn since construction. This lets the same arrival stream be
+     * reused, e.g. to run several model variants on identical input.
+     */
+	public void rewind() {
+		generator.setSeed(initialSeed);
+		next = CHUNK_SIZE;
+	}
+
+    /** Fills the buffer with the next {@value #CHUNK_SIZE} inter-arrival times. */
+	private void refill() {
+		generator.sample(buffer, 0, CHUNK_SIZE);
+		next = 0;
 	}
 }
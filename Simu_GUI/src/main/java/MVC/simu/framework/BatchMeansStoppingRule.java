@@ -0,0 +1,146 @@
+package MVC.simu.framework;
+
+import java.util.Arrays;
+
+/**
+ * Sequential stopping rule based on a batch-means confidence interval.
+ * <p>
+ * Observations of one output series (e.g. the time in system of each departing customer)
+ * are grouped into consecutive batches. Between {@value #MIN_BATCHES} and
+ * {@code 2 * MIN_BATCHES} batches are kept: whenever the limit is reached, adjacent batches
+ * are merged and the batch size doubles, so batch means become less correlated as the run
+ * grows while memory stays constant. Each time a batch completes, a Student-t confidence
+ * interval over the batch means is computed, and the rule is satisfied once its half-width
+ * relative to the mean is within the requested precision.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Maintains batch means of a streaming observation series</li>
+ *   <li>Computes the batch-means confidence interval of the series mean</li>
+ *   <li>Reports when the requested relative precision is reached</li>
+ * </ul>
+ */
+public class BatchMeansStoppingRule implements IStoppingRule {
+
+    /** Minimum number of batches for a confidence interval. */
+    public static final int MIN_BATCHES = 20;
+
+    /** Default minimum number of observations before the rule can be satisfied. */
+    private static final long DEFAULT_MIN_OBSERVATIONS = 500;
+
+    private final String name;
+    private final double relativePrecision;
+    private final double confidenceLevel;
+    private final long minObservations;
+
+    private final double[] batchSums = new double[2 * MIN_BATCHES];
+    private int batchCount;
+    private long batchSize = 1;
+    private double currentSum;
+    private long inCurrentBatch;
+    private long observationCount;
+
+    private ConfidenceInterval interval;
+    private boolean satisfied;
+
+    /**
+     * Creates a rule that is satisfied when the relative half-width of the confidence
+     * interval is at most {@code relativePrecision}.
+     *
+     * @param name              the name of the observed metric, used in reports
+     * @param relativePrecision the target half-width relative to the mean, e.g. {@code 0.01} for ±1%
+     * @param confidenceLevel   the confidence level, e.g. {@code 0.95}
+     */
+    public BatchMeansStoppingRule(String name, double relativePrecision, double confidenceLevel) {
+        this(name, relativePrecision, confidenceLevel, DEFAULT_MIN_OBSERVATIONS);
+    }
+
+    /**
+     * Creates a rule that also requires a minimum number of observations.
+     *
+     * @param name              the name of the observed metric, used in reports
+     * @param relativePrecision the target half-width relative to the mean
+     * @param confidenceLevel   the confidence level
+     * @param minObservations   the number of observations needed before the rule can be satisfied
+     */
+    public BatchMeansStoppingRule(String name, double relativePrecision, double confidenceLevel, long minObservations) {
+        if (!(relativePrecision > 0)) throw new IllegalArgumentException("Relative precision must be positive");
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+        this.name = name;
+        this.relativePrecision = relativePrecision;
+        this.confidenceLevel = confidenceLevel;
+        this.minObservations = Math.max(minObservations, 2 * MIN_BATCHES);
+    }
+
+    /**
+     * Adds an observation of the metric.
+     *
+     * @param observation the observed value
+     */
+    public void observe(double observation) {
+        observationCount++;
+        currentSum += observation;
+        if (++inCurrentBatch < batchSize) return;
+
+        batchSums[batchCount++] = currentSum;
+        currentSum = 0;
+        inCurrentBatch = 0;
+        if (batchCount == batchSums.length) mergeBatches();
+        if (batchCount >= MIN_BATCHES) evaluate();
+    }
+
+    /** Halves the number of batches by merging neighbours, doubling the batch size. */
+    private void mergeBatches() {
+        for (int i = 0; i < MIN_BATCHES; i++) {
+            batchSums[i] = batchSums[2 * i] + batchSums[2 * i + 1];
+        }
+        batchCount = MIN_BATCHES;
+        batchSize *= 2;
+    }
+
+    private void evaluate() {
+        double[] means = Arrays.copyOf(batchSums, batchCount);
+        for (int i = 0; i < batchCount; i++) means[i] /= batchSize;
+        interval = ConfidenceInterval.of(means, confidenceLevel);
+        satisfied = observationCount >= minObservations && interval.getRelativeHalfWidth() <= relativePrecision;
+    }
+
+    @Override
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+
+    /**
+     * Returns the most recent batch-means confidence interval.
+     *
+     * @return the interval, or {@code null} before {@value #MIN_BATCHES} batches are complete
+     */
+    public ConfidenceInterval getConfidenceInterval() {
+        return interval;
+    }
+
+    /** @return the name of the observed metric */
+    public String getName() {
+        return name;
+    }
+
+    /** @return the number of observations added */
+    public long getObservationCount() {
+        return observationCount;
+    }
+
+    /** @return the current number of observations per batch */
+    public long getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns a report such as {@code "Average time in system: 11.0718 ± 0.1045 (95% CI, n=20)"}.
+     *
+     * @return the formatted state of the rule
+     */
+    @Override
+    public String toString() {
+        return name + ": " + (interval != null ? interval : "not enough data") + (satisfied ? " (precision reached)" : "");
+    }
+}
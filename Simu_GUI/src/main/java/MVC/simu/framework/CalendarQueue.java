@@ -0,0 +1,290 @@
+package MVC.simu.framework;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Calendar queue implementation of {@link IEventList} (R. Brown, 1988).
+ * <p>
+ * Events are hashed by their time into an array of buckets ("days"), each of
+ * which covers {@code width} time units of a repeating "year". Each bucket is a
+ * short sorted list, so enqueue and dequeue touch only a handful of events.
+ * The number of buckets doubles or halves together with the number of pending
+ * events and the bucket width is re-estimated from the separation of the
+ * earliest events on every resize, which keeps both operations amortized
+ * {@code O(1)} as long as event times are reasonably spread out.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Stores events in time-hashed, individually sorted buckets</li>
+ *   <li>Finds the next event by scanning the current "year" from the last served day</li>
+ *   <li>Resizes and re-estimates the bucket width as the queue grows or shrinks</li>
+ * </ul>
+ */
+public class CalendarQueue implements IEventList {
+
+    /** Smallest number of buckets the calendar shrinks to. */
+    private static final int MIN_BUCKETS = 2;
+
+    /** Number of earliest events sampled when the bucket width is re-estimated. */
+    private static final int WIDTH_SAMPLE = 25;
+
+    /** Singly linked list node holding one event inside a bucket. */
+    private static final class Node {
+        Event event;
+        Node next;
+
+        Node(Event event) {
+            this.event = event;
+        }
+    }
+
+    /** Bucket heads, each bucket sorted by event order. */
+    private Node[] buckets;
+
+    /** Time span covered by one bucket. */
+    private double width;
+
+    /** Virtual day number ({@code floor(time / width)}) currently being served. */
+    private long currentDay;
+
+    /** Number of pending events. */
+    private int size;
+
+    /** Sequence number given to the next added event. */
+    private long nextSeq;
+
+    /** Constructs an empty {@code CalendarQueue} with default bucket count and width. */
+    public CalendarQueue() {
+        this(MIN_BUCKETS, 1.0);
+    }
+
+    /**
+     * Constructs an empty {@code CalendarQueue} with the given initial geometry.
+     *
+     * @param initialBuckets initial number of buckets (at least {@value #MIN_BUCKETS})
+     * @param initialWidth   initial time span covered by one bucket, must be positive
+     */
+    public CalendarQueue(int initialBuckets, double initialWidth) {
+        if (initialWidth <= 0) throw new IllegalArgumentException("Bucket width must be > 0");
+        this.buckets = new Node[Math.max(MIN_BUCKETS, initialBuckets)];
+        this.width = initialWidth;
+    }
+
+    /**
+     * Adds a new event to the calendar and assigns its insertion sequence number.
+     *
+     * @param t the {@link Event} to be added
+     */
+    @Override
+    public void add(Event t) {
+        t.setSeq(nextSeq++);
+        long day = dayOf(t.getTime());
+        if (size == 0 || day < currentDay) currentDay = day;
+        insert(new Node(t), day);
+        size++;
+        if (size > 2 * buckets.length) resize(2 * buckets.length);
+    }
+
+    /**
+     * Removes and returns the next event (the one with the smallest time).
+     *
+     * @return the next scheduled {@link Event}
+     * @throws NoSuchElementException if the calendar is empty
+     */
+    @Override
+    public Event remove() {
+        int i = locate();
+        if (i < 0) throw new NoSuchElementException("Event list is empty");
+        Node head = buckets[i];
+        buckets[i] = head.next;
+        size--;
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) resize(buckets.length / 2);
+        return head.event;
+    }
+
+    /**
+     * Returns the time of the next scheduled event without removing it.
+     *
+     * @return the time of the next event, or {@link Double#POSITIVE_INFINITY} if empty
+     */
+    @Override
+    public double getNextTime() {
+        int i = locate();
+        return i < 0 ? Double.POSITIVE_INFINITY : buckets[i].event.getTime();
+    }
+
+    /**
+     * Checks whether the calendar is empty.
+     *
+     * @return {@code true} if no events remain, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events currently stored
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current number of buckets. Mainly useful for diagnostics and tests.
+     *
+     * @return the bucket count
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns the current bucket width. Mainly useful for diagnostics and tests.
+     *
+     * @return the time span covered by one bucket
+     */
+    public double getBucketWidth() {
+        return width;
+    }
+
+    /**
+     * Finds the bucket holding the next event and advances {@link #currentDay} to its day.
+     *
+     * @return the bucket index, or {@code -1} if the calendar is empty
+     */
+    private int locate() {
+        if (size == 0) return -1;
+
+        // Scan one "year" starting from the day currently being served
+        long day = currentDay;
+        for (int k = 0; k < buckets.length; k++, day++) {
+            int i = bucketIndex(day);
+            Node head = buckets[i];
+            if (head != null && dayOf(head.event.getTime()) == day) {
+                currentDay = day;
+                return i;
+            }
+        }
+
+        // Nothing due this year: fall back to a direct search for the smallest head
+        int best = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            Node head = buckets[i];
+            if (head != null && (best < 0 || head.event.compareTo(buckets[best].event) < 0)) best = i;
+        }
+        currentDay = dayOf(buckets[best].event.getTime());
+        return best;
+    }
+
+    /**
+     * Inserts a node into its bucket, after all events that do not come later than it.
+     *
+     * @param node the node to insert
+     * @param day  the virtual day of the node's event
+     */
+    private void insert(Node node, long day) {
+        int i = bucketIndex(day);
+        Node prev = null, cur = buckets[i];
+        while (cur != null && cur.event.compareTo(node.event) <= 0) {
+            prev = cur;
+            cur = cur.next;
+        }
+        node.next = cur;
+        if (prev == null) buckets[i] = node;
+        else prev.next = node;
+    }
+
+    /**
+     * Rebuilds the calendar with a new number of buckets and a re-estimated width.
+     * All existing nodes are reused.
+     *
+     * @param newBucketCount the new number of buckets
+     */
+    private void resize(int newBucketCount) {
+        double newWidth = estimateWidth();
+        Node[] old = buckets;
+        buckets = new Node[Math.max(MIN_BUCKETS, newBucketCount)];
+        if (newWidth > 0) width = newWidth;
+
+        long minDay = Long.MAX_VALUE;
+        for (Node head : old) {
+            Node n = head;
+            while (n != null) {
+                Node next = n.next;
+                long day = dayOf(n.event.getTime());
+                if (day < minDay) minDay = day;
+                insert(n, day);
+                n = next;
+            }
+        }
+        currentDay = (minDay == Long.MAX_VALUE) ? 0 : minDay;
+    }
+
+    /**
+     * Estimates a new bucket width from the average separation of the earliest events,
+     * ignoring separations more than twice the average (Brown's heuristic).
+     *
+     * @return the new width, or {@code 0} if there are too few distinct times to estimate it
+     */
+    private double estimateWidth() {
+        double[] earliest = new double[Math.min(WIDTH_SAMPLE, size)];
+        int count = 0;
+        for (Node head : buckets) {
+            for (Node n = head; n != null; n = n.next) {
+                double t = n.event.getTime();
+                if (count < earliest.length) {
+                    count++;
+                } else if (t >= earliest[count - 1]) {
+                    continue;
+                }
+                // insertion into the small sorted sample
+                int j = count - 1;
+                while (j > 0 && earliest[j - 1] > t) {
+                    earliest[j] = earliest[j - 1];
+                    j--;
+                }
+                earliest[j] = t;
+            }
+        }
+        if (count < 2) return 0;
+
+        double average = (earliest[count - 1] - earliest[0]) / (count - 1);
+        if (average <= 0) return 0;
+
+        double sum = 0;
+        int used = 0;
+        for (int j = 1; j < count; j++) {
+            double separation = earliest[j] - earliest[j - 1];
+            if (separation <= 2 * average) {
+                sum += separation;
+                used++;
+            }
+        }
+        double refined = (used > 0 && sum > 0) ? sum / used : average;
+        return 3 * refined;
+    }
+
+    /**
+     * Returns the virtual day number of a time.
+     *
+     * @param time the simulation time
+     * @return {@code floor(time / width)}
+     */
+    private long dayOf(double time) {
+        return (long) Math.floor(time / width);
+    }
+
+    /**
+     * Maps a virtual day to its bucket index.
+     *
+     * @param day the virtual day number
+     * @return the bucket index
+     */
+    private int bucketIndex(long day) {
+        return (int) Math.floorMod(day, (long) buckets.length);
+    }
+}
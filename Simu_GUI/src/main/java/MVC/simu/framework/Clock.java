@@ -1,30 +1,32 @@
 package MVC.simu.framework;
 
 /**
- * Singleton class representing the simulation clock.
+ * Class representing the simulation clock.
  * <p>
  * Keeps track of the current simulation time and provides methods
- * to get, set, and reset the time. Only one instance of {@code Clock}
- * exists throughout the simulation.
+ * to get, set, and reset the time. Each run owns its own {@code Clock}
+ * through its {@link SimulationContext}; the shared instance returned by
+ * {@link #getInstance()} is only used by the default context.
  */
 public class Clock {
 	private double time;
 	private static Clock instance;
 
     /**
-     * Private constructor to enforce the singleton pattern.
+     * Constructs a new clock starting at time zero.
      */
-	private Clock(){
+	public Clock(){
 		time = 0;
 	}
 
     /**
-     * Returns the single instance of the {@code Clock} class.
+     * Returns the shared instance of the {@code Clock} class used by
+     * {@link SimulationContext#getDefault()}.
      * Creates a new instance if it does not already exist.
      *
-     * @return the singleton {@code Clock} instance
+     * @return the shared {@code Clock} instance
      */
-	public static Clock getInstance(){
+	public static synchronized Clock getInstance(){
 		if (instance == null){
 			instance = new Clock();
 		}
@@ -0,0 +1,221 @@
+package MVC.simu.framework;
+
+import eduni.distributions.SpecialFunctions;
+
+/**
+ * A Student-t confidence interval for the mean of independent observations.
+ * <p>
+ * Typically built from one value per independent replication of a simulation,
+ * e.g. the average time in system of each run.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Computes the sample mean and standard deviation of the observations</li>
+ *   <li>Computes the half-width {@code t(1 - alpha/2, n - 1) * s / sqrt(n)}</li>
+ *   <li>Provides the Student-t quantile function used for the half-width</li>
+ * </ul>
+ */
+public final class ConfidenceInterval {
+
+    private final double mean;
+    private final double standardDeviation;
+    private final double halfWidth;
+    private final double confidenceLevel;
+    private final int count;
+
+    private ConfidenceInterval(double mean, double standardDeviation, double halfWidth, double confidenceLevel, int count) {
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.halfWidth = halfWidth;
+        this.confidenceLevel = confidenceLevel;
+        this.count = count;
+    }
+
+    /**
+     * Builds a confidence interval for the mean of the given observations.
+     * With a single observation the half-width is {@link Double#NaN}.
+     *
+     * @param observations    independent observations, at least one
+     * @param confidenceLevel the confidence level in {@code (0, 1)}, e.g. {@code 0.95}
+     * @return the confidence interval
+     * @throws IllegalArgumentException if there are no observations or the level is out of range
+     */
+    public static ConfidenceInterval of(double[] observations, double confidenceLevel) {
+        if (observations.length == 0) throw new IllegalArgumentException("At least one observation is required");
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+
+        // Welford's algorithm for a numerically stable mean and variance
+        double mean = 0, m2 = 0;
+        for (int i = 0; i < observations.length; i++) {
+            double delta = observations[i] - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (observations[i] - mean);
+        }
+        int n = observations.length;
+        if (n == 1) return new ConfidenceInterval(mean, Double.NaN, Double.NaN, confidenceLevel, 1);
+
+        double sd = Math.sqrt(m2 / (n - 1));
+        double t = studentTQuantile(1 - (1 - confidenceLevel) / 2, n - 1);
+        return new ConfidenceInterval(mean, sd, t * sd / Math.sqrt(n), confidenceLevel, n);
+    }
+
+    /**
+     * Builds a confidence interval around an estimate with a known standard error, e.g. a
+     * regression-adjusted mean, whose Student-t quantile has fewer than {@code count - 1}
+     * degrees of freedom.
+     *
+     * @param mean             the estimate
+     * @param standardError    the estimated standard deviation of the estimate
+     * @param degreesOfFreedom the degrees of freedom of the standard error, at least 1
+     * @param confidenceLevel  the confidence level in {@code (0, 1)}
+     * @param count            the number of observations the estimate is based on
+     * @return the confidence interval, whose standard deviation is {@code standardError * sqrt(count)}
+     */
+    public static ConfidenceInterval ofStandardError(double mean, double standardError, int degreesOfFreedom,
+                                                     double confidenceLevel, int count) {
+        if (degreesOfFreedom < 1) throw new IllegalArgumentException("At least one degree of freedom is required");
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+        double t = studentTQuantile(1 - (1 - confidenceLevel) / 2, degreesOfFreedom);
+        return new ConfidenceInterval(mean, standardError * Math.sqrt(count), t * standardError, confidenceLevel, count);
+    }
+
+    /** @return the sample mean */
+    public double getMean() {
+        return mean;
+    }
+
+    /** @return the sample standard deviation, {@link Double#NaN} for a single observation */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /** @return the half-width of the interval */
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    /** @return the lower bound {@code mean - halfWidth} */
+    public double getLower() {
+        return mean - halfWidth;
+    }
+
+    /** @return the upper bound {@code mean + halfWidth} */
+    public double getUpper() {
+        return mean + halfWidth;
+    }
+
+    /** @return the half-width relative to the absolute mean, {@link Double#POSITIVE_INFINITY} if the mean is 0 */
+    public double getRelativeHalfWidth() {
+        return mean != 0 ? halfWidth / Math.abs(mean) : Double.POSITIVE_INFINITY;
+    }
+
+    /** @return the confidence level the interval was built with */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /** @return the number of observations */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Checks whether a value lies inside the interval.
+     *
+     * @param value the value to check
+     * @return {@code true} if {@code lower <= value <= upper}
+     */
+    public boolean contains(double value) {
+        return value >= getLower() && value <= getUpper();
+    }
+
+    /**
+     * Returns a string representation such as {@code "12.3456 ± 0.4321 (95% CI, n=30)"}.
+     *
+     * @return the formatted interval
+     */
+    @Override
+    public String toString() {
+        return String.format("%.4f ± %.4f (%.0f%% CI, n=%d)", mean, halfWidth, confidenceLevel * 100, count);
+    }
+
+    /**
+     * Returns the {@code p}-quantile of the Student-t distribution, found by bisection on its
+     * cumulative distribution function.
+     *
+     * @param p                the probability in {@code (0, 1)}
+     * @param degreesOfFreedom the degrees of freedom, at least 1
+     * @return {@code t} such that {@code P(T <= t) = p}
+     */
+    public static double studentTQuantile(double p, int degreesOfFreedom) {
+        if (!(p > 0 && p < 1)) throw new IllegalArgumentException("p must be in (0, 1)");
+        if (degreesOfFreedom < 1) throw new IllegalArgumentException("Degrees of freedom must be >= 1");
+        if (p == 0.5) return 0;
+        if (p < 0.5) return -studentTQuantile(1 - p, degreesOfFreedom);
+
+        double lo = 0, hi = 1;
+        while (studentTCdf(hi, degreesOfFreedom) < p) {
+            lo = hi;
+            hi *= 2;
+        }
+        for (int i = 0; i < 200 && hi - lo > 1e-13 * hi; i++) {
+            double mid = 0.5 * (lo + hi);
+            if (studentTCdf(mid, degreesOfFreedom) < p) lo = mid;
+            else hi = mid;
+        }
+        return 0.5 * (lo + hi);
+    }
+
+    /**
+     * Returns {@code P(T <= t)} for a Student-t variable with the given degrees of freedom.
+     *
+     * @param t                the value
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the cumulative probability
+     */
+    public static double studentTCdf(double t, double degreesOfFreedom) {
+        double x = degreesOfFreedom / (degreesOfFreedom + t * t);
+        double tail = 0.5 * regularizedIncompleteBeta(x, degreesOfFreedom / 2, 0.5);
+        return t > 0 ? 1 - tail : tail;
+    }
+
+    /** Regularized incomplete beta function {@code I_x(a, b)}. */
+    private static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(SpecialFunctions.logGamma(a + b) - SpecialFunctions.logGamma(a)
+                - SpecialFunctions.logGamma(b) + a * Math.log(x) + b * Math.log1p(-x));
+        if (x < (a + 1) / (a + b + 2)) return front * betaContinuedFraction(x, a, b) / a;
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    /** Continued fraction for the incomplete beta function (modified Lentz's method). */
+    private static double betaContinuedFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double qab = a + b, qap = a + 1, qam = a - 1;
+        double c = 1, d = 1 - qab * x / qap;
+        if (Math.abs(d) < tiny) d = tiny;
+        d = 1 / d;
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((qam + m2) * (a + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            h *= d * c;
+            aa = -(a + m) * (qab + m) * x / ((a + m2) * (qap + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) break;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,317 @@
+package MVC.simu.framework;
+
+import java.util.Arrays;
+
+/**
+ * Control-variate estimator of the mean of an output series within one run.
+ * <p>
+ * Besides the observations of the output (e.g. the time in system of each departing customer),
+ * the estimator receives samples of control variables whose expectations are known in advance,
+ * e.g. the inter-arrival and service times drawn from the configured distributions. Both are
+ * grouped into batches like in {@link BatchMeansStoppingRule}: between {@value #MIN_BATCHES}
+ * and {@code 2 * MIN_BATCHES} batches are kept, and adjacent batches are merged when the limit is
+ * reached. The batch means of the output are regressed on the batch means of the controls, and
+ * the deviation of the controls from their expectations is subtracted from the output mean:
+ * <pre>
+ *   controlled mean = mean(Y) - beta' (mean(C) - E[C])
+ * </pre>
+ * When the output is correlated with the controls, e.g. more frequent arrivals than expected
+ * make the time in system longer, the controlled mean has a smaller variance than the raw one.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Maintains batch means of an output series and of its control variables</li>
+ *   <li>Estimates the regression coefficients and the controlled mean with its variance</li>
+ *   <li>Reports raw and controlled confidence intervals side by side</li>
+ * </ul>
+ */
+public class ControlVariateEstimator {
+
+    /** Minimum number of batches for an estimate. */
+    public static final int MIN_BATCHES = BatchMeansStoppingRule.MIN_BATCHES;
+
+    private final String name;
+    private final double[] controlMeans;
+    private final double confidenceLevel;
+
+    private final double[] batchSums = new double[2 * MIN_BATCHES];
+    private final double[][] controlSums;
+    private final long[][] controlCounts;
+    private int batchCount;
+    private long batchSize = 1;
+    private double currentSum;
+    private final double[] currentControlSums;
+    private final long[] currentControlCounts;
+    private long inCurrentBatch;
+
+    /**
+     * The raw and the controlled estimate of a mean.
+     */
+    public static final class Estimate {
+        private final ConfidenceInterval raw;
+        private final ConfidenceInterval controlled;
+        private final int controlsUsed;
+
+        private Estimate(ConfidenceInterval raw, ConfidenceInterval controlled, int controlsUsed) {
+            this.raw = raw;
+            this.controlled = controlled;
+            this.controlsUsed = controlsUsed;
+        }
+
+        /** @return the interval of the plain mean of the observations */
+        public ConfidenceInterval getRaw() {
+            return raw;
+        }
+
+        /** @return the interval of the control-variate-adjusted mean, the raw one if no control could be used */
+        public ConfidenceInterval getControlled() {
+            return controlled;
+        }
+
+        /** @return the number of controls in the regression */
+        public int getControlsUsed() {
+            return controlsUsed;
+        }
+
+        /** @return the estimated variance of the raw mean */
+        public double getRawVariance() {
+            return variance(raw);
+        }
+
+        /** @return the estimated variance of the controlled mean */
+        public double getControlledVariance() {
+            return variance(controlled);
+        }
+
+        private static double variance(ConfidenceInterval interval) {
+            return interval.getStandardDeviation() * interval.getStandardDeviation() / interval.getCount();
+        }
+
+        /**
+         * Returns a report such as {@code "11.0214 ± 0.0612 (95% CI, n=20), raw 11.0718 ± 0.1045 (95% CI, n=20)"}.
+         *
+         * @return the formatted estimates
+         */
+        @Override
+        public String toString() {
+            return controlled + ", raw " + raw;
+        }
+    }
+
+    /**
+     * Creates an estimator.
+     *
+     * @param name            the name of the observed metric, used in reports
+     * @param controlMeans    the known expectations of the controls, in order of priority
+     * @param confidenceLevel the confidence level of the intervals, e.g. {@code 0.95}
+     */
+    public ControlVariateEstimator(String name, double[] controlMeans, double confidenceLevel) {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+        this.name = name;
+        this.controlMeans = controlMeans.clone();
+        this.confidenceLevel = confidenceLevel;
+        int q = controlMeans.length;
+        controlSums = new double[q][2 * MIN_BATCHES];
+        controlCounts = new long[q][2 * MIN_BATCHES];
+        currentControlSums = new double[q];
+        currentControlCounts = new long[q];
+    }
+
+    /**
+     * Adds a sample of a control variable to the current batch.
+     *
+     * @param control the index of the control
+     * @param sample  the sampled value
+     */
+    public void observeControl(int control, double sample) {
+        currentControlSums[control] += sample;
+        currentControlCounts[control]++;
+    }
+
+    /**
+     * Adds an observation of the output.
+     *
+     * @param observation the observed value
+     */
+    public void observe(double observation) {
+        currentSum += observation;
+        if (++inCurrentBatch < batchSize) return;
+
+        batchSums[batchCount] = currentSum;
+        for (int k = 0; k < controlMeans.length; k++) {
+            controlSums[k][batchCount] = currentControlSums[k];
+            controlCounts[k][batchCount] = currentControlCounts[k];
+        }
+        batchCount++;
+        currentSum = 0;
+        inCurrentBatch = 0;
+        Arrays.fill(currentControlSums, 0);
+        Arrays.fill(currentControlCounts, 0);
+        if (batchCount == batchSums.length) mergeBatches();
+    }
+
+    /** Halves the number of batches by merging neighbours, doubling the batch size. */
+    private void mergeBatches() {
+        for (int i = 0; i < MIN_BATCHES; i++) {
+            batchSums[i] = batchSums[2 * i] + batchSums[2 * i + 1];
+            for (int k = 0; k < controlMeans.length; k++) {
+                controlSums[k][i] = controlSums[k][2 * i] + controlSums[k][2 * i + 1];
+                controlCounts[k][i] = controlCounts[k][2 * i] + controlCounts[k][2 * i + 1];
+            }
+        }
+        batchCount = MIN_BATCHES;
+        batchSize *= 2;
+    }
+
+    /**
+     * Discards all observations, e.g. at the end of the warm-up period.
+     */
+    public void reset() {
+        batchCount = 0;
+        batchSize = 1;
+        currentSum = 0;
+        inCurrentBatch = 0;
+        Arrays.fill(currentControlSums, 0);
+        Arrays.fill(currentControlCounts, 0);
+    }
+
+    /**
+     * Computes the estimate from the completed batches.
+     *
+     * @return the estimate, or {@code null} before {@value #MIN_BATCHES} batches are complete
+     */
+    public Estimate getEstimate() {
+        if (batchCount < MIN_BATCHES) return null;
+        double[] means = new double[batchCount];
+        double[][] controls = new double[controlMeans.length][batchCount];
+        for (int i = 0; i < batchCount; i++) {
+            means[i] = batchSums[i] / batchSize;
+            for (int k = 0; k < controlMeans.length; k++) {
+                // a control without samples in a batch has no batch mean and is left out
+                controls[k][i] = controlCounts[k][i] > 0 ? controlSums[k][i] / controlCounts[k][i] : Double.NaN;
+            }
+        }
+        return estimate(means, controls, controlMeans, confidenceLevel);
+    }
+
+    /** @return the name of the observed metric */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Computes the control-variate estimate of the mean of independent observations, e.g. one per
+     * batch or per replication. Controls that are missing ({@link Double#NaN}) or constant are
+     * left out; of the others, at most {@code n - 3} are used, in the given order, so that the
+     * variance keeps at least two degrees of freedom.
+     *
+     * @param observations    the observations of the output, at least 2
+     * @param controls        {@code controls[k][i]} is control {@code k} of observation {@code i}
+     * @param controlMeans    the known expectations of the controls
+     * @param confidenceLevel the confidence level of the intervals
+     * @return the raw and the controlled estimate
+     */
+    public static Estimate estimate(double[] observations, double[][] controls, double[] controlMeans, double confidenceLevel) {
+        int n = observations.length;
+        ConfidenceInterval raw = ConfidenceInterval.of(observations, confidenceLevel);
+
+        int[] used = new int[controls.length];
+        int q = 0;
+        for (int k = 0; k < controls.length && q < n - 3; k++) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (double c : controls[k]) {
+                min = Math.min(min, c);
+                max = Math.max(max, c);
+            }
+            if (min < max) used[q++] = k;
+        }
+
+        // centred cross products of the controls and the output
+        double yMean = raw.getMean();
+        double[] cMean = new double[q];
+        for (int a = 0; a < q; a++) {
+            for (double c : controls[used[a]]) cMean[a] += c;
+            cMean[a] /= n;
+        }
+        double[][] scc = new double[q][q];
+        double[] scy = new double[q];
+        for (int i = 0; i < n; i++) {
+            double dy = observations[i] - yMean;
+            for (int a = 0; a < q; a++) {
+                double da = controls[used[a]][i] - cMean[a];
+                scy[a] += da * dy;
+                for (int b = 0; b <= a; b++) scc[a][b] += da * (controls[used[b]][i] - cMean[b]);
+            }
+        }
+        for (int a = 0; a < q; a++)
+            for (int b = 0; b < a; b++) scc[b][a] = scc[a][b];
+
+        double[] beta = solve(scc, scy);
+        double[] deviation = new double[q];
+        for (int a = 0; a < q; a++) deviation[a] = cMean[a] - controlMeans[used[a]];
+        double[] w = solve(scc, deviation);
+        if (q == 0 || beta == null || w == null) return new Estimate(raw, raw, 0);
+
+        double controlled = yMean;
+        double quadratic = 0;
+        for (int a = 0; a < q; a++) {
+            controlled -= beta[a] * deviation[a];
+            quadratic += deviation[a] * w[a];
+        }
+        double residuals = 0;
+        for (int i = 0; i < n; i++) {
+            double r = observations[i] - yMean;
+            for (int a = 0; a < q; a++) r -= beta[a] * (controls[used[a]][i] - cMean[a]);
+            residuals += r * r;
+        }
+        int degreesOfFreedom = n - q - 1;
+        double standardError = Math.sqrt(residuals / degreesOfFreedom * (1.0 / n + quadratic));
+        return new Estimate(raw, ConfidenceInterval.ofStandardError(controlled, standardError, degreesOfFreedom,
+                confidenceLevel, n), q);
+    }
+
+    /**
+     * Solves {@code a x = b} by Gaussian elimination with partial pivoting.
+     *
+     * @return the solution, or {@code null} if {@code a} is numerically singular
+     */
+    private static double[] solve(double[][] a, double[] b) {
+        int q = b.length;
+        double[][] m = new double[q][];
+        for (int i = 0; i < q; i++) {
+            m[i] = Arrays.copyOf(a[i], q + 1);
+            m[i][q] = b[i];
+        }
+        double scale = 0;
+        for (int i = 0; i < q; i++) scale = Math.max(scale, Math.abs(a[i][i]));
+        for (int col = 0; col < q; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < q; row++)
+                if (Math.abs(m[row][col]) > Math.abs(m[pivot][col])) pivot = row;
+            if (Math.abs(m[pivot][col]) <= 1e-12 * scale) return null;
+            double[] t = m[col]; m[col] = m[pivot]; m[pivot] = t;
+            for (int row = col + 1; row < q; row++) {
+                double f = m[row][col] / m[col][col];
+                for (int j = col; j <= q; j++) m[row][j] -= f * m[col][j];
+            }
+        }
+        double[] x = new double[q];
+        for (int i = q - 1; i >= 0; i--) {
+            double s = m[i][q];
+            for (int j = i + 1; j < q; j++) s -= m[i][j] * x[j];
+            x[i] = s / m[i][i];
+        }
+        return x;
+    }
+
+    /**
+     * Returns a report such as {@code "Average time in system: 11.0214 ± 0.0612 (95% CI, n=20), raw ..."}.
+     *
+     * @return the formatted state of the estimator
+     */
+    @Override
+    public String toString() {
+        Estimate estimate = getEstimate();
+        return name + ": " + (estimate != null ? estimate : "not enough data");
+    }
+}
@@ -3,6 +3,8 @@ package MVC.simu.framework;
 import MVC.controller.IControllerMtoV;
 import MVC.simu.model.ServicePoint;
 
+import java.util.Arrays;
+
 /**
  * Abstract base class for the simulation engine.
  * <p>
@@ -24,42 +26,115 @@ import MVC.simu.model.ServicePoint;
  */
 public abstract class Engine extends Thread implements IEngine {
 
+    /**
+     * Reasons why a simulation run ends.
+     */
+    public enum StopReason {
+        /** The simulation time reached the configured horizon. */
+        TIME_HORIZON,
+        /** No events were left to execute. */
+        EVENT_LIST_EMPTY,
+        /** All stopping rules were satisfied. */
+        PRECISION_REACHED,
+        /** The wall-clock budget was used up. */
+        WALL_CLOCK_BUDGET,
+        /** The run was stopped from outside, e.g. by the user. */
+        STOPPED
+    }
+
+    /** Number of cycles between two checks of the wall-clock budget (a power of two). */
+    private static final int BUDGET_CHECK_INTERVAL = 1024;
+
     /** The total simulation time (stopping condition). */
 	private double simulationTime = 0;
 
     /** Delay (in milliseconds) between simulation events for GUI visualization. */
 	private long delay = 0;
 
-    /** Shared simulation clock instance. */
+    /** Simulation clock of this run, taken from the {@link #context}. */
 	private Clock clock;
 
+    /** Per-run state (clock, IDs, entity registry, random streams) of this engine. */
+	protected final SimulationContext context;
+
     /** Flag indicating whether the simulation is paused. */
     private volatile boolean paused = false;
 
     /** Flag indicating whether the simulation is stopped. */
     private volatile boolean stopped = false;
 
-    /** The global event List used to store and process simulation events. */
-	protected EventList eventList;
+    /** Flag indicating headless mode: no delay, no tracing and no view updates. */
+    private volatile boolean headless = false;
+
+    /** The global event list used to store and process simulation events. */
+	protected IEventList eventList;
 
     /** Array of service points representing different processing stages in the system. */
 	protected ServicePoint[] servicePoints;
 
+    /** Reusable event facade filled by the event list, so the main loop allocates no events. */
+	private final Event currentEvent = new Event(null, 0);
+
+    /** Runtime counters of this engine, readable from other threads and over JMX. */
+	protected final EngineMetrics metrics = new EngineMetrics();
+
+    /** Rules that may end the run early once all of them are satisfied. */
+	private IStoppingRule[] stoppingRules = new IStoppingRule[0];
+
+    /** Wall-clock budget of the run in nanoseconds, or 0 for no budget. */
+	private long wallClockBudgetNanos;
+
+    /** {@link System#nanoTime()} at which the wall-clock budget runs out. */
+	private long deadlineNanos;
+
+    /** Cycles since the start of the run, used to check the budget only now and then. */
+	private long cycleCount;
+
+    /** Why the last run ended, {@code null} while running. */
+	private volatile StopReason stopReason;
+
+    /** Optional recorder of executed events, {@code null} when recording is off. */
+	private TraceRecorder traceRecorder;
+
     /** Controller interface for updating the GUI and communicating with the view layer. */
 	protected IControllerMtoV controller; // NEW
 
     /**
      * Constructs a new {@code Engine} instance with the given controller.
-     * Initializes the simulation clock and event list.
+     * Initializes a fresh {@link SimulationContext} and an allocation-free {@link ArrayEventHeap} event list.
      * <p>
      * The service points themselves are created by subclasses such as {@link MVC.simu.model.MyEngine}.
      *
      * @param controller the controller interface used for GUI updates and view synchronization
      */
 	public Engine(IControllerMtoV controller) {
+		this(controller, EventListType.ARRAY_HEAP);
+	}
+
+    /**
+     * Constructs a new {@code Engine} instance with the given controller and event list implementation,
+     * running in a fresh {@link SimulationContext} seeded from the system time.
+     *
+     * @param controller    the controller interface used for GUI updates and view synchronization
+     * @param eventListType the pending-event set implementation to use
+     */
+	public Engine(IControllerMtoV controller, EventListType eventListType) {
+		this(controller, eventListType, new SimulationContext());
+	}
+
+    /**
+     * Constructs a new {@code Engine} instance that runs in the given context.
+     * Engines with separate contexts share no state and can run concurrently.
+     *
+     * @param controller    the controller interface used for GUI updates and view synchronization
+     * @param eventListType the pending-event set implementation to use
+     * @param context       the per-run state of this simulation
+     */
+	public Engine(IControllerMtoV controller, EventListType eventListType, SimulationContext context) {
 		this.controller = controller;
-		clock = Clock.getInstance();
-		eventList = new EventList();
+		this.context = context;
+		clock = context.getClock();
+		eventList = eventListType.create();
 	}
 
     /**
@@ -93,48 +168,101 @@ public abstract class Engine extends Thread implements IEngine {
 		return delay;
 	}
 
+    /**
+     * Enables or disables headless mode. Subclasses that talk to the view should
+     * override this to redirect their view updates (see {@link MVC.controller.NullController}).
+     *
+     * @param headless {@code true} to run without view updates, delay or tracing
+     */
+	@Override
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+
+    /**
+     * Returns whether the engine runs in headless mode.
+     *
+     * @return {@code true} if headless mode is enabled
+     */
+	@Override
+	public boolean isHeadless() {
+		return headless;
+	}
+
     /**
      * main.Main simulation loop.
      * <p>
      * Initializes the simulation, then repeatedly processes events
-     * until the simulation time limit is reached or no events remain.
+     * until the simulation time limit is reached, no events remain, all stopping
+     * rules are satisfied or the wall-clock budget is used up.
      * Supports pausing, resuming, and stopping via GUI controls.
+     * In headless mode the delay step is skipped.
      */
     @Override
     public void run() {
+        metrics.runStarted();
+        stopReason = null;
+        cycleCount = 0;
+        if (wallClockBudgetNanos > 0) deadlineNanos = System.nanoTime() + wallClockBudgetNanos;
         initialization();
 
         while (simulate() && !stopped) {
 
             // Check if paused
-            synchronized(this) {
-                while (paused && !stopped) {
-                    try {
-                        wait();
-                    } catch (InterruptedException e) {
-                        stopped = true;
-                        break;
+            if (paused) {
+                synchronized(this) {
+                    while (paused && !stopped) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            stopped = true;
+                            break;
+                        }
                     }
                 }
             }
 
             if (stopped) break;
 
-            delay();
+            if (!headless) delay();
             clock.setTime(currentTime());
-            runBEvents();
-            tryCEvents();
+            if (metrics.isTimedCycle()) {
+                long bStart = System.nanoTime();
+                runBEvents();
+                long cStart = System.nanoTime();
+                tryCEvents();
+                metrics.phasesTimed(cStart - bStart, System.nanoTime() - cStart);
+            } else {
+                runBEvents();
+                tryCEvents();
+            }
+            metrics.cycleCompleted(clock.getTime(), eventList.size());
         }
+        if (stopReason == null) stopReason = StopReason.STOPPED;
 
+        long resultsStart = System.nanoTime();
         results();
+        metrics.runFinished(System.nanoTime() - resultsStart);
     }
 
     /**
-     * Executes all events scheduled for the current simulation time.
+     * Executes all events scheduled for the current simulation time as one batch.
+     * <p>
+     * Events scheduled for the current instant while the batch runs are executed in the
+     * same batch, so the C phase ({@link #tryCEvents()}) runs only once per instant. Events
+     * are drained while their time is not after the clock, which also picks up events
+     * scheduled marginally in the past instead of relying on exact equality.
+     * <p>
+     * The event passed to {@link #runEvent(Event)} is a reused facade and is only
+     * valid for the duration of that call.
      */
 	private void runBEvents() {
-		while (eventList.getNextTime() == clock.getTime()){
-			runEvent(eventList.remove());
+		double now = clock.getTime();
+		while (eventList.getNextTime() <= now){
+			Event event = eventList.removeNext(currentEvent);
+			metrics.eventExecuted(event.getType());
+			if (traceRecorder != null) traceRecorder.record(event);
+			runEvent(event);
 		}
 	}
 
@@ -166,28 +294,50 @@ public abstract class Engine extends Thread implements IEngine {
      * @return {@code true} if there are remaining events and time left, {@code false} otherwise
      */
     private boolean simulate() {
-        Trace.out(Trace.Level.INFO, "Time is: " + clock.getTime());
+        if (!headless && Trace.isEnabled(Trace.Level.INFO)) Trace.out(Trace.Level.INFO, "Time is: " + clock.getTime());
 
         // Force stop if we've reached simulation time
         if (clock.getTime() >= simulationTime) {
+            stopReason = StopReason.TIME_HORIZON;
             return false;
         }
 
-        // Also stop if event list is empty (nothing left to do)
         // Also stop if event list is empty (nothing left to do)
         if (eventList.isEmpty()) {
-            Trace.out(Trace.Level.INFO, "Event list empty at time " + clock.getTime());
+            if (!headless && Trace.isEnabled(Trace.Level.INFO)) Trace.out(Trace.Level.INFO, "Event list empty at time " + clock.getTime());
+            stopReason = StopReason.EVENT_LIST_EMPTY;
+            return false;
+        }
+
+        // Stop as soon as the results are precise enough
+        if (stoppingRules.length > 0 && allStoppingRulesSatisfied()) {
+            if (Trace.isEnabled(Trace.Level.INFO)) Trace.out(Trace.Level.INFO, "Stopping rules satisfied at time " + clock.getTime());
+            stopReason = StopReason.PRECISION_REACHED;
+            return false;
+        }
+
+        // Stop if the wall-clock budget is used up, checking the timer only now and then
+        if (wallClockBudgetNanos > 0 && (++cycleCount & (BUDGET_CHECK_INTERVAL - 1)) == 0
+                && System.nanoTime() - deadlineNanos >= 0) {
+            stopReason = StopReason.WALL_CLOCK_BUDGET;
             return false;
         }
 
         return true;
     }
 
+    private boolean allStoppingRulesSatisfied() {
+        for (IStoppingRule rule : stoppingRules) {
+            if (!rule.isSatisfied()) return false;
+        }
+        return true;
+    }
+
     /**
      * Delays execution for the configured {@code delay} time to control simulation speed.
      */
 	private void delay() { // NEW
-		Trace.out(Trace.Level.INFO, "Delay " + delay);
+		if (Trace.isEnabled(Trace.Level.INFO)) Trace.out(Trace.Level.INFO, "Delay " + delay);
 		try {
 			sleep(delay);
 		} catch (InterruptedException e) {
@@ -226,6 +376,77 @@ public abstract class Engine extends Thread implements IEngine {
         stopped = true;
     }
 
+    /**
+     * Adds a rule that may end the run before the simulation time is reached.
+     * The run stops as soon as all added rules are satisfied; the simulation time
+     * remains an upper bound. Must be called before the simulation starts.
+     *
+     * @param rule the stopping rule, e.g. a {@link BatchMeansStoppingRule}
+     */
+    public void addStoppingRule(IStoppingRule rule) {
+        stoppingRules = Arrays.copyOf(stoppingRules, stoppingRules.length + 1);
+        stoppingRules[stoppingRules.length - 1] = rule;
+    }
+
+    /**
+     * Sets a wall-clock budget for the run. When it is used up the run ends as if the
+     * simulation time had been reached. The budget is checked every
+     * {@value #BUDGET_CHECK_INTERVAL} cycles, so it may be exceeded slightly.
+     *
+     * @param millis the budget in milliseconds, or 0 for no budget
+     */
+    public void setWallClockBudget(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("Budget must not be negative");
+        wallClockBudgetNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * Returns why the last run ended.
+     *
+     * @return the stop reason, or {@code null} if the run has not ended yet
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Attaches a recorder that keeps the most recent executed events, or detaches it.
+     * Must be called before the simulation starts.
+     *
+     * @param traceRecorder the recorder, or {@code null} to disable recording
+     */
+    public void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * Returns the attached event recorder.
+     *
+     * @return the recorder, or {@code null} if recording is off
+     */
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+
+    /**
+     * Returns the runtime counters of this engine.
+     *
+     * @return the engine metrics
+     */
+	@Override
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the per-run context of this engine.
+     *
+     * @return the simulation context
+     */
+    public SimulationContext getContext() {
+        return context;
+    }
+
     /**
      * Returns whether the simulation has been stopped.
      *
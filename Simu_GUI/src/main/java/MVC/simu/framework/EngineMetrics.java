@@ -0,0 +1,282 @@
+package MVC.simu.framework;
+
+import MVC.simu.model.ServicePoint;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runtime counters of one {@link Engine}.
+ * <p>
+ * The engine thread updates the counters with plain writes: one array increment per event
+ * and a few field writes per cycle. Only the cycle counter is volatile, so a reader on
+ * another thread (e.g. the JMX or JavaFX thread) that reads it first sees all counters as
+ * of the end of that cycle. Reading the system timer costs about as much as executing an
+ * event, so the phase timings are measured on every {@value #TIMING_INTERVAL}th cycle
+ * only and scaled up to all cycles. The counters are therefore cheap enough to stay enabled.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Counts executed events per event type and the events-per-second rate</li>
+ *   <li>Tracks the event list size and its high-water mark</li>
+ *   <li>Measures wall-clock time spent in the B phase, the C phase and the results</li>
+ *   <li>Reports queue lengths and busy servers of the watched service points</li>
+ *   <li>Publishes itself on the platform MBean server</li>
+ * </ul>
+ */
+public class EngineMetrics implements IEngineMetrics {
+
+    /** Object name under which the metrics of the current GUI run are published. */
+    public static final String OBJECT_NAME = "MVC.simu:type=EngineMetrics";
+
+    /** Phase timings are measured on one cycle out of this many (a power of two). */
+    public static final int TIMING_INTERVAL = 16;
+
+    /** Executed events per enum event type, indexed by ordinal. */
+    private long[] countsByOrdinal = new long[16];
+
+    /** Event types indexed by ordinal, for naming the counts. */
+    private IEventType[] typesByOrdinal = new IEventType[16];
+
+    /** Executed events of event types that are not enums. */
+    private final Map<IEventType, Long> otherCounts = new HashMap<>();
+
+    private long eventsProcessed;
+    private int eventListSize;
+    private int eventListHighWaterMark;
+    private long bPhaseNanos;
+    private long cPhaseNanos;
+    private long timedCycles;
+    private double simulationTime;
+
+    /** Written once per run, so they are simply volatile. */
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile long resultsNanos;
+
+    /** Completed cycles. Written last in every cycle to publish the other counters. */
+    private volatile long cycles;
+
+    private volatile ServicePoint[] servicePoints = new ServicePoint[0];
+
+    /**
+     * Sets the service points whose queues are reported.
+     *
+     * @param servicePoints the service points of the engine
+     */
+    public void watch(ServicePoint[] servicePoints) {
+        this.servicePoints = servicePoints.clone();
+    }
+
+    /** Marks the start of the run. */
+    void runStarted() {
+        startNanos = System.nanoTime();
+        cycles = 0;
+    }
+
+    /**
+     * Counts one executed event.
+     *
+     * @param type the type of the event
+     */
+    void eventExecuted(IEventType type) {
+        eventsProcessed++;
+        if (type instanceof Enum<?> e) {
+            int ordinal = e.ordinal();
+            if (ordinal >= countsByOrdinal.length) {
+                countsByOrdinal = Arrays.copyOf(countsByOrdinal, ordinal + 1);
+                typesByOrdinal = Arrays.copyOf(typesByOrdinal, ordinal + 1);
+            }
+            countsByOrdinal[ordinal]++;
+            typesByOrdinal[ordinal] = type;
+        } else {
+            synchronized (otherCounts) {
+                otherCounts.merge(type, 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the phases of the coming cycle should be timed.
+     *
+     * @return {@code true} on every {@value #TIMING_INTERVAL}th cycle
+     */
+    boolean isTimedCycle() {
+        return (cycles & (TIMING_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Records the phase timings of a timed cycle.
+     *
+     * @param bNanos time spent executing B events
+     * @param cNanos time spent trying C events
+     */
+    void phasesTimed(long bNanos, long cNanos) {
+        bPhaseNanos += bNanos;
+        cPhaseNanos += cNanos;
+        timedCycles++;
+    }
+
+    /**
+     * Records the end of one cycle.
+     *
+     * @param time          the simulation time of the cycle
+     * @param eventListSize the number of pending events after the cycle
+     */
+    void cycleCompleted(double time, int eventListSize) {
+        simulationTime = time;
+        this.eventListSize = eventListSize;
+        if (eventListSize > eventListHighWaterMark) eventListHighWaterMark = eventListSize;
+        cycles++;
+    }
+
+    /**
+     * Marks the end of the run.
+     *
+     * @param resultsNanos time spent collecting the results
+     */
+    void runFinished(long resultsNanos) {
+        this.resultsNanos = resultsNanos;
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Reads the volatile cycle counter. Called by the getters before reading the plain
+     * counters, so that they see the values written up to the end of the last cycle.
+     */
+    private long published() {
+        return cycles;
+    }
+
+    @Override
+    public long getCycles() {
+        return cycles;
+    }
+
+    @Override
+    public long getEventsProcessed() {
+        published();
+        return eventsProcessed;
+    }
+
+    @Override
+    public Map<String, Long> getEventCounts() {
+        published();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long[] byOrdinal = countsByOrdinal;
+        IEventType[] types = typesByOrdinal;
+        for (int i = 0; i < Math.min(byOrdinal.length, types.length); i++) {
+            if (types[i] != null) counts.put(String.valueOf(types[i]), byOrdinal[i]);
+        }
+        synchronized (otherCounts) {
+            otherCounts.forEach((type, count) -> counts.put(String.valueOf(type), count));
+        }
+        return counts;
+    }
+
+    @Override
+    public double getEventsPerSecond() {
+        published();
+        if (startNanos == 0) return 0;
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return end > startNanos ? eventsProcessed * 1e9 / (end - startNanos) : 0;
+    }
+
+    @Override
+    public double getSimulationTime() {
+        published();
+        return simulationTime;
+    }
+
+    @Override
+    public int getEventListSize() {
+        published();
+        return eventListSize;
+    }
+
+    @Override
+    public int getEventListHighWaterMark() {
+        published();
+        return eventListHighWaterMark;
+    }
+
+    @Override
+    public String[] getServicePointNames() {
+        ServicePoint[] sps = servicePoints;
+        String[] names = new String[sps.length];
+        for (int i = 0; i < sps.length; i++) names[i] = sps[i].getServicePointName();
+        return names;
+    }
+
+    @Override
+    public int[] getQueueLengths() {
+        ServicePoint[] sps = servicePoints;
+        int[] lengths = new int[sps.length];
+        for (int i = 0; i < sps.length; i++) lengths[i] = sps[i].getQueueSize();
+        return lengths;
+    }
+
+    @Override
+    public int[] getBusyServers() {
+        ServicePoint[] sps = servicePoints;
+        int[] busy = new int[sps.length];
+        for (int i = 0; i < sps.length; i++) busy[i] = sps[i].getBusyServers();
+        return busy;
+    }
+
+    @Override
+    public double getBPhaseMillis() {
+        long cycleCount = published();
+        return timedCycles > 0 ? bPhaseNanos / 1e6 * cycleCount / timedCycles : 0;
+    }
+
+    @Override
+    public double getCPhaseMillis() {
+        long cycleCount = published();
+        return timedCycles > 0 ? cPhaseNanos / 1e6 * cycleCount / timedCycles : 0;
+    }
+
+    @Override
+    public double getResultsMillis() {
+        return resultsNanos / 1e6;
+    }
+
+    /**
+     * Publishes these metrics on the platform MBean server under {@link #OBJECT_NAME},
+     * replacing the metrics of a previous run.
+     *
+     * @return the object name the metrics were registered under
+     * @throws IllegalStateException if the registration fails
+     */
+    public ObjectName registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            synchronized (EngineMetrics.class) {
+                if (server.isRegistered(name)) server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register engine metrics", e);
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the metrics, e.g. for logging at the end of a run.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("%d events in %d cycles (%.0f events/s), event list peak %d, B phase %.1f ms, C phase %.1f ms, results %.1f ms",
+                getEventsProcessed(), getCycles(), getEventsPerSecond(), getEventListHighWaterMark(),
+                getBPhaseMillis(), getCPhaseMillis(), getResultsMillis());
+    }
+}
@@ -5,15 +5,21 @@ package MVC.simu.framework;
  * <p>
  * Each {@code Event} contains a specific {@link IEventType type} and a timestamp
  * indicating when it will occur in simulation time. Events are stored and ordered
- * within the {@link EventList}, which executes them chronologically.
+ * within an {@link IEventList}, which executes them chronologically.
  * </p>
  *
- * <p>Events are comparable by their scheduled time, enabling time-based ordering
- * in a priority queue.</p>
+ * <p>Events are ordered by their scheduled time, then by the
+ * {@link IEventType#getPriority() priority} of their type and finally by the
+ * sequence number the event list assigns when the event is added. Simultaneous
+ * events are therefore always executed in the same order, which makes runs with
+ * the same seed reproducible.</p>
  */
 public class Event implements Comparable<Event> {
 	private IEventType type;
 	private double time;
+	private int payload;
+	private int priority;
+	private long seq;
 
     /**
      * Constructs a new {@code Event} with the given type and scheduled time.
@@ -22,8 +28,21 @@ public class Event implements Comparable<Event> {
      * @param time the simulation time at which the event will occur
      */
 	public Event(IEventType type, double time) {
+		this(type, time, 0);
+	}
+
+    /**
+     * Constructs a new {@code Event} with the given type, scheduled time and payload.
+     *
+     * @param type    the {@link IEventType} representing what kind of event this is
+     * @param time    the simulation time at which the event will occur
+     * @param payload an integer handle carried with the event
+     */
+	public Event(IEventType type, double time, int payload) {
 		this.type = type;
+		this.priority = (type != null) ? type.getPriority() : 0;
 		this.time = time;
+		this.payload = payload;
 	}
 
     /**
@@ -33,6 +52,7 @@ public class Event implements Comparable<Event> {
      */
 	public void setType(IEventType type) {
 		this.type = type;
+		this.priority = (type != null) ? type.getPriority() : 0;
 	}
 
     /**
@@ -63,19 +83,67 @@ public class Event implements Comparable<Event> {
 	}
 
     /**
-     * Compares this event to another based on their scheduled times.
+     * Sets the integer payload handle of this event.
+     *
+     * @param payload the payload to carry with this event
+     */
+	public void setPayload(int payload) {
+		this.payload = payload;
+	}
+
+    /**
+     * Returns the integer payload handle of this event.
+     *
+     * @return the payload, {@code 0} if none was given
+     */
+	public int getPayload() {
+		return payload;
+	}
+
+    /**
+     * Returns the same-time priority of this event, taken from its type.
+     *
+     * @return the priority; lower values are executed first
+     */
+	public int getPriority() {
+		return priority;
+	}
+
+    /**
+     * Sets the insertion sequence number used to order simultaneous events.
+     * Assigned by the event list when the event is added.
+     *
+     * @param seq the monotonic sequence number
+     */
+	public void setSeq(long seq) {
+		this.seq = seq;
+	}
+
+    /**
+     * Returns the insertion sequence number of this event.
+     *
+     * @return the sequence number assigned by the event list
+     */
+	public long getSeq() {
+		return seq;
+	}
+
+    /**
+     * Compares this event to another based on their scheduled times, breaking ties
+     * by type priority and then by insertion sequence.
      * <p>
      * Used for sorting events chronologically in the {@link java.util.PriorityQueue}.
      * </p>
      *
      * @param arg the other {@code Event} to compare to
-     * @return a negative integer if this event occurs earlier, a positive integer
-     *         if later, or zero if they occur at the same time
+     * @return a negative integer if this event is executed earlier, a positive integer
+     *         if later, or zero only if time, priority and sequence number are all equal
      */
 	@Override
 	public int compareTo(Event arg) {
 		if (this.time < arg.time) return -1;
 		else if (this.time > arg.time) return 1;
-		return 0;
+		if (this.priority != arg.priority) return this.priority < arg.priority ? -1 : 1;
+		return Long.compare(this.seq, arg.seq);
 	}
 }
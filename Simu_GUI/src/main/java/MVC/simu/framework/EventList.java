@@ -7,7 +7,8 @@ import java.util.PriorityQueue;
  * <p>
  * The {@code EventList} stores {@link Event} objects in chronological order,
  * ensuring that the next event to be processed always has the smallest time value.
- * It acts as the central scheduling mechanism for the simulation engine.
+ * It is the binary-heap implementation of {@link IEventList} and the default
+ * scheduling mechanism for the simulation engine.
  *
  * <h3>Responsibilities:</h3>
  * <ul>
@@ -20,11 +21,14 @@ import java.util.PriorityQueue;
  * Typically used by {@link Engine} and other components to schedule and retrieve events
  * during simulation execution.
  */
-public class EventList {
+public class EventList implements IEventList {
 
     /** Priority queue that stores events sorted by their scheduled time. */
     private PriorityQueue<Event> lista = new PriorityQueue<Event>();
 
+    /** Sequence number given to the next added event. */
+    private long nextSeq;
+
     /** Constructs an empty {@code EventList}. */
     public EventList() {}
 
@@ -34,26 +38,31 @@ public class EventList {
      * @return the next scheduled {@link Event}
      * @throws java.util.NoSuchElementException if the list is empty
      */
+    @Override
     public Event remove(){
         return lista.remove();
     }
 
     /**
-     * Adds a new event to the event list.
+     * Adds a new event to the event list and assigns its insertion sequence number.
      *
      * @param t the {@link Event} to be added
      */
+    @Override
     public void add(Event t){
+        t.setSeq(nextSeq++);
         lista.add(t);
     }
 
     /**
      * Returns the time of the next scheduled event without removing it.
      *
-     * @return the time of the next event
+     * @return the time of the next event, or {@link Double#POSITIVE_INFINITY} if the list is empty
      */
+    @Override
     public double getNextTime(){
-        return lista.peek().getTime();
+        Event next = lista.peek();
+        return next != null ? next.getTime() : Double.POSITIVE_INFINITY;
     }
 
     /**
@@ -61,7 +70,18 @@ public class EventList {
      *
      * @return {@code true} if no events remain, {@code false} otherwise
      */
+    @Override
     public boolean isEmpty() {
         return lista.isEmpty();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events currently stored
+     */
+    @Override
+    public int size() {
+        return lista.size();
+    }
+}
@@ -0,0 +1,37 @@
+package MVC.simu.framework;
+
+/**
+ * Enumerates the available {@link IEventList} implementations.
+ * <p>
+ * The simulation engine uses this to pick its pending-event set. For the few dozen
+ * events the visa model keeps pending, a binary heap is fastest; the calendar and
+ * ladder queues pay off once more than a few hundred events are pending at once.
+ */
+public enum EventListType {
+
+    /** {@link ArrayEventHeap}: allocation-free binary heap over primitive arrays (the default). */
+    ARRAY_HEAP,
+
+    /** {@link EventList}: binary heap of {@link Event} objects, {@code O(log n)} per operation. */
+    BINARY_HEAP,
+
+    /** {@link CalendarQueue}: amortized {@code O(1)} for well-spread event times. */
+    CALENDAR_QUEUE,
+
+    /** {@link LadderQueue}: amortized {@code O(1)} also for skewed event times. */
+    LADDER_QUEUE;
+
+    /**
+     * Creates a new, empty event list of this type.
+     *
+     * @return a new {@link IEventList} instance
+     */
+    public IEventList create() {
+        switch (this) {
+            case CALENDAR_QUEUE: return new CalendarQueue();
+            case LADDER_QUEUE: return new LadderQueue();
+            case BINARY_HEAP: return new EventList();
+            default: return new ArrayEventHeap();
+        }
+    }
+}
@@ -31,6 +31,33 @@ public interface IEngine {
      */
     long getDelay();
 
+    /**
+     * Enables or disables headless ("turbo") mode.
+     * <p>
+     * A headless engine skips the visualization delay and per-step tracing entirely and
+     * reports to a no-op observer instead of the controller, so it never touches the JavaFX
+     * toolkit and can run on a machine without a display. Must be set before the engine starts.
+     * </p>
+     *
+     * @param headless {@code true} to run without view updates, delay or tracing
+     */
+    void setHeadless(boolean headless);
+
+    /**
+     * Returns whether the engine runs in headless mode.
+     *
+     * @return {@code true} if headless mode is enabled
+     */
+    boolean isHeadless();
+
+    /**
+     * Returns the runtime counters of the engine (event rates, queue depths, phase timings).
+     * They can be read from any thread while the simulation runs.
+     *
+     * @return the engine metrics
+     */
+    EngineMetrics getMetrics();
+
     /**
      * Pauses the simulation without stopping progress permanently.
      * The engine thread will wait until {@link #resume()} is called.
@@ -0,0 +1,103 @@
+package MVC.simu.framework;
+
+import javax.management.MXBean;
+import java.util.Map;
+
+/**
+ * Management interface of {@link EngineMetrics}, published as an MXBean so that
+ * the progress of a running engine can be watched with JConsole or any JMX client.
+ */
+@MXBean
+public interface IEngineMetrics {
+
+    /**
+     * Returns the total number of events executed in the B phase.
+     *
+     * @return the number of executed events
+     */
+    long getEventsProcessed();
+
+    /**
+     * Returns the number of executed events per event type.
+     *
+     * @return event counts keyed by event type name
+     */
+    Map<String, Long> getEventCounts();
+
+    /**
+     * Returns the average number of events executed per wall-clock second since the run started.
+     *
+     * @return the event rate, or 0 before the run has started
+     */
+    double getEventsPerSecond();
+
+    /**
+     * Returns the number of simulation cycles (distinct event times) completed.
+     *
+     * @return the number of cycles
+     */
+    long getCycles();
+
+    /**
+     * Returns the current simulation time.
+     *
+     * @return the simulation clock time
+     */
+    double getSimulationTime();
+
+    /**
+     * Returns the number of pending events at the end of the last cycle.
+     *
+     * @return the event list size
+     */
+    int getEventListSize();
+
+    /**
+     * Returns the largest number of pending events seen at the end of a cycle.
+     *
+     * @return the event list high-water mark
+     */
+    int getEventListHighWaterMark();
+
+    /**
+     * Returns the names of the watched service points.
+     *
+     * @return the service point names, empty if none are watched
+     */
+    String[] getServicePointNames();
+
+    /**
+     * Returns the current queue length of each watched service point.
+     *
+     * @return queue lengths, indexed like {@link #getServicePointNames()}
+     */
+    int[] getQueueLengths();
+
+    /**
+     * Returns the current number of busy servers of each watched service point.
+     *
+     * @return busy servers, indexed like {@link #getServicePointNames()}
+     */
+    int[] getBusyServers();
+
+    /**
+     * Returns the wall-clock time spent executing B events, estimated from the timed cycles.
+     *
+     * @return the time in milliseconds
+     */
+    double getBPhaseMillis();
+
+    /**
+     * Returns the wall-clock time spent trying C events, estimated from the timed cycles.
+     *
+     * @return the time in milliseconds
+     */
+    double getCPhaseMillis();
+
+    /**
+     * Returns the wall-clock time spent collecting the results.
+     *
+     * @return the time in milliseconds
+     */
+    double getResultsMillis();
+}
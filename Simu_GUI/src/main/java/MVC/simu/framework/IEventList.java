@@ -0,0 +1,84 @@
+package MVC.simu.framework;
+
+/**
+ * Defines the pending-event set used by the simulation engine.
+ * <p>
+ * An {@code IEventList} stores future {@link Event}s and always hands out the
+ * event with the smallest scheduled time first. Different implementations trade
+ * memory layout and per-operation cost differently, so the engine can choose the
+ * one that suits the expected number of pending events (see {@link EventListType}).
+ *
+ * <h3>Implementations:</h3>
+ * <ul>
+ *   <li>{@link ArrayEventHeap} – binary heap over primitive arrays, allocation-free</li>
+ *   <li>{@link EventList} – binary heap, {@code O(log n)} per operation</li>
+ *   <li>{@link CalendarQueue} – calendar queue, amortized {@code O(1)} for well-spread times</li>
+ *   <li>{@link LadderQueue} – ladder queue, amortized {@code O(1)} also for skewed time distributions</li>
+ * </ul>
+ */
+public interface IEventList {
+
+    /**
+     * Adds a new event to the event list.
+     *
+     * @param t the {@link Event} to be added
+     */
+    void add(Event t);
+
+    /**
+     * Schedules a new event from its parts.
+     * <p>
+     * Implementations that store events in primitive arrays override this to avoid
+     * allocating an {@link Event}; the default simply wraps the parts in one.
+     *
+     * @param type    the event type
+     * @param time    the simulation time at which the event occurs
+     * @param payload an integer handle carried with the event
+     */
+    default void schedule(IEventType type, double time, int payload) {
+        add(new Event(type, time, payload));
+    }
+
+    /**
+     * Removes and returns the next event (the one with the smallest time).
+     *
+     * @return the next scheduled {@link Event}
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    Event remove();
+
+    /**
+     * Removes the next event, reusing {@code reusable} where the implementation allows it.
+     * <p>
+     * The returned event is only valid until the next call; callers must not keep it.
+     * The default returns the stored event object and ignores {@code reusable}.
+     *
+     * @param reusable an event object the implementation may fill and return
+     * @return the next scheduled {@link Event}
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    default Event removeNext(Event reusable) {
+        return remove();
+    }
+
+    /**
+     * Returns the time of the next scheduled event without removing it.
+     *
+     * @return the time of the next event, or {@link Double#POSITIVE_INFINITY} if the list is empty
+     */
+    double getNextTime();
+
+    /**
+     * Checks whether the event list is empty.
+     *
+     * @return {@code true} if no events remain, {@code false} otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events currently stored
+     */
+    int size();
+}
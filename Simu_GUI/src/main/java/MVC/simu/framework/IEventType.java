@@ -1,7 +1,7 @@
 package MVC.simu.framework;
 
 /**
- * Marker interface representing the type of simulation event.
+ * Interface representing the type of simulation event.
  * <p>
  * Implementations (such as {@code EventType} enums) define
  * specific kinds of events that can occur during the simulation.
@@ -10,4 +10,18 @@ package MVC.simu.framework;
  * @see MVC.simu.model.EventType
  * @see MVC.simu.framework.Event
  */
-public interface IEventType {}
+public interface IEventType {
+
+    /**
+     * Returns the priority of this event type among events scheduled for the same time.
+     * <p>
+     * Events with a lower value are executed first; events with equal time and priority
+     * are executed in the order they were scheduled.
+     * </p>
+     *
+     * @return the same-time priority, {@code 0} by default
+     */
+    default int getPriority() {
+        return 0;
+    }
+}
@@ -0,0 +1,20 @@
+package MVC.simu.framework;
+
+/**
+ * A termination criterion that ends a simulation run before its time horizon,
+ * e.g. as soon as a result is statistically precise enough.
+ * <p>
+ * The engine asks {@link #isSatisfied()} once per simulation cycle, so implementations
+ * should update their state when observations arrive and only return a flag here.
+ *
+ * See {@link Engine#addStoppingRule(IStoppingRule)}
+ */
+public interface IStoppingRule {
+
+    /**
+     * Returns whether the run may stop as far as this rule is concerned.
+     *
+     * @return {@code true} once the rule is satisfied
+     */
+    boolean isSatisfied();
+}
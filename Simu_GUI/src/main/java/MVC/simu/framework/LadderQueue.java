@@ -0,0 +1,318 @@
+package MVC.simu.framework;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Ladder queue implementation of {@link IEventList} (Tang, Goh and Thng, 2005).
+ * <p>
+ * Events are kept in three tiers:
+ * <ul>
+ *   <li><b>Top</b> – an unsorted list of far-future events, appended in {@code O(1)}</li>
+ *   <li><b>Rungs</b> – up to {@value #MAX_RUNGS} levels of buckets, each rung splitting one
+ *       bucket of the rung above into finer buckets</li>
+ *   <li><b>Bottom</b> – a small sorted array holding the events that are dequeued next</li>
+ * </ul>
+ * Events are only sorted once they reach the bottom, and a bucket is split into a new rung
+ * whenever it holds more than {@value #THRESHOLD} events. Because the bucket widths adapt to
+ * the events actually present, the queue keeps amortized {@code O(1)} cost even for skewed
+ * time distributions that defeat a {@link CalendarQueue}.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Routes new events to the top, a rung or the bottom depending on their time</li>
+ *   <li>Transfers the top into the first rung and splits crowded buckets into new rungs</li>
+ *   <li>Keeps the bottom sorted so the next event can be served from its end</li>
+ * </ul>
+ */
+public class LadderQueue implements IEventList {
+
+    /** Maximum number of events a bucket (or the bottom) holds before it is split. */
+    private static final int THRESHOLD = 50;
+
+    /** Maximum number of rungs. Crowded buckets on the last rung go straight to the bottom. */
+    private static final int MAX_RUNGS = 8;
+
+    /** Sorts the bottom so that the next event sits at the end of the array. */
+    private static final Comparator<Event> DESCENDING = Comparator.reverseOrder();
+
+    /** One level of buckets covering {@code [start, start + bucketCount * width)}. */
+    private static final class Rung {
+        Event[][] buckets = new Event[0][];
+        int[] counts = new int[0];
+        int bucketCount;
+        double start;
+        double width;
+        int current;
+        int size;
+
+        /** Reinitializes this rung, reusing its bucket arrays where possible. */
+        void reset(int bucketCount, double start, double width) {
+            if (buckets.length < bucketCount) {
+                buckets = Arrays.copyOf(buckets, bucketCount);
+                counts = Arrays.copyOf(counts, bucketCount);
+            }
+            Arrays.fill(counts, 0, bucketCount, 0);
+            this.bucketCount = bucketCount;
+            this.start = start;
+            this.width = width;
+            this.current = 0;
+            this.size = 0;
+        }
+
+        /** Start time of bucket {@code i}. */
+        double bucketStart(int i) {
+            return start + i * width;
+        }
+
+        /** Adds an event whose time is at least {@code bucketStart(current)}. */
+        void add(Event e) {
+            double t = e.getTime();
+            int i = (int) ((t - start) / width);
+            if (i < current) i = current;
+            if (i >= bucketCount) i = bucketCount - 1;
+            // correct rounding so that bucket i covers exactly [bucketStart(i), bucketStart(i + 1))
+            while (i > current && t < bucketStart(i)) i--;
+            while (i < bucketCount - 1 && t >= bucketStart(i + 1)) i++;
+
+            Event[] bucket = buckets[i];
+            int n = counts[i];
+            if (bucket == null) {
+                bucket = buckets[i] = new Event[Math.max(4, THRESHOLD / 4)];
+            } else if (n == bucket.length) {
+                bucket = buckets[i] = Arrays.copyOf(bucket, n * 2);
+            }
+            bucket[n] = e;
+            counts[i] = n + 1;
+            size++;
+        }
+    }
+
+    /** Unsorted far-future events, in arrival order. */
+    private Event[] top = new Event[THRESHOLD];
+    private int topSize;
+    private double topMin = Double.POSITIVE_INFINITY;
+    private double topMax = Double.NEGATIVE_INFINITY;
+
+    /** Events later than this time go to the top. */
+    private double topStart = Double.NEGATIVE_INFINITY;
+
+    private final Rung[] rungs = new Rung[MAX_RUNGS];
+    private int rungCount;
+
+    /** Sorted in descending order; the next event is at {@code bottom[bottomSize - 1]}. */
+    private Event[] bottom = new Event[THRESHOLD * 2];
+    private int bottomSize;
+
+    /** Number of pending events. */
+    private int size;
+
+    /** Sequence number given to the next added event. */
+    private long nextSeq;
+
+    /** Constructs an empty {@code LadderQueue}. */
+    public LadderQueue() {}
+
+    /**
+     * Adds a new event to the ladder and assigns its insertion sequence number.
+     *
+     * @param t the {@link Event} to be added
+     */
+    @Override
+    public void add(Event t) {
+        t.setSeq(nextSeq++);
+        size++;
+        double time = t.getTime();
+        if (time > topStart) {
+            addToTop(t);
+            return;
+        }
+        for (int r = 0; r < rungCount; r++) {
+            Rung rung = rungs[r];
+            if (time >= rung.bucketStart(rung.current)) {
+                rung.add(t);
+                return;
+            }
+        }
+        insertBottom(t);
+        if (bottomSize > THRESHOLD && rungCount < MAX_RUNGS) spawnFromBottom();
+    }
+
+    /**
+     * Removes and returns the next event (the one with the smallest time).
+     *
+     * @return the next scheduled {@link Event}
+     * @throws NoSuchElementException if the ladder is empty
+     */
+    @Override
+    public Event remove() {
+        if (!prepareBottom()) throw new NoSuchElementException("Event list is empty");
+        Event next = bottom[--bottomSize];
+        bottom[bottomSize] = null;
+        size--;
+        return next;
+    }
+
+    /**
+     * Returns the time of the next scheduled event without removing it.
+     *
+     * @return the time of the next event, or {@link Double#POSITIVE_INFINITY} if empty
+     */
+    @Override
+    public double getNextTime() {
+        return prepareBottom() ? bottom[bottomSize - 1].getTime() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks whether the ladder is empty.
+     *
+     * @return {@code true} if no events remain, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events currently stored
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Makes sure the bottom holds the next event, pulling buckets down the ladder as needed.
+     *
+     * @return {@code false} if the ladder is empty
+     */
+    private boolean prepareBottom() {
+        while (bottomSize == 0) {
+            if (rungCount == 0) {
+                if (topSize == 0) return false;
+                transferTop();
+                continue;
+            }
+            Rung rung = rungs[rungCount - 1];
+            while (rung.current < rung.bucketCount && rung.counts[rung.current] == 0) rung.current++;
+            if (rung.current >= rung.bucketCount) {
+                rungCount--;
+                continue;
+            }
+            int b = rung.current;
+            if (rung.counts[b] > THRESHOLD && rungCount < MAX_RUNGS && isSplittable(rung.buckets[b], rung.counts[b])) {
+                spawnRung(rung, b);
+            } else {
+                moveToBottom(rung.buckets[b], rung.counts[b]);
+                rung.size -= rung.counts[b];
+                rung.counts[b] = 0;
+                rung.current = b + 1;
+            }
+        }
+        return true;
+    }
+
+    /** Appends an event to the unsorted top list. */
+    private void addToTop(Event e) {
+        if (topSize == top.length) top = Arrays.copyOf(top, topSize * 2);
+        top[topSize++] = e;
+        double t = e.getTime();
+        if (t < topMin) topMin = t;
+        if (t > topMax) topMax = t;
+    }
+
+    /** Moves the whole top into a new first rung, or directly into the bottom if it is small. */
+    private void transferTop() {
+        topStart = topMax;
+        if (topSize <= THRESHOLD || topMax == topMin) {
+            moveToBottom(top, topSize);
+        } else {
+            Rung rung = rung(0);
+            double width = (topMax - topMin) / topSize;
+            rung.reset(topSize + 1, topMin, width);
+            for (int i = 0; i < topSize; i++) rung.add(top[i]);
+            rungCount = 1;
+        }
+        Arrays.fill(top, 0, topSize, null);
+        topSize = 0;
+        topMin = Double.POSITIVE_INFINITY;
+        topMax = Double.NEGATIVE_INFINITY;
+    }
+
+    /** Splits bucket {@code b} of {@code parent} into a new, finer rung below it. */
+    private void spawnRung(Rung parent, int b) {
+        Event[] bucket = parent.buckets[b];
+        int n = parent.counts[b];
+        Rung child = rung(rungCount);
+        child.reset(n, parent.bucketStart(b), parent.width / n);
+        for (int i = 0; i < n; i++) {
+            child.add(bucket[i]);
+            bucket[i] = null;
+        }
+        parent.size -= n;
+        parent.counts[b] = 0;
+        parent.current = b + 1;
+        rungCount++;
+    }
+
+    /** Turns an overfull bottom into a new rung so that bottom insertions stay cheap. */
+    private void spawnFromBottom() {
+        double min = bottom[bottomSize - 1].getTime();
+        double max = bottom[0].getTime();
+        if (max == min) return;
+
+        Rung child = rung(rungCount);
+        child.reset(bottomSize + 1, min, (max - min) / bottomSize);
+        // oldest-first order keeps equal events in arrival order
+        for (int i = bottomSize - 1; i >= 0; i--) {
+            child.add(bottom[i]);
+            bottom[i] = null;
+        }
+        bottomSize = 0;
+        rungCount++;
+    }
+
+    /** Copies events into the (empty) bottom and sorts them so the next event is last. */
+    private void moveToBottom(Event[] events, int n) {
+        if (bottom.length < n) bottom = new Event[Math.max(n, bottom.length * 2)];
+        // reverse copy so that the stable sort keeps the earliest-added of equal events last
+        for (int i = 0; i < n; i++) {
+            bottom[i] = events[n - 1 - i];
+            events[n - 1 - i] = null;
+        }
+        bottomSize = n;
+        Arrays.sort(bottom, 0, n, DESCENDING);
+    }
+
+    /** Inserts an event into the sorted bottom, after all events that do not come later than it. */
+    private void insertBottom(Event e) {
+        if (bottomSize == bottom.length) bottom = Arrays.copyOf(bottom, bottomSize * 2);
+        int lo = 0, hi = bottomSize;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bottom[mid].compareTo(e) > 0) lo = mid + 1;
+            else hi = mid;
+        }
+        System.arraycopy(bottom, lo, bottom, lo + 1, bottomSize - lo);
+        bottom[lo] = e;
+        bottomSize++;
+    }
+
+    /** A bucket is only worth splitting if its events do not all share one time. */
+    private static boolean isSplittable(Event[] bucket, int n) {
+        double first = bucket[0].getTime();
+        for (int i = 1; i < n; i++) {
+            if (bucket[i].getTime() != first) return true;
+        }
+        return false;
+    }
+
+    /** Returns the rung object for level {@code r}, creating it on first use. */
+    private Rung rung(int r) {
+        if (rungs[r] == null) rungs[r] = new Rung();
+        return rungs[r];
+    }
+}
@@ -0,0 +1,301 @@
+package MVC.simu.framework;
+
+import eduni.distributions.AntitheticGenerator;
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Generator;
+import eduni.distributions.MRG32k3a;
+import eduni.distributions.SeedGenerator;
+import eduni.distributions.Uniform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * Holds all per-run state of one simulation.
+ * <p>
+ * Every {@link Engine} owns a {@code SimulationContext} and passes it to the components it
+ * creates ({@link ArrivalProcess}, service points, customers). Because nothing in it is
+ * shared between runs, any number of simulations can execute concurrently in one JVM,
+ * and two runs created with the same seed produce exactly the same results.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Provides the simulation {@link Clock} of the run</li>
+ *   <li>Allocates entity IDs and keeps a registry of entities per class</li>
+ *   <li>Hands out well-spaced seeds for independent random streams, derived from the run seed</li>
+ *   <li>Provides the random generator used for model decisions</li>
+ *   <li>Optionally draws all random numbers from substreams of one {@link MRG32k3a} stream</li>
+ *   <li>Optionally gives every model decision its own stream and mirrors all streams antithetically</li>
+ * </ul>
+ *
+ * <p>
+ * A context is confined to the thread that runs its engine and is not thread-safe.
+ */
+public class SimulationContext {
+
+    /** Modulus of the {@link eduni.distributions.RandomGenerator} the stream seeds feed. */
+    private static final long MODULUS = 2147483647L;
+
+    /** Number of random numbers between two consecutive stream seeds. */
+    private static final int STREAM_SPACING = 100000;
+
+    /** Number of streams reserved for each run when seeds for several runs are derived. */
+    private static final int STREAMS_PER_RUN = 16;
+
+    /** Context used by components constructed without an explicit context. */
+    private static final SimulationContext DEFAULT = new SimulationContext(Clock.getInstance(), 4851L);
+
+    /** The simulation clock of this run. */
+    private final Clock clock;
+
+    /** The seed this context was created with. */
+    private final long seed;
+
+    /** Source of well-spaced seeds for the random streams of this run. */
+    private final SeedGenerator streamSeeds;
+
+    /** Random generator for model decisions (e.g., routing and approval). */
+    private final Random random;
+
+    /** Stream whose substreams feed the random components of this run, or {@code null}. */
+    private final MRG32k3a stream;
+
+    /** Substream given to the next random component; substream 0 feeds the model decisions. */
+    private long nextSubstream = 1;
+
+    /** Whether every model decision draws from its own stream instead of the shared {@link #random}. */
+    private boolean synchronizedStreams;
+
+    /** Whether the generators of this run return {@code 1 - u} for every uniform number {@code u}. */
+    private boolean antithetic;
+
+    /** ID given to the next entity. */
+    private int nextId = 1;
+
+    /** Entities created during the run, grouped by class. */
+    private final Map<Class<?>, List<?>> registries = new HashMap<>();
+
+    /**
+     * Creates a context seeded from the system time.
+     */
+    public SimulationContext() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates a context whose random streams are all derived from the given seed.
+     *
+     * @param seed the run seed; two contexts with the same seed produce the same streams
+     */
+    public SimulationContext(long seed) {
+        this(new Clock(), seed);
+    }
+
+    /**
+     * Creates a context whose random numbers all come from one {@link MRG32k3a} stream:
+     * substream 0 feeds the model decisions and every generator created through
+     * {@link #nextGenerator(LongFunction)} gets the next substream. Contexts given distinct
+     * streams of one {@link eduni.distributions.RandomStreamFactory} never share random numbers.
+     *
+     * @param seed   the run seed, reported by {@link #getSeed()}
+     * @param stream the stream of this run, owned by the context from now on
+     */
+    public SimulationContext(long seed, MRG32k3a stream) {
+        this(new Clock(), seed, stream);
+    }
+
+    private SimulationContext(Clock clock, long seed) {
+        this(clock, seed, null);
+    }
+
+    private SimulationContext(Clock clock, long seed, MRG32k3a stream) {
+        this.clock = clock;
+        this.seed = seed;
+        this.streamSeeds = new SeedGenerator(toGeneratorSeed(seed), STREAM_SPACING);
+        this.stream = stream;
+        this.random = stream != null ? stream.substream(0).asRandom() : new Random(seed);
+    }
+
+    /**
+     * Derives well-spaced seeds for independent runs (e.g. replications) from one base seed.
+     * Consecutive seeds are far enough apart in the generator's cycle that the
+     * {@value #STREAMS_PER_RUN} streams of each run never overlap those of another run.
+     *
+     * @param baseSeed the base seed; the first returned seed is derived directly from it
+     * @param count    the number of seeds to derive
+     * @return {@code count} run seeds
+     */
+    public static long[] runSeeds(long baseSeed, int count) {
+        SeedGenerator generator = new SeedGenerator(toGeneratorSeed(baseSeed), STREAM_SPACING * STREAMS_PER_RUN);
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = generator.sample();
+        }
+        return seeds;
+    }
+
+    /** Maps any seed into the valid seed range {@code [1, 2^31 - 2]} of the LCG behind {@link SeedGenerator}. */
+    private static long toGeneratorSeed(long seed) {
+        long s = Math.floorMod(seed, MODULUS);
+        return s == 0 ? 1 : s;
+    }
+
+    /**
+     * Returns the shared context used by components created without an explicit context.
+     * It uses {@link Clock#getInstance()} and must not be used by concurrent simulations.
+     *
+     * @return the default context
+     */
+    public static SimulationContext getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the simulation clock of this run.
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the seed this context was created with.
+     *
+     * @return the run seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Allocates the next entity ID of this run, starting from 1.
+     *
+     * @return a new unique ID
+     */
+    public int nextId() {
+        return nextId++;
+    }
+
+    /**
+     * Returns the registry of entities of the given class created in this run.
+     *
+     * @param type the entity class
+     * @param <T>  the entity type
+     * @return the mutable list of registered entities, created on first use
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getRegistry(Class<T> type) {
+        return (List<T>) registries.computeIfAbsent(type, k -> new ArrayList<T>());
+    }
+
+    /**
+     * Returns the seed for the next independent random stream of this run.
+     * Seeds are spaced {@value #STREAM_SPACING} numbers apart in the generator's cycle.
+     *
+     * @return a seed for a new generator
+     */
+    public long nextStreamSeed() {
+        return streamSeeds.sample();
+    }
+
+    /**
+     * Creates the generator of the next independent random stream of this run.
+     * The generator is built with {@link #nextStreamSeed()}; if this context has an
+     * {@link MRG32k3a} stream, the generator then draws from the next substream instead.
+     * In antithetic mode the generator's uniform numbers are mirrored by an {@link AntitheticGenerator}.
+     *
+     * @param factory builds a generator from a seed, e.g. {@code config::buildGenerator}
+     * @return the generator
+     */
+    public ContinuousGenerator nextGenerator(LongFunction<? extends ContinuousGenerator> factory) {
+        ContinuousGenerator generator = factory.apply(nextStreamSeed());
+        if (generator instanceof Generator g) {
+            if (stream != null) g.setSource(stream.substream(nextSubstream++));
+            if (antithetic) g.setSource(new AntitheticGenerator(g.getSource()));
+        }
+        return generator;
+    }
+
+    /**
+     * Creates the uniform generator of the next independent random stream of this run,
+     * e.g. for one kind of model decision in {@link #isSynchronizedStreams() synchronized} mode.
+     *
+     * @return a generator of uniform numbers in {@code (0, 1)}
+     * @see #nextGenerator(LongFunction)
+     */
+    public ContinuousGenerator nextUniformGenerator() {
+        return nextGenerator(seed -> new Uniform(0, 1, seed));
+    }
+
+    /**
+     * Makes every kind of model decision (e.g. routing and approval) draw from its own stream
+     * instead of the shared {@link #getRandom()}. Then a decision's random numbers do not depend
+     * on the order of the other events, so two scenarios simulated with equally seeded contexts
+     * see the same arrivals, service demands and decisions (common random numbers), and the
+     * difference of their results is not swamped by sampling noise.
+     * <p>
+     * Must be set before the engine of this context is created.
+     *
+     * @param synchronizedStreams {@code true} to give every decision its own stream
+     */
+    public void setSynchronizedStreams(boolean synchronizedStreams) {
+        this.synchronizedStreams = synchronizedStreams;
+    }
+
+    /**
+     * Returns whether every kind of model decision draws from its own stream.
+     *
+     * @return {@code true} in synchronized mode
+     */
+    public boolean isSynchronizedStreams() {
+        return synchronizedStreams;
+    }
+
+    /**
+     * Makes every generator created from now on return {@code 1 - u} for every uniform number
+     * {@code u}. A run with an antithetic context is the negatively correlated twin of the run
+     * with an equally seeded ordinary context; the decisions are mirrored only in
+     * {@link #setSynchronizedStreams(boolean) synchronized} mode.
+     * <p>
+     * Must be set before the engine of this context is created.
+     *
+     * @param antithetic {@code true} for the antithetic twin of a run
+     */
+    public void setAntithetic(boolean antithetic) {
+        this.antithetic = antithetic;
+    }
+
+    /**
+     * Returns whether the generators of this run are antithetic.
+     *
+     * @return {@code true} in antithetic mode
+     */
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+
+    /**
+     * Returns the random generator used for model decisions in this run.
+     *
+     * @return the decision random generator
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Resets the clock, the ID allocator and all registries.
+     */
+    public void reset() {
+        clock.reset();
+        nextId = 1;
+        for (List<?> registry : registries.values()) {
+            registry.clear();
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package MVC.simu.framework;
 
+import java.util.function.Supplier;
+
 /**
  * Utility class for managing trace-level logging within the simulation framework.
  * <p>
  * Provides simple console output for debugging and progress tracking,
- * controlled by a {@link Level trace level}.
+ * controlled by a {@link Level trace level}. Messages that are expensive to build
+ * should be passed as a {@link Supplier} or guarded with {@link #isEnabled(Level)},
+ * so that nothing is concatenated or formatted while the level is disabled.
  * </p>
  */
 public class Trace {
@@ -21,7 +25,8 @@ public class Trace {
         ERR
     }
 
-	private static Level traceLevel;
+	/** Current trace level; only errors are printed until a level is set. */
+	private static volatile Level traceLevel = Level.ERR;
 
     /**
      * Sets the current trace level. Messages below this level will be suppressed.
@@ -32,6 +37,17 @@ public class Trace {
 		traceLevel = lvl;
 	}
 
+    /**
+     * Checks whether messages of the given level are printed.
+     * Use it to guard trace code that does more than build a single message.
+     *
+     * @param lvl the level to check
+     * @return {@code true} if messages of this level are printed
+     */
+	public static boolean isEnabled(Level lvl){
+		return lvl.ordinal() >= traceLevel.ordinal();
+	}
+
     /**
      * Prints a trace message to the console if its level meets or exceeds
      * the current {@link #traceLevel}.
@@ -40,11 +56,24 @@ public class Trace {
      * @param txt the message to output
      */
     public static void out(Level lvl, String txt){
-		if (lvl.ordinal() >= traceLevel.ordinal()){
+		if (isEnabled(lvl)){
 			System.out.println(txt);
 		}
 	}
 
+    /**
+     * Prints a lazily built trace message. The supplier is only called if the
+     * level meets or exceeds the current {@link #traceLevel}.
+     *
+     * @param lvl the level of this message
+     * @param txt supplies the message to output
+     */
+    public static void out(Level lvl, Supplier<String> txt){
+		if (isEnabled(lvl)){
+			System.out.println(txt.get());
+		}
+	}
+
     /**
      * Formats simulation time values to two decimal places for consistent output.
      *
@@ -0,0 +1,138 @@
+package MVC.simu.framework;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer that records executed events in binary form.
+ * <p>
+ * Each record is the event's time, type, payload and sequence number, stored in
+ * preallocated primitive arrays, so recording an event builds no strings and allocates
+ * nothing. When the buffer is full the oldest records are overwritten, and the most
+ * recent events can be dumped as text on demand, e.g. after an unexpected result.
+ * <p>
+ * A recorder is attached to an engine with {@link Engine#setTraceRecorder(TraceRecorder)}
+ * and written only by that engine's thread. Dump it once the run has finished or is paused.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Records the events executed in the B phase</li>
+ *   <li>Keeps the last {@link #getCapacity()} records</li>
+ *   <li>Formats the kept records oldest first</li>
+ * </ul>
+ */
+public class TraceRecorder {
+
+    private final int mask;
+    private final double[] times;
+    private final IEventType[] types;
+    private final int[] payloads;
+    private final long[] seqs;
+
+    /** Total number of records written since creation or the last {@link #clear()}. */
+    private long count;
+
+    /**
+     * Creates a recorder that keeps at least the given number of most recent records.
+     * The capacity is rounded up to a power of two.
+     *
+     * @param capacity the minimum number of records kept, at least 1
+     */
+    public TraceRecorder(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) throw new IllegalArgumentException("Capacity must be in [1, 2^30]");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        mask = size - 1;
+        times = new double[size];
+        types = new IEventType[size];
+        payloads = new int[size];
+        seqs = new long[size];
+    }
+
+    /**
+     * Records an executed event. Only the event's data is copied, so reused event
+     * facades may be passed.
+     *
+     * @param event the event being executed
+     */
+    public void record(Event event) {
+        int i = (int) (count++ & mask);
+        times[i] = event.getTime();
+        types[i] = event.getType();
+        payloads[i] = event.getPayload();
+        seqs[i] = event.getSeq();
+    }
+
+    /** @return the maximum number of records kept */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** @return the number of records currently kept */
+    public int size() {
+        return (int) Math.min(count, mask + 1);
+    }
+
+    /** @return the total number of events recorded, including overwritten ones */
+    public long getRecordCount() {
+        return count;
+    }
+
+    /**
+     * Returns the time of a kept record.
+     *
+     * @param index the record index, 0 being the oldest kept record
+     * @return the event time
+     */
+    public double getTime(int index) {
+        return times[slot(index)];
+    }
+
+    /**
+     * Returns the event type of a kept record.
+     *
+     * @param index the record index, 0 being the oldest kept record
+     * @return the event type
+     */
+    public IEventType getType(int index) {
+        return types[slot(index)];
+    }
+
+    /**
+     * Returns the payload of a kept record.
+     *
+     * @param index the record index, 0 being the oldest kept record
+     * @return the event payload
+     */
+    public int getPayload(int index) {
+        return payloads[slot(index)];
+    }
+
+    /** Discards all records. */
+    public void clear() {
+        count = 0;
+        Arrays.fill(types, null);
+    }
+
+    /**
+     * Writes the kept records, oldest first, one line per event.
+     *
+     * @param out the stream to write to
+     */
+    public void dump(PrintStream out) {
+        int n = size();
+        out.println("Trace of the last " + n + " of " + count + " events:");
+        for (int i = 0; i < n; i++) {
+            int s = slot(i);
+            out.println(String.format("  #%d at %s: %s payload=%d",
+                    seqs[s], Trace.formatTime(times[s]), types[s], payloads[s]));
+        }
+    }
+
+    /** Maps a record index (0 = oldest kept) to its slot in the ring. */
+    private int slot(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Record " + index + " of " + size());
+        long oldest = count - size();
+        return (int) ((oldest + index) & mask);
+    }
+}
@@ -0,0 +1,188 @@
+package MVC.simu.framework;
+
+import java.util.Arrays;
+
+/**
+ * Streaming warm-up detector based on the MSER-5 rule (White, 1997).
+ * <p>
+ * Observations (e.g. the time in system of each departing customer) are averaged in
+ * batches of {@value #BATCH_SIZE}. For a series of {@code n} batch means {@code Y_i},
+ * MSER picks the truncation point {@code d} that minimizes
+ * <pre>
+ *     MSER(d) = 1 / (n - d)^2 * sum_{i > d} (Y_i - mean(Y_{d+1..n}))^2
+ * </pre>
+ * i.e. the standard error of the mean of the retained batches. The rule is re-evaluated every
+ * {@value #CHECK_INTERVAL} batches, in {@code O(n)} time using suffix sums. The optimum is
+ * only trusted once it has been in the first half of the series at {@value #CONFIRMATIONS}
+ * consecutive evaluations; otherwise the run is still in its transient and the detector
+ * waits for more data. A single evaluation on few batches cannot tell a slow drift from
+ * noise and would end the warm-up almost immediately.
+ * <p>
+ * The warm-up is reported at the detection point, when the steady-state part after the
+ * truncation point {@code d} is at least half of the observations seen. The batch means are
+ * kept, so a caller that resets its statistics on detection can restore that part from
+ * {@link #getRetainedSum()} instead of discarding it.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Collects batch means of a streaming observation series</li>
+ *   <li>Computes the MSER-5 truncation point</li>
+ *   <li>Reports once when the warm-up period is over</li>
+ * </ul>
+ */
+public class WarmupDetector {
+
+    /** Number of observations per batch (the "5" in MSER-5). */
+    public static final int BATCH_SIZE = 5;
+
+    /** Number of new batches between two evaluations of the rule. */
+    private static final int CHECK_INTERVAL = 10;
+
+    /** Number of consecutive evaluations with the truncation point in the first half before it is trusted. */
+    private static final int CONFIRMATIONS = 8;
+
+    /** Minimum number of batches before the rule is evaluated. */
+    private static final int DEFAULT_MIN_BATCHES = 20;
+
+    private final int minBatches;
+
+    private double[] batchMeans = new double[64];
+    private int batchCount;
+    private double batchSum;
+    private int inBatch;
+    private long observationCount;
+
+    /** Number of consecutive evaluations so far with the truncation point in the first half. */
+    private int confirmations;
+
+    /** Truncation point in batches, or -1 while the warm-up is not over. */
+    private int truncationBatches = -1;
+
+    /** Number of observations at which the warm-up was detected to be over, or -1 before. */
+    private long detectionPoint = -1;
+
+    /** Creates a detector that evaluates the rule once {@value #DEFAULT_MIN_BATCHES} batches are available. */
+    public WarmupDetector() {
+        this(DEFAULT_MIN_BATCHES);
+    }
+
+    /**
+     * Creates a detector that evaluates the rule once the given number of batches is available.
+     *
+     * @param minBatches the minimum number of batches, at least 2
+     */
+    public WarmupDetector(int minBatches) {
+        if (minBatches < 2) throw new IllegalArgumentException("At least 2 batches are required");
+        this.minBatches = minBatches;
+    }
+
+    /**
+     * Adds an observation. After the warm-up has been detected, observations are only counted
+     * and the batch means are kept as they were at detection.
+     *
+     * @param observation the observed value
+     * @return {@code true} exactly once, for the observation at which the warm-up is detected to be over
+     */
+    public boolean add(double observation) {
+        observationCount++;
+        if (detectionPoint >= 0) return false;
+
+        batchSum += observation;
+        if (++inBatch < BATCH_SIZE) return false;
+
+        if (batchCount == batchMeans.length) batchMeans = Arrays.copyOf(batchMeans, batchCount * 2);
+        batchMeans[batchCount++] = batchSum / BATCH_SIZE;
+        batchSum = 0;
+        inBatch = 0;
+
+        if (batchCount < minBatches || batchCount % CHECK_INTERVAL != 0) return false;
+        int d = truncationPoint(batchMeans, batchCount);
+        if (d > batchCount / 2) {
+            confirmations = 0;
+            return false;
+        }
+        if (++confirmations < CONFIRMATIONS) return false;
+
+        truncationBatches = d;
+        detectionPoint = observationCount;
+        return true;
+    }
+
+    /**
+     * Returns whether the warm-up period has been detected to be over.
+     *
+     * @return {@code true} once a trusted truncation point has been found
+     */
+    public boolean isWarmupOver() {
+        return detectionPoint >= 0;
+    }
+
+    /**
+     * Returns the number of observations at which the warm-up was detected to be over.
+     *
+     * @return the detection point in observations, or -1 while the warm-up is not over
+     */
+    public long getDetectionPoint() {
+        return detectionPoint;
+    }
+
+    /**
+     * Returns the MSER-5 truncation point, i.e. the number of initial observations that belong
+     * to the warm-up, as found at the detection point.
+     *
+     * @return the truncation point in observations, or -1 while the warm-up is not over
+     */
+    public long getTruncationPoint() {
+        return truncationBatches < 0 ? -1 : (long) truncationBatches * BATCH_SIZE;
+    }
+
+    /**
+     * Returns the sum of the observations between the truncation point and the detection point,
+     * i.e. of the {@code getDetectionPoint() - getTruncationPoint()} retained steady-state observations.
+     *
+     * @return the sum of the retained observations, or 0 while the warm-up is not over
+     */
+    public double getRetainedSum() {
+        if (truncationBatches < 0) return 0;
+        double sum = 0;
+        for (int i = truncationBatches; i < batchCount; i++) sum += batchMeans[i];
+        return sum * BATCH_SIZE;
+    }
+
+    /**
+     * Returns the number of observations added so far.
+     *
+     * @return the observation count
+     */
+    public long getObservationCount() {
+        return observationCount;
+    }
+
+    /**
+     * Computes the MSER truncation point of a series.
+     *
+     * @param y the series (e.g. batch means)
+     * @param n the number of values of {@code y} to use, at least 2
+     * @return the number of leading values {@code d} in {@code [0, n - 2]} minimizing {@code MSER(d)}
+     */
+    public static int truncationPoint(double[] y, int n) {
+        if (n < 2) throw new IllegalArgumentException("At least 2 values are required");
+        int best = 0;
+        double bestMser = Double.POSITIVE_INFINITY;
+        double sum = 0, sumSq = 0;
+        // walk backwards so that sum and sumSq hold the suffix sums for truncation point d
+        for (int d = n - 1; d >= 0; d--) {
+            sum += y[d];
+            sumSq += y[d] * y[d];
+            int m = n - d;
+            if (m < 2) continue;
+            double sse = Math.max(0, sumSq - sum * sum / m);
+            double mser = sse / ((double) m * m);
+            if (mser <= bestMser) {
+                bestMser = mser;
+                best = d;
+            }
+        }
+        return best;
+    }
+}
@@ -1,9 +1,8 @@
 package MVC.simu.model;
 
-import MVC.simu.framework.Clock;
+import MVC.simu.framework.SimulationContext;
 import MVC.simu.framework.Trace;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,11 +13,8 @@ import java.util.List;
  */
 public class ApplicationAsCustomer {
 
-    /** List of all applications in the system. */
-    private static final List<ApplicationAsCustomer> allApplications = new ArrayList<>();
-
-    /** Counter for generating unique application IDs. */
-    private static int idCounter = 1;
+    /** Simulation run this application belongs to (clock, ID allocator and registry). */
+    private final SimulationContext context;
 
     /** Time when the application arrived. */
     private double arrivalTime;
@@ -60,26 +56,42 @@ public class ApplicationAsCustomer {
     private double timeEnteredQueue = -1.0;
 
     /**
-     * Creates a new application with specified type and document completeness.
+     * Creates a new application with specified type and document completeness
+     * in the {@link SimulationContext#getDefault() default} simulation context.
      *
      * @param newApplication true if this is a new application
      * @param docsComplete   true if documents are complete
      */
     public ApplicationAsCustomer(boolean newApplication, boolean docsComplete) {
-        id = idCounter++;
+        this(SimulationContext.getDefault(), newApplication, docsComplete);
+    }
+
+    /**
+     * Creates a new application in the given simulation run.
+     * The ID is allocated from, and the application registered in, that run's context.
+     *
+     * @param context        the simulation context of the run
+     * @param newApplication true if this is a new application
+     * @param docsComplete   true if documents are complete
+     */
+    public ApplicationAsCustomer(SimulationContext context, boolean newApplication, boolean docsComplete) {
+        this.context = context;
+        id = context.nextId();
         this.newApplication = newApplication;
         this.docsComplete = docsComplete;
         this.requiresBiometrics = newApplication;
-        arrivalTime = Clock.getInstance().getTime();
+        arrivalTime = context.getClock().getTime();
         this.currentStage = EventType.ARRIVAL;
-        allApplications.add(this);
-
-        Trace.out(Trace.Level.INFO, "New application #" + id + " arrived at " + Trace.formatTime(arrivalTime));
-        Trace.out(Trace.Level.INFO,
-                "Checking.... New application? " + newApplication +
-                        " | Requires biometrics? " + requiresBiometrics +
-                        " | Complete documents? " + docsComplete
-        );
+        context.getRegistry(ApplicationAsCustomer.class).add(this);
+
+        if (Trace.isEnabled(Trace.Level.INFO)) {
+            Trace.out(Trace.Level.INFO, "New application #" + id + " arrived at " + Trace.formatTime(arrivalTime));
+            Trace.out(Trace.Level.INFO,
+                    "Checking.... New application? " + newApplication +
+                            " | Requires biometrics? " + requiresBiometrics +
+                            " | Complete documents? " + docsComplete
+            );
+        }
     }
 
     /**
@@ -122,11 +134,14 @@ public class ApplicationAsCustomer {
     public void setRemovalTime(double removalTime) {this.removalTime = removalTime;}
 
     /**
-     * Returns the list of all applications in the system.
+     * Returns the list of all applications in the default simulation context.
+     * Engines with their own context use {@link SimulationContext#getRegistry(Class)} instead.
      *
-     * @return list of all ApplicationAsCustomer instances
+     * @return list of all ApplicationAsCustomer instances of the default context
      */
-    public static List<ApplicationAsCustomer> getAllApplications() {return allApplications;}
+    public static List<ApplicationAsCustomer> getAllApplications() {
+        return SimulationContext.getDefault().getRegistry(ApplicationAsCustomer.class);
+    }
 
     /**
      * Returns whether this is a new application.
@@ -234,22 +249,26 @@ public class ApplicationAsCustomer {
     public boolean canReapply() {return reapplyAttempts < MAX_ATTEMPTS;}
 
     /**
-     * Resets the application ID counter and clears all existing application records.
-     * Used to restart the simulation cleanly.
+     * Resets the application ID counter and clears all existing application records
+     * of the default simulation context. Runs with their own context need no reset.
      */
     public static void resetIdCounter() {
-        allApplications.clear();
-        idCounter = 1;
+        SimulationContext.getDefault().reset();
     }
 
-    /** Prints a summary report of the application's processing details in console. */
+    /**
+     * Prints a summary report of the application's processing details in console.
+     * Does nothing unless {@link Trace.Level#INFO} tracing is enabled.
+     */
     public void reportResults() {
+        if (!Trace.isEnabled(Trace.Level.INFO)) return;
+
         Trace.out(Trace.Level.INFO, "\nApplication #" + id + " is processed! ");
         Trace.out(Trace.Level.INFO, "Application #" + id + " arrived at " + Trace.formatTime(arrivalTime));
         Trace.out(Trace.Level.INFO, "Application #" + id + " removed at " + Trace.formatTime(removalTime));
         Trace.out(Trace.Level.INFO, "Total time in system: " + id + " " + Trace.formatTime((removalTime - arrivalTime)));
         Trace.out(Trace.Level.INFO, "Application waited " + Trace.formatTime(getTimeInWaitingRoom()) + " minutes in queue.");
-        System.out.println("Creating app #" + id + " | total in memory now: " + allApplications.size());
+        Trace.out(Trace.Level.INFO, "Applications in memory now: " + context.getRegistry(ApplicationAsCustomer.class).size());
 
         if (requiresBiometrics) {
             Trace.out(Trace.Level.INFO, "Time spent in biometrics: " + Trace.formatTime(getTimeInBiometrics()) + " minutes");
@@ -260,4 +279,4 @@ public class ApplicationAsCustomer {
         Trace.out(Trace.Level.INFO, "Is biometrics required? " + requiresBiometrics);
         Trace.out(Trace.Level.INFO, "Visa decision: " + (approved ? "Approved ✅" : "Denied ❌"));
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,17 @@
 package MVC.simu.model;
 
 import MVC.controller.IControllerMtoV;
+import MVC.controller.NullController;
 import ORM.dao.SimulationRunDao;
 import eduni.project_distributionconfiguration.DistributionConfig;
 import ORM.entity.*;
 import MVC.simu.framework.*;
+import eduni.distributions.ContinuousGenerator;
 import javafx.application.Platform;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -38,9 +41,50 @@ public class MyEngine extends Engine {
     /** Random number generator used for stochastic decisions (e.g., approval, docs completeness). */
     private Random randomGenerator;
 
+    /**
+     * Dedicated uniform streams of the new-application, docs-complete and approval decisions
+     * when the context has {@link SimulationContext#isSynchronizedStreams() synchronized streams},
+     * otherwise {@code null}.
+     */
+    private ContinuousGenerator newApplicationStream, docsCompleteStream, approvalStream;
+
     /** Reference to the controller for updating the GUI and passing data. */
     private IControllerMtoV controller;
 
+    /** Whether {@link #results()} persists the run to the database. */
+    private boolean persistResults = true;
+
+    /** Detects the end of the warm-up period, or {@code null} if warm-up truncation is off. */
+    private WarmupDetector warmupDetector;
+
+    /** Simulation time at which the statistics were last reset (0 if never). */
+    private double warmupEndTime = 0.0;
+
+    /** Stopping rule on the average time in system, or {@code null}. */
+    private BatchMeansStoppingRule systemTimeRule;
+
+    /** Stopping rules on the average waiting time per service point, {@code null} where none is set. */
+    private final BatchMeansStoppingRule[] waitingTimeRules = new BatchMeansStoppingRule[6];
+
+    /**
+     * Known expectations of the control variates: the inter-arrival time (index 0) and the
+     * service time of each service point (index {@code 1 + sp}), from the configurations.
+     */
+    private final double[] controlMeans = new double[7];
+
+    /** Sums and counts of the sampled control variates since the statistics were last reset. */
+    private final double[] controlSums = new double[7];
+    private final long[] controlCounts = new long[7];
+
+    /** Control-variate estimator of the average time in system, controlled by all seven controls. */
+    private ControlVariateEstimator systemTimeEstimator;
+
+    /** Control-variate estimators of the average waiting time per service point. */
+    private final ControlVariateEstimator[] waitingTimeEstimators = new ControlVariateEstimator[6];
+
+    /** All precision targets of this run, in the order they were added. */
+    private final List<BatchMeansStoppingRule> precisionTargets = new ArrayList<>();
+
     /** Array of user-defined distribution configurations for each service point and arrival process. */
     private DistributionConfig[] userConfigs;
 
@@ -64,6 +108,12 @@ public class MyEngine extends Engine {
     /** Cumulative time all applications spent in the system (for computing average). */
     private double totalSystemTime = 0.0;
 
+    /**
+     * Number of times in system summed in {@link #totalSystemTime}. Equal to {@link #totalApplications},
+     * except after the warm-up, when the steady-state times observed before its detection are restored.
+     */
+    private int systemTimeCount = 0;
+
     /** Number of approved applications that exited the system. */
     private int exitedApprovedCount = 0;
 
@@ -78,24 +128,313 @@ public class MyEngine extends Engine {
      * @param seed       optional random seed (if {@code null}, a system time–based seed is used)
      */
     public MyEngine(IControllerMtoV controller, DistributionConfig[] configs, Long seed) {
-        super(controller);
-        Clock.getInstance().reset();
+        this(controller, configs, seed, EventListType.ARRAY_HEAP);
+    }
+
+    /**
+     * Constructs a new simulation engine instance that uses the given event list implementation.
+     *
+     * @param controller    the controller used to update the GUI
+     * @param configs       the distribution configurations for each service point and the arrival process
+     * @param seed          optional random seed (if {@code null}, a system time–based seed is used)
+     * @param eventListType the pending-event set implementation to use
+     */
+    public MyEngine(IControllerMtoV controller, DistributionConfig[] configs, Long seed, EventListType eventListType) {
+        this(controller, configs, (seed != null) ? new SimulationContext(seed) : new SimulationContext(), eventListType);
+    }
+
+    /**
+     * Constructs a new simulation engine instance that runs in its own {@link SimulationContext}.
+     * <p>
+     * Every service point and the arrival process get an independent random stream seeded from
+     * the context, so engines with equally seeded contexts produce identical results and engines
+     * with different contexts can run concurrently.
+     *
+     * @param controller    the controller used to update the GUI
+     * @param configs       the distribution configurations for each service point and the arrival process
+     * @param context       the per-run state (clock, IDs, registry, random streams) of this simulation
+     * @param eventListType the pending-event set implementation to use
+     */
+    public MyEngine(IControllerMtoV controller, DistributionConfig[] configs, SimulationContext context,
+                    EventListType eventListType) {
+        super(controller, eventListType, context);
         this.controller = controller;
         this.userConfigs = configs;
 
         servicePoints = new ServicePoint[6];
-        randomGenerator = (seed != null) ? new Random(seed) : new Random(System.currentTimeMillis());
+        randomGenerator = context.getRandom();
 
-        // Initialize all service points according to configuration
-        servicePoints[0] = new ServicePoint(configs[0].buildGenerator(), eventList, EventType.END_APPLICATION_ENTRY, controller);
-        servicePoints[1] = new ServicePoint(configs[1].buildGenerator(), eventList, EventType.END_DOC_SUBMISSION, controller);
-        servicePoints[2] = new ServicePoint(configs[2].buildGenerator(), eventList, EventType.END_BIOMETRICS, controller);
-        servicePoints[3] = new ServicePoint(configs[3].buildGenerator(), eventList, EventType.MISSING_DOCS_RESOLVED, controller);
-        servicePoints[4] = new ServicePoint(configs[4].buildGenerator(), eventList, EventType.END_DOC_CHECK, controller);
-        servicePoints[5] = new ServicePoint(configs[5].buildGenerator(), eventList, EventType.END_DECISION, controller);
+        // Initialize all service points according to configuration, each with its own random stream
+        servicePoints[0] = new ServicePoint(context.nextGenerator(configs[0]::buildGenerator), eventList, EventType.END_APPLICATION_ENTRY, controller, context);
+        servicePoints[1] = new ServicePoint(context.nextGenerator(configs[1]::buildGenerator), eventList, EventType.END_DOC_SUBMISSION, controller, context);
+        servicePoints[2] = new ServicePoint(context.nextGenerator(configs[2]::buildGenerator), eventList, EventType.END_BIOMETRICS, controller, context);
+        servicePoints[3] = new ServicePoint(context.nextGenerator(configs[3]::buildGenerator), eventList, EventType.MISSING_DOCS_RESOLVED, controller, context);
+        servicePoints[4] = new ServicePoint(context.nextGenerator(configs[4]::buildGenerator), eventList, EventType.END_DOC_CHECK, controller, context);
+        servicePoints[5] = new ServicePoint(context.nextGenerator(configs[5]::buildGenerator), eventList, EventType.END_DECISION, controller, context);
 
         // Initialize arrival process
-        arrivalProcess = new ArrivalProcess(configs[6].buildGenerator(), eventList, EventType.ARRIVAL);
+        arrivalProcess = new ArrivalProcess(context.nextGenerator(configs[6]::buildGenerator), eventList, EventType.ARRIVAL, context);
+
+        setupControlVariates(configs);
+
+        // Streams for the decisions, allocated after all others so the streams above stay the same
+        if (context.isSynchronizedStreams()) {
+            newApplicationStream = context.nextUniformGenerator();
+            docsCompleteStream = context.nextUniformGenerator();
+            approvalStream = context.nextUniformGenerator();
+        }
+
+        metrics.watch(servicePoints);
+    }
+
+    /**
+     * Connects the control-variate estimators to the sampled inter-arrival and service times.
+     * The average waiting time at a service point is controlled by the inter-arrival time and its
+     * own service time; the average time in system by all of them.
+     *
+     * @param configs the configurations whose means are the known expectations of the controls
+     */
+    private void setupControlVariates(DistributionConfig[] configs) {
+        controlMeans[0] = configs[6].getMean();
+        for (int i = 0; i < 6; i++) controlMeans[1 + i] = configs[i].getMean();
+        systemTimeEstimator = new ControlVariateEstimator("Average time in system", controlMeans, 0.95);
+
+        for (int i = 0; i < 6; i++) {
+            int sp = i;
+            ServicePoint servicePoint = servicePoints[sp];
+            waitingTimeEstimators[sp] = new ControlVariateEstimator(servicePoint.getServicePointName() + " - average waiting time",
+                    new double[] {controlMeans[0], controlMeans[1 + sp]}, 0.95);
+            servicePoint.setServiceTimeObserver(serviceTime -> {
+                observeControl(1 + sp, serviceTime);
+                systemTimeEstimator.observeControl(1 + sp, serviceTime);
+                waitingTimeEstimators[sp].observeControl(1, serviceTime);
+            });
+            servicePoint.setWaitingTimeObserver(waitingTime -> {
+                waitingTimeEstimators[sp].observe(waitingTime);
+                if (waitingTimeRules[sp] != null && isCollectingSteadyState()) waitingTimeRules[sp].observe(waitingTime);
+            });
+        }
+        arrivalProcess.setInterarrivalTimeObserver(interarrivalTime -> {
+            observeControl(0, interarrivalTime);
+            systemTimeEstimator.observeControl(0, interarrivalTime);
+            for (ControlVariateEstimator estimator : waitingTimeEstimators) estimator.observeControl(0, interarrivalTime);
+        });
+    }
+
+    private void observeControl(int control, double sample) {
+        controlSums[control] += sample;
+        controlCounts[control]++;
+    }
+
+    /**
+     * Enables or disables headless mode. In headless mode the service points report to a
+     * {@link NullController} and no view update is posted to the JavaFX thread.
+     *
+     * @param headless {@code true} to run without view updates, delay or tracing
+     */
+    @Override
+    public void setHeadless(boolean headless) {
+        super.setHeadless(headless);
+        IControllerMtoV observer = headless ? NullController.INSTANCE : controller;
+        for (ServicePoint sp : servicePoints) {
+            sp.setController(observer);
+        }
+    }
+
+    /**
+     * Sets whether the results of the run are persisted to the database.
+     * Batch runs and tests that have no database available can switch this off.
+     *
+     * @param persistResults {@code true} to persist results (the default)
+     */
+    public void setPersistResults(boolean persistResults) {
+        this.persistResults = persistResults;
+    }
+
+    /**
+     * Enables or disables automatic warm-up truncation.
+     * <p>
+     * When enabled, the time in system of every decided application is fed to an MSER-5
+     * {@link WarmupDetector}. As soon as it detects the end of the transient, all statistics
+     * are reset with {@link #resetStatistics()}, so the results describe the steady state only.
+     * The average time in system then keeps the times observed after the MSER truncation point;
+     * the other statistics, most of them time-weighted, restart at the detection time.
+     * Must be set before the engine starts.
+     *
+     * @param enabled {@code true} to truncate the warm-up period
+     */
+    public void setWarmupDetection(boolean enabled) {
+        warmupDetector = enabled ? new WarmupDetector() : null;
+    }
+
+    /**
+     * Stops the run as soon as the batch-means confidence interval of the average time in
+     * system is within the given relative precision, e.g. {@code 0.01} for ±1%.
+     * If several precision targets are set, the run stops when all of them are met.
+     * Must be called before the engine starts.
+     *
+     * @param relativePrecision the target half-width relative to the mean
+     * @param confidenceLevel   the confidence level, e.g. {@code 0.95}
+     * @return the stopping rule, which holds the final confidence interval after the run
+     */
+    public BatchMeansStoppingRule addSystemTimePrecisionTarget(double relativePrecision, double confidenceLevel) {
+        systemTimeRule = new BatchMeansStoppingRule("Average time in system", relativePrecision, confidenceLevel);
+        addPrecisionTarget(systemTimeRule);
+        return systemTimeRule;
+    }
+
+    /**
+     * Stops the run as soon as the batch-means confidence interval of the average waiting
+     * time at a service point is within the given relative precision.
+     * Must be called before the engine starts.
+     *
+     * @param servicePoint      the service point index (0 to 5)
+     * @param relativePrecision the target half-width relative to the mean
+     * @param confidenceLevel   the confidence level, e.g. {@code 0.95}
+     * @return the stopping rule, which holds the final confidence interval after the run
+     */
+    public BatchMeansStoppingRule addWaitingTimePrecisionTarget(int servicePoint, double relativePrecision, double confidenceLevel) {
+        ServicePoint sp = servicePoints[servicePoint];
+        BatchMeansStoppingRule rule = new BatchMeansStoppingRule(
+                sp.getServicePointName() + " - average waiting time", relativePrecision, confidenceLevel);
+        waitingTimeRules[servicePoint] = rule;
+        addPrecisionTarget(rule);
+        return rule;
+    }
+
+    private void addPrecisionTarget(BatchMeansStoppingRule rule) {
+        precisionTargets.add(rule);
+        addStoppingRule(rule);
+    }
+
+    /** Observations feed the stopping rules only after the warm-up period, if it is being detected. */
+    private boolean isCollectingSteadyState() {
+        return warmupDetector == null || warmupDetector.isWarmupOver();
+    }
+
+    /**
+     * Returns the simulation time at which the statistics were last reset.
+     *
+     * @return the end of the warm-up period, or 0 if the statistics were never reset
+     */
+    public double getWarmupEndTime() {
+        return warmupEndTime;
+    }
+
+    /**
+     * Discards all statistics collected so far, in this engine and in all service points.
+     * Applications still in the system are kept.
+     */
+    public void resetStatistics() {
+        totalApplications = 0;
+        approvedCount = 0;
+        rejectedCount = 0;
+        totalSystemTime = 0.0;
+        systemTimeCount = 0;
+        exitedApprovedCount = 0;
+        exitedRejectedCount = 0;
+        for (ServicePoint sp : servicePoints) {
+            sp.resetStatistics();
+        }
+        Arrays.fill(controlSums, 0);
+        Arrays.fill(controlCounts, 0);
+        systemTimeEstimator.reset();
+        for (ControlVariateEstimator estimator : waitingTimeEstimators) estimator.reset();
+        warmupEndTime = context.getClock().getTime();
+    }
+
+    /**
+     * Returns the number of applications that have received a decision.
+     *
+     * @return total processed applications
+     */
+    public int getTotalApplications() {
+        return totalApplications;
+    }
+
+    /**
+     * Returns the number of approved applications.
+     *
+     * @return approved applications
+     */
+    public int getApprovedCount() {
+        return approvedCount;
+    }
+
+    /**
+     * Returns the number of rejected applications.
+     *
+     * @return rejected applications
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the service points of this engine, indexed 0 to 5.
+     *
+     * @return the service points
+     */
+    public ServicePoint[] getServicePoints() {
+        return servicePoints;
+    }
+
+    /**
+     * Returns the average time an application spent in the system.
+     *
+     * @return average time in system, or 0 if no application has been processed
+     */
+    public double getAverageSystemTime() {
+        return systemTimeCount > 0 ? totalSystemTime / systemTimeCount : 0;
+    }
+
+    /**
+     * Returns the control-variate estimate of the average time in system, from batch means of this run.
+     *
+     * @return the raw and controlled estimates, or {@code null} if too few applications were processed
+     */
+    public ControlVariateEstimator.Estimate getSystemTimeEstimate() {
+        return systemTimeEstimator.getEstimate();
+    }
+
+    /**
+     * Returns the control-variate estimate of the average waiting time at a service point.
+     *
+     * @param servicePoint the service point index (0 to 5)
+     * @return the raw and controlled estimates, or {@code null} if too few applications were served
+     */
+    public ControlVariateEstimator.Estimate getWaitingTimeEstimate(int servicePoint) {
+        return waitingTimeEstimators[servicePoint].getEstimate();
+    }
+
+    /**
+     * Returns the mean of a control variate over the samples drawn since the statistics were last reset.
+     *
+     * @param control 0 for the inter-arrival time, {@code 1 + sp} for the service time of service point {@code sp}
+     * @return the sample mean, {@link Double#NaN} if nothing was sampled
+     */
+    public double getControlSampleMean(int control) {
+        return controlCounts[control] > 0 ? controlSums[control] / controlCounts[control] : Double.NaN;
+    }
+
+    /**
+     * Returns the known expectation of a control variate, from the distribution configurations.
+     *
+     * @param control 0 for the inter-arrival time, {@code 1 + sp} for the service time of service point {@code sp}
+     * @return the expectation
+     */
+    public double getControlMean(int control) {
+        return controlMeans[control];
+    }
+
+    /**
+     * Posts a view update to the JavaFX application thread, unless the engine runs headless.
+     *
+     * @param update the view update to run
+     */
+    private void notifyView(Runnable update) {
+        if (isHeadless()) return;
+        Platform.runLater(update);
     }
 
     /**
@@ -106,6 +445,17 @@ public class MyEngine extends Engine {
         arrivalProcess.generateNext();
     }
 
+    /**
+     * Makes a random yes/no decision.
+     *
+     * @param stream      the dedicated stream of the decision, or {@code null} to use the shared generator
+     * @param probability the probability of {@code true}
+     * @return the decision
+     */
+    private boolean decide(ContinuousGenerator stream, double probability) {
+        return (stream != null ? stream.sample() : randomGenerator.nextDouble()) < probability;
+    }
+
     /**
      * Handles all event types that occur during the simulation run.
      * This method defines how {@link ApplicationAsCustomer} objects
@@ -119,91 +469,102 @@ public class MyEngine extends Engine {
         ApplicationAsCustomer application;
         switch ((EventType) t.getType()) {
             case ARRIVAL -> {
-                boolean isNew = randomGenerator.nextDouble() < NEW_APPLICATION_PROBABILITY;
-                boolean docsComplete = randomGenerator.nextDouble() < DOCS_COMPLETE_PROBABILITY;
+                boolean isNew = decide(newApplicationStream, NEW_APPLICATION_PROBABILITY);
+                boolean docsComplete = decide(docsCompleteStream, DOCS_COMPLETE_PROBABILITY);
 
-                ApplicationAsCustomer app = new ApplicationAsCustomer(isNew, docsComplete);
+                ApplicationAsCustomer app = new ApplicationAsCustomer(context, isNew, docsComplete);
                 servicePoints[0].addQueue(app);
-                Platform.runLater(() -> {
+                notifyView(() -> {
                             controller.updateQueueStatus(0, servicePoints[0].getQueueSize());
                             controller.visualiseCustomer();
                         });
                 arrivalProcess.generateNext();
             }
             case END_APPLICATION_ENTRY -> {
-                application = servicePoints[0].removeQueue();
+                application = servicePoints[0].removeQueue(t.getPayload());
                 if (application != null) {
                     application.setCurrentStage(EventType.END_DOC_SUBMISSION);
                     servicePoints[1].addQueue(application);
-                    Platform.runLater(() -> {
+                    notifyView(() -> {
                         controller.getVisualisation().moveCustomer(0, 1, false);
                         controller.updateQueueStatus(0, servicePoints[0].getQueueSize());
                     });
                 } else {
-                    Platform.runLater(() -> controller.updateQueueStatus(0, servicePoints[0].getQueueSize()));
+                    notifyView(() -> controller.updateQueueStatus(0, servicePoints[0].getQueueSize()));
                 }
             }
 
             case END_DOC_SUBMISSION -> {
-                application = servicePoints[1].removeQueue();
+                application = servicePoints[1].removeQueue(t.getPayload());
                 if (application != null) {
                     if (application.requiresBiometrics()) {
                         servicePoints[2].addQueue(application);
-                        Platform.runLater(() -> {controller.getVisualisation().moveCustomer(1, 2, false);});
+                        notifyView(() -> {controller.getVisualisation().moveCustomer(1, 2, false);});
                     } else if (!application.isDocsComplete()) {
                         servicePoints[3].addQueue(application);
-                        Platform.runLater(() -> {controller.getVisualisation().moveCustomer(1, 3, false);});
+                        notifyView(() -> {controller.getVisualisation().moveCustomer(1, 3, false);});
                     } else {
                         servicePoints[4].addQueue(application);
-                        Platform.runLater(() -> {controller.getVisualisation().moveCustomer(1, 4, false); });
+                        notifyView(() -> {controller.getVisualisation().moveCustomer(1, 4, false); });
                     }
                 }
-                controller.updateQueueStatus(1, servicePoints[1].getQueueSize());
+                notifyView(() -> controller.updateQueueStatus(1, servicePoints[1].getQueueSize()));
             }
             case END_BIOMETRICS -> {
-                application = servicePoints[2].removeQueue();
+                application = servicePoints[2].removeQueue(t.getPayload());
                 if (application != null) {
-                    double timeInBiometrics = Clock.getInstance().getTime() - application.getTimeEnteredQueue();
+                    double timeInBiometrics = context.getClock().getTime() - application.getTimeEnteredQueue();
                     application.setTimeInBiometrics(timeInBiometrics);
                     servicePoints[4].addQueue(application);
-                    Platform.runLater(() -> {controller.getVisualisation().moveCustomer(2, 4, false);});
+                    notifyView(() -> {controller.getVisualisation().moveCustomer(2, 4, false);});
                 }
-                Platform.runLater(() -> {controller.updateQueueStatus(2, servicePoints[2].getQueueSize());});
+                notifyView(() -> {controller.updateQueueStatus(2, servicePoints[2].getQueueSize());});
             }
             case MISSING_DOCS_RESOLVED -> {
-                application = servicePoints[3].removeQueue();
+                application = servicePoints[3].removeQueue(t.getPayload());
                 if (application != null) {
                     servicePoints[4].addQueue(application);
-                    Platform.runLater(() -> {controller.getVisualisation().moveCustomer(3, 4, false);});
+                    notifyView(() -> {controller.getVisualisation().moveCustomer(3, 4, false);});
                 }
-                Platform.runLater(() -> {controller.updateQueueStatus(3, servicePoints[3].getQueueSize());});
+                notifyView(() -> {controller.updateQueueStatus(3, servicePoints[3].getQueueSize());});
             }
             case END_DOC_CHECK -> {
-                application = servicePoints[4].removeQueue();
+                application = servicePoints[4].removeQueue(t.getPayload());
                 if (application != null) {
                     servicePoints[5].addQueue(application);
-                    Platform.runLater(() -> {controller.getVisualisation().moveCustomer(4, 5, false);});
+                    notifyView(() -> {controller.getVisualisation().moveCustomer(4, 5, false);});
                 }
-                Platform.runLater(() -> {controller.updateQueueStatus(4, servicePoints[4].getQueueSize());});
+                notifyView(() -> {controller.updateQueueStatus(4, servicePoints[4].getQueueSize());});
             }
             case END_DECISION -> {
-                application = servicePoints[5].removeQueue();
+                application = servicePoints[5].removeQueue(t.getPayload());
                 if (application == null) break;
 
-                application.setRemovalTime(Clock.getInstance().getTime());
-                boolean approved = randomGenerator.nextDouble() < 0.7;
+                application.setRemovalTime(context.getClock().getTime());
+                boolean approved = decide(approvalStream, 0.7);
                 application.setApproved(approved);
-                Platform.runLater(() -> {controller.getVisualisation().moveCustomer(5, -1, approved);});
+                notifyView(() -> {controller.getVisualisation().moveCustomer(5, -1, approved);});
 
                 // Increment counters
                 totalApplications++;
                 if (approved) approvedCount++;
                 else rejectedCount++;
 
-                totalSystemTime += application.getRemovalTime() - application.getArrivalTime();
+                double timeInSystem = application.getRemovalTime() - application.getArrivalTime();
+                totalSystemTime += timeInSystem;
+                systemTimeCount++;
+                systemTimeEstimator.observe(timeInSystem);
+                if (warmupDetector != null && warmupDetector.add(timeInSystem)) {
+                    resetStatistics();
+                    // keep the times in system after the MSER truncation point
+                    totalSystemTime = warmupDetector.getRetainedSum();
+                    systemTimeCount = (int) (warmupDetector.getDetectionPoint() - warmupDetector.getTruncationPoint());
+                } else if (systemTimeRule != null && isCollectingSteadyState()) {
+                    systemTimeRule.observe(timeInSystem);
+                }
 
-                double avgTime = totalApplications > 0 ? totalSystemTime / totalApplications : 0;
-                Platform.runLater(() -> {controller.updateStatistics(totalApplications, approvedCount, rejectedCount, avgTime, Clock.getInstance().getTime());});
+                double avgTime = systemTimeCount > 0 ? totalSystemTime / systemTimeCount : 0;
+                notifyView(() -> {controller.updateStatistics(totalApplications, approvedCount, rejectedCount, avgTime, context.getClock().getTime());});
 
                 application.reportResults();
 
@@ -211,11 +572,11 @@ public class MyEngine extends Engine {
                 if (!approved) {
                     application.markReapplication();
                     if (application.canReapply()) servicePoints[0].addQueue(application);
-                    else eventList.add(new Event(EventType.EXIT_REJECTED, Clock.getInstance().getTime()));
+                    else eventList.schedule(EventType.EXIT_REJECTED, context.getClock().getTime(), 0);
                 } else {
-                    eventList.add(new Event(EventType.EXIT_APPROVED, Clock.getInstance().getTime()));
+                    eventList.schedule(EventType.EXIT_APPROVED, context.getClock().getTime(), 0);
                 }
-                Platform.runLater(() -> {controller.updateQueueStatus(5, servicePoints[5].getQueueSize());});
+                notifyView(() -> {controller.updateQueueStatus(5, servicePoints[5].getQueueSize());});
             }
             case EXIT_APPROVED -> exitedApprovedCount++;
             case EXIT_REJECTED -> exitedRejectedCount++;
@@ -249,8 +610,97 @@ public class MyEngine extends Engine {
     @Override
     protected void results() {
         // Calculate average system time
-        double avgTimeInSystem = totalApplications > 0 ? totalSystemTime / totalApplications : 0;
+        double avgTimeInSystem = systemTimeCount > 0 ? totalSystemTime / systemTimeCount : 0;
+
+        // Find bottleneck service point
+        ServicePoint bottleneck = null;
+        double maxUtilization = 0.0;
+        for (ServicePoint sp : servicePoints) {
+            double utilization = sp.getUtilization(context.getClock().getTime());
+            if (utilization > maxUtilization) {
+                maxUtilization = utilization;
+                bottleneck = sp;
+            }
+        }
+
+        // Persist all entities unless disabled (e.g. for batch runs without a database)
+        if (persistResults) persistRun(avgTimeInSystem, bottleneck);
+
+        // Build simulation results string
+        StringBuilder resultStr = new StringBuilder();
+        resultStr.append("\n*---------------------------------------------------------------------------------*");
+        resultStr.append(String.format("\nSimulation ended at %.2f", context.getClock().getTime()));
+        if (warmupEndTime > 0) {
+            resultStr.append(String.format("\nWarm-up period truncated at %.2f (MSER-5)", warmupEndTime));
+        }
+        if (getStopReason() == StopReason.PRECISION_REACHED) {
+            resultStr.append("\nStopped early: all precision targets reached");
+        }
+        for (BatchMeansStoppingRule rule : precisionTargets) {
+            resultStr.append("\n  -> ").append(rule);
+        }
+        resultStr.append("\n****** Simulation Results ******");
+        resultStr.append(String.format("\n  -> Total applications processed: %d applications.", totalApplications));
+        resultStr.append(String.format("\n  -> Approved applications: %d applications", approvedCount));
+        resultStr.append(String.format("\n  -> Approved application exits: %d", exitedApprovedCount));
+        resultStr.append(String.format("\n  -> Rejected applications: %d applications", rejectedCount));
+        resultStr.append(String.format("\n  -> Rejected application exits: %d", exitedRejectedCount));
+        resultStr.append(String.format("\n  -> Average time in system: %.2f minutes.\n", avgTimeInSystem));
+
+        // Service Point performances
+        for (ServicePoint sp : servicePoints) {
+            boolean isBottleneck = sp == bottleneck;
+            resultStr.append(String.format("\nService Point \"%s\" Metrics%s:",
+                    sp.getServicePointName(),
+                    isBottleneck ? " <-- BOTTLENECK" : ""));
+            resultStr.append(String.format("\n  -> Total departures: %d applications.", sp.getTotalDepartures()));
+            resultStr.append(String.format("\n  -> Average waiting time: %.2f minutes", sp.getAverageWaitingTime()));
+            resultStr.append(String.format("\n  -> Max queue length: %d applications", sp.getMaxQueueLength()));
+            resultStr.append(String.format("\n  -> Utilization: %.2f%s", sp.getUtilization(context.getClock().getTime()), isBottleneck ? " <-- HIGHEST" : ""));
+            resultStr.append(String.format("\n  -> Number of employees: %d", sp.getNumEmployees()));
+            resultStr.append("\n");
+        }
+
+        // Control-variate estimates next to the raw batch-means estimates
+        resultStr.append("\n****** Control Variates (inter-arrival and service times) ******");
+        resultStr.append("\n  -> ").append(systemTimeEstimator);
+        ControlVariateEstimator.Estimate systemTimeEstimate = systemTimeEstimator.getEstimate();
+        if (systemTimeEstimate != null) {
+            resultStr.append(String.format("\n     variance %.4g, raw %.4g", systemTimeEstimate.getControlledVariance(),
+                    systemTimeEstimate.getRawVariance()));
+        }
+        for (ControlVariateEstimator estimator : waitingTimeEstimators) {
+            resultStr.append("\n  -> ").append(estimator);
+        }
+        resultStr.append("\n");
+
+        // Bottleneck summary
+        if (bottleneck != null) {
+            resultStr.append("\n****** Bottleneck Summary ******");
+            resultStr.append(String.format("\nBottleneck Service Point: \"%s\"", bottleneck.getServicePointName()));
+            resultStr.append(String.format("\n  -> Utilization: %.2f%%", bottleneck.getUtilization(context.getClock().getTime())));
+            resultStr.append(String.format("\n  -> Max queue length: %d", bottleneck.getMaxQueueLength()));
+            resultStr.append(String.format("\n  -> Average waiting time: %.2f minutes", bottleneck.getAverageWaitingTime()));
+            resultStr.append(String.format("\nfound in ApplicationAsCustomer.getAllApplications(): "
+                    + context.getRegistry(ApplicationAsCustomer.class).size()));
+
+        }
+
+        // Send results to GUI
+        notifyView(() -> {
+        controller.displayResults(resultStr.toString());
+        controller.showEndTime(context.getClock().getTime());
+    });
+    }
 
+    /**
+     * Persists the finished run ({@link SimulationRun}, {@link SPResult}, {@link DistConfig}
+     * and {@link ApplicationLog} entities) into the database.
+     *
+     * @param avgTimeInSystem average time an application spent in the system
+     * @param bottleneck      the service point with the highest utilization, or {@code null}
+     */
+    private void persistRun(double avgTimeInSystem, ServicePoint bottleneck) {
         // Create a SimulationRun entity representing this simulation run
         // Sets local timestamp and aggregates key statistics (total applications, approvals, rejections, average system time)
         // Each SimulationRun is persisted in the database with a primary key (runId) and displayed in the GUI
@@ -260,20 +710,15 @@ public class MyEngine extends Engine {
         run.setApprovedCount(approvedCount);
         run.setRejectedCount(rejectedCount);
         run.setAvgSystemTime(avgTimeInSystem);
+        ControlVariateEstimator.Estimate systemTimeEstimate = systemTimeEstimator.getEstimate();
+        if (systemTimeEstimate != null) {
+            run.setAvgSystemTimeVariance(systemTimeEstimate.getRawVariance());
+            run.setCvAvgSystemTime(systemTimeEstimate.getControlled().getMean());
+            run.setCvAvgSystemTimeVariance(systemTimeEstimate.getControlledVariance());
+        }
         run.setConfigSaved(true);
 
-        // Find bottleneck service point
-        ServicePoint bottleneck = null;
-        double maxUtilization = 0.0;
         List<SPResult> spResults = new ArrayList<>();
-        for (ServicePoint sp : servicePoints) {
-            double utilization = sp.getUtilization(Clock.getInstance().getTime());
-            if (utilization > maxUtilization) {
-                maxUtilization = utilization;
-                bottleneck = sp;
-            }
-        }
-
         // Prepare ServicePoint results
         for (ServicePoint sp : servicePoints) {
             boolean isBottleneck = (sp == bottleneck);
@@ -282,7 +727,7 @@ public class MyEngine extends Engine {
                     sp.getTotalDepartures(),
                     sp.getAverageWaitingTime(),
                     sp.getMaxQueueLength(),
-                    sp.getUtilization(Clock.getInstance().getTime()),
+                    sp.getUtilization(context.getClock().getTime()),
                     sp.getNumEmployees(),
                     isBottleneck
             );
@@ -323,7 +768,7 @@ public class MyEngine extends Engine {
 
         // Prepare Application logs
         List<ApplicationLog> logs = new ArrayList<>();
-        for (ApplicationAsCustomer app : ApplicationAsCustomer.getAllApplications()) {
+        for (ApplicationAsCustomer app : context.getRegistry(ApplicationAsCustomer.class)) {
             // only completed apps
             ApplicationLog log = new ApplicationLog(
                     app.getId(),
@@ -341,50 +786,5 @@ public class MyEngine extends Engine {
         // Persist all entities atomically
         SimulationRunDao dao = new SimulationRunDao();
         dao.persist(run, configs, spResults, logs);
-
-        // Build simulation results string
-        StringBuilder resultStr = new StringBuilder();
-        resultStr.append("\n*---------------------------------------------------------------------------------*");
-        resultStr.append(String.format("\nSimulation ended at %.2f", Clock.getInstance().getTime()));
-        resultStr.append("\n****** Simulation Results ******");
-        resultStr.append(String.format("\n  -> Total applications processed: %d applications.", totalApplications));
-        resultStr.append(String.format("\n  -> Approved applications: %d applications", approvedCount));
-        resultStr.append(String.format("\n  -> Approved application exits: %d", exitedApprovedCount));
-        resultStr.append(String.format("\n  -> Rejected applications: %d applications", rejectedCount));
-        resultStr.append(String.format("\n  -> Rejected application exits: %d", exitedRejectedCount));
-        resultStr.append(String.format("\n  -> Average time in system: %.2f minutes.\n", avgTimeInSystem));
-
-        // Service Point performances
-        for (ServicePoint sp : servicePoints) {
-            boolean isBottleneck = sp == bottleneck;
-            resultStr.append(String.format("\nService Point \"%s\" Metrics%s:",
-                    sp.getServicePointName(),
-                    isBottleneck ? " <-- BOTTLENECK" : ""));
-            resultStr.append(String.format("\n  -> Total departures: %d applications.", sp.getTotalDepartures()));
-            resultStr.append(String.format("\n  -> Average waiting time: %.2f minutes", sp.getAverageWaitingTime()));
-            resultStr.append(String.format("\n  -> Max queue length: %d applications", sp.getMaxQueueLength()));
-            resultStr.append(String.format("\n  -> Utilization: %.2f%s", sp.getUtilization(Clock.getInstance().getTime()), isBottleneck ? " <-- HIGHEST" : ""));
-            resultStr.append(String.format("\n  -> Number of employees: %d", sp.getNumEmployees()));
-            resultStr.append("\n");
-        }
-
-        // Bottleneck summary
-        if (bottleneck != null) {
-            resultStr.append("\n****** Bottleneck Summary ******");
-            resultStr.append(String.format("\nBottleneck Service Point: \"%s\"", bottleneck.getServicePointName()));
-            resultStr.append(String.format("\n  -> Utilization: %.2f%%", bottleneck.getUtilization(Clock.getInstance().getTime())));
-            resultStr.append(String.format("\n  -> Max queue length: %d", bottleneck.getMaxQueueLength()));
-            resultStr.append(String.format("\n  -> Average waiting time: %.2f minutes", bottleneck.getAverageWaitingTime()));
-            resultStr.append(String.format("\nfound in ApplicationAsCustomer.getAllApplications(): "
-                    + ApplicationAsCustomer.getAllApplications().size()));
-
-        }
-
-        // Send results to GUI
-        Platform.runLater(() -> {
-        controller.displayResults(resultStr.toString());
-        controller.showEndTime(Clock.getInstance().getTime());
-    });
-        ApplicationAsCustomer.resetIdCounter();
     }
 }
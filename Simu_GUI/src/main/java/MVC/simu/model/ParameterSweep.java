@@ -0,0 +1,135 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.SimulationContext;
+import eduni.distributions.MRG32k3a;
+import eduni.distributions.RandomStreamFactory;
+import eduni.distributions.SobolSequence;
+import eduni.project_distributionconfiguration.DistributionConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimates the performance of the model averaged over a region of its configuration space,
+ * e.g. over the plausible range of a service-time mean that is not known exactly.
+ * <p>
+ * Each parameter of interest varies uniformly between a minimum and a maximum. The sweep runs
+ * one replication at each of {@code points} settings of the parameters, and repeats this for
+ * {@code randomizations} independent sets of settings. By default the settings are the points
+ * of a scrambled {@link SobolSequence}, which cover the region far more evenly than random
+ * settings, so the average over one set varies much less (randomized quasi-Monte Carlo).
+ * The sets are scrambled independently, so their averages are independent unbiased estimates
+ * and the {@link SweepSummary} builds its confidence intervals from them. For the full benefit
+ * {@code points} should be a power of two.
+ * <p>
+ * The quasi-random numbers only choose the settings: every replication draws its own random
+ * streams as configured on the {@link ReplicationRunner}. The consecutive numbers of one Sobol
+ * coordinate are not independent, and feeding them to the generators of a run would bias its results.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Maps quasi-random or random points of the unit cube to parameter settings</li>
+ *   <li>Runs one replication per setting through the {@link ReplicationRunner}</li>
+ *   <li>Builds a {@link SweepSummary} from the averages of the independent randomizations</li>
+ * </ul>
+ */
+public class ParameterSweep {
+
+    private final ReplicationRunner runner;
+    private final List<int[]> parameters = new ArrayList<>();
+    private final List<double[]> ranges = new ArrayList<>();
+    private boolean quasiRandom = true;
+
+    /**
+     * Creates a sweep around the configuration of a runner, which also runs the replications.
+     *
+     * @param runner the runner whose configuration is varied
+     */
+    public ParameterSweep(ReplicationRunner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * Lets a parameter of one configuration vary uniformly over a range.
+     *
+     * @param config    the index of the configuration, as in the runner's configuration array
+     * @param parameter 1 for the first parameter, 2 for the second (see {@link DistributionConfig#withParameter(int, double)})
+     * @param min       the lower end of the range
+     * @param max       the upper end of the range, at least {@code min}
+     * @throws IllegalArgumentException if there is no such configuration or parameter, the range is
+     *                                  empty or all {@value SobolSequence#MAX_DIMENSION} dimensions are used
+     */
+    public void addRange(int config, int parameter, double min, double max) {
+        checkParameter(config, parameter);
+        if (!(min <= max)) throw new IllegalArgumentException("The range must not be empty");
+        if (parameters.size() == SobolSequence.MAX_DIMENSION)
+            throw new IllegalArgumentException("At most " + SobolSequence.MAX_DIMENSION + " parameters can vary");
+        parameters.add(new int[] {config, parameter});
+        ranges.add(new double[] {min, max});
+    }
+
+    /** Checks that the runner's configuration array has the configuration and that it has the parameter. */
+    private void checkParameter(int config, int parameter) {
+        DistributionConfig[] configs = runner.getConfigs();
+        if (config < 0 || config >= configs.length)
+            throw new IllegalArgumentException("No configuration " + config + ", there are " + configs.length);
+        if (!configs[config].hasParameter(parameter))
+            throw new IllegalArgumentException(configs[config].getType() + " distribution has no parameter " + parameter);
+    }
+
+    /**
+     * Chooses between quasi-random settings (the default) and independent random settings,
+     * e.g. to measure the gain of the former.
+     *
+     * @param quasiRandom {@code true} for scrambled Sobol points, {@code false} for random points
+     */
+    public void setQuasiRandom(boolean quasiRandom) {
+        this.quasiRandom = quasiRandom;
+    }
+
+    /**
+     * Runs the sweep and blocks until all replications have finished.
+     *
+     * @param points         the number of settings per randomization, at least 1; best a power of two
+     * @param randomizations the number of independent randomizations, at least 2
+     * @param seed           the seed of the randomizations and of the replications
+     * @return the summary of the sweep
+     * @throws IllegalArgumentException if no range was added or the counts are too small
+     * @throws IllegalStateException if a replication fails or the calling thread is interrupted
+     */
+    public SweepSummary run(int points, int randomizations, long seed) {
+        if (parameters.isEmpty()) throw new IllegalArgumentException("At least one parameter range is needed");
+        if (points < 1) throw new IllegalArgumentException("At least 1 point is needed");
+        if (randomizations < 2) throw new IllegalArgumentException("At least 2 randomizations are needed for a confidence interval");
+
+        int d = parameters.size();
+        DistributionConfig[] base = runner.getConfigs();
+        List<double[]> settings = new ArrayList<>(points * randomizations);
+        List<DistributionConfig[]> scenarios = new ArrayList<>(points * randomizations);
+        RandomStreamFactory streams = new RandomStreamFactory(seed);
+        double[] u = new double[d];
+        for (int r = 0; r < randomizations; r++) {
+            SobolSequence sobol = quasiRandom ? new SobolSequence(d, seed + r) : null;
+            MRG32k3a random = quasiRandom ? null : streams.getStream(r);
+            for (int p = 0; p < points; p++) {
+                if (quasiRandom) sobol.nextPoint(u);
+                else random.sample(u, 0, d);
+
+                double[] setting = new double[d];
+                DistributionConfig[] scenario = base.clone();
+                for (int k = 0; k < d; k++) {
+                    double[] range = ranges.get(k);
+                    setting[k] = range[0] + u[k] * (range[1] - range[0]);
+                    int config = parameters.get(k)[0];
+                    scenario[config] = scenario[config].withParameter(parameters.get(k)[1], setting[k]);
+                }
+                settings.add(setting);
+                scenarios.add(scenario);
+            }
+        }
+
+        long[] seeds = SimulationContext.runSeeds(seed, points * randomizations);
+        List<ReplicationResult> results = runner.runScenarios(scenarios, seeds, 0);
+        return new SweepSummary(settings, results, points, runner.getConfidenceLevel());
+    }
+}
@@ -0,0 +1,157 @@
+package MVC.simu.model;
+
+/**
+ * Immutable snapshot of the results of one finished simulation replication.
+ * <p>
+ * Per-service-point arrays are indexed like {@link MyEngine#getServicePoints()}.
+ */
+public final class ReplicationResult {
+
+    /** Index of the inter-arrival time among the control variates. */
+    static final int INTER_ARRIVAL_CONTROL = 0;
+
+    private final long seed;
+    private final int totalApplications;
+    private final int approvedCount;
+    private final int rejectedCount;
+    private final double averageSystemTime;
+    private final double warmupEndTime;
+    private final String[] servicePointNames;
+    private final double[] averageWaitingTimes;
+    private final double[] utilizations;
+    private final int[] maxQueueLengths;
+    private final double[] controlSampleMeans;
+    private final double[] controlMeans;
+
+    /**
+     * Captures the results of a finished engine.
+     *
+     * @param seed   the seed the replication ran with
+     * @param engine the engine, after {@link MyEngine#run()} has returned
+     */
+    ReplicationResult(long seed, MyEngine engine) {
+        this.seed = seed;
+        this.totalApplications = engine.getTotalApplications();
+        this.approvedCount = engine.getApprovedCount();
+        this.rejectedCount = engine.getRejectedCount();
+        this.averageSystemTime = engine.getAverageSystemTime();
+        this.warmupEndTime = engine.getWarmupEndTime();
+
+        ServicePoint[] servicePoints = engine.getServicePoints();
+        double end = engine.getContext().getClock().getTime();
+        int n = servicePoints.length;
+        servicePointNames = new String[n];
+        averageWaitingTimes = new double[n];
+        utilizations = new double[n];
+        maxQueueLengths = new int[n];
+        for (int i = 0; i < n; i++) {
+            servicePointNames[i] = servicePoints[i].getServicePointName();
+            averageWaitingTimes[i] = servicePoints[i].getAverageWaitingTime();
+            utilizations[i] = servicePoints[i].getUtilization(end);
+            maxQueueLengths[i] = servicePoints[i].getMaxQueueLength();
+        }
+
+        controlSampleMeans = new double[n + 1];
+        controlMeans = new double[n + 1];
+        for (int k = 0; k <= n; k++) {
+            controlSampleMeans[k] = engine.getControlSampleMean(k);
+            controlMeans[k] = engine.getControlMean(k);
+        }
+    }
+
+    /** @return the seed of this replication */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** @return the number of applications that received a decision */
+    public int getTotalApplications() {
+        return totalApplications;
+    }
+
+    /** @return the number of approved applications */
+    public int getApprovedCount() {
+        return approvedCount;
+    }
+
+    /** @return the number of rejected applications */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /** @return the average time an application spent in the system */
+    public double getAverageSystemTime() {
+        return averageSystemTime;
+    }
+
+    /** @return the simulation time at which the warm-up was truncated, or 0 if it was not */
+    public double getWarmupEndTime() {
+        return warmupEndTime;
+    }
+
+    /** @return the number of service points */
+    public int getServicePointCount() {
+        return servicePointNames.length;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the name of the service point
+     */
+    public String getServicePointName(int servicePoint) {
+        return servicePointNames[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the average waiting time at the service point
+     */
+    public double getAverageWaitingTime(int servicePoint) {
+        return averageWaitingTimes[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the utilization percentage (0-100) of the service point
+     */
+    public double getUtilization(int servicePoint) {
+        return utilizations[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the maximum queue length at the service point
+     */
+    public int getMaxQueueLength(int servicePoint) {
+        return maxQueueLengths[servicePoint];
+    }
+
+    /** @return the number of control variates: the inter-arrival time and one service time per service point */
+    public int getControlCount() {
+        return controlMeans.length;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the index of the service time at the service point among the control variates
+     */
+    static int serviceTimeControl(int servicePoint) {
+        return 1 + servicePoint;
+    }
+
+    /**
+     * @param control 0 for the inter-arrival time, {@code 1 + sp} for the service time of service point {@code sp}
+     * @return the mean of the control over the samples of this replication after the warm-up
+     */
+    public double getControlSampleMean(int control) {
+        return controlSampleMeans[control];
+    }
+
+    /**
+     * @param control 0 for the inter-arrival time, {@code 1 + sp} for the service time of service point {@code sp}
+     * @return the known expectation of the control
+     */
+    public double getControlMean(int control) {
+        return controlMeans[control];
+    }
+}
@@ -0,0 +1,264 @@
+package MVC.simu.model;
+
+import MVC.controller.NullController;
+import MVC.simu.framework.EventListType;
+import MVC.simu.framework.SimulationContext;
+import eduni.distributions.RandomStreamFactory;
+import eduni.project_distributionconfiguration.DistributionConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent replications of the simulation in parallel and summarizes them
+ * with confidence intervals.
+ * <p>
+ * Each replication is a headless {@link MyEngine} with its own {@link SimulationContext},
+ * seeded from {@link SimulationContext#runSeeds(long, int)} so that the random streams of
+ * different replications never overlap. For long studies the replications can instead use
+ * streams of a {@link RandomStreamFactory}, which have a far longer period.
+ * Replications are spread over a {@link ForkJoinPool} and run on the worker threads
+ * directly, without starting the engine's own thread. Because every replication depends
+ * only on its seed, the results are identical for any degree of parallelism.
+ * <p>
+ * Two variance-reduction techniques are available. With common random numbers every
+ * replication gives each model decision its own stream, so that
+ * {@link #compare(DistributionConfig[], int, long)} can pair the replications of two
+ * scenarios run with the same streams. With antithetic variates the replications come in
+ * pairs of an ordinary and a mirrored run of one seed, whose averages vary less than those
+ * of independent runs.
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Derives one seed per replication from a base seed</li>
+ *   <li>Runs the replications headless and without database persistence</li>
+ *   <li>Builds a {@link ReplicationSummary} of the collected {@link ReplicationResult}s</li>
+ *   <li>Compares two scenarios under common random numbers in a {@link ScenarioComparison}</li>
+ * </ul>
+ */
+public class ReplicationRunner {
+
+    private final DistributionConfig[] configs;
+    private final double simulationTime;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private double confidenceLevel = 0.95;
+    private EventListType eventListType = EventListType.ARRAY_HEAP;
+    private boolean warmupDetection;
+    private RandomStreamFactory streamFactory;
+    private boolean commonRandomNumbers;
+    private boolean antithetic;
+
+    /**
+     * Creates a runner for the given model configuration.
+     *
+     * @param configs        the distribution configurations for each service point and the arrival process,
+     *                       as built by the home view
+     * @param simulationTime the simulated time of each replication
+     */
+    public ReplicationRunner(DistributionConfig[] configs, double simulationTime) {
+        if (simulationTime <= 0) throw new IllegalArgumentException("Simulation time must be positive");
+        this.configs = configs.clone();
+        this.simulationTime = simulationTime;
+    }
+
+    /**
+     * Sets the number of replications run at the same time. Defaults to the number of processors.
+     *
+     * @param parallelism the number of worker threads, at least 1
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the confidence level of the intervals in the summary. Defaults to {@code 0.95}.
+     *
+     * @param confidenceLevel the confidence level in {@code (0, 1)}
+     */
+    public void setConfidenceLevel(double confidenceLevel) {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    /**
+     * Sets the event list implementation used by each replication.
+     *
+     * @param eventListType the pending-event set implementation
+     */
+    public void setEventListType(EventListType eventListType) {
+        this.eventListType = eventListType;
+    }
+
+    /**
+     * Enables MSER-5 warm-up truncation in every replication (see {@link MyEngine#setWarmupDetection(boolean)}).
+     *
+     * @param warmupDetection {@code true} to collect steady-state statistics only
+     */
+    public void setWarmupDetection(boolean warmupDetection) {
+        this.warmupDetection = warmupDetection;
+    }
+
+    /**
+     * Makes every replication draw its random numbers from its own {@link eduni.distributions.MRG32k3a}
+     * stream: replication {@code i} uses stream {@code i} of the factory, and each of its random
+     * components a substream of it (see {@link SimulationContext#SimulationContext(long, eduni.distributions.MRG32k3a)}).
+     * By default the replications use the seeded 31-bit generators.
+     *
+     * @param streamFactory the factory of the replication streams, or {@code null} for the seeded generators
+     */
+    public void setStreamFactory(RandomStreamFactory streamFactory) {
+        this.streamFactory = streamFactory;
+    }
+
+    /**
+     * Gives every model decision of each replication its own random stream
+     * (see {@link SimulationContext#setSynchronizedStreams(boolean)}), so that replications of
+     * different scenarios with the same seed use the same random numbers for the same purpose.
+     * {@link #compare(DistributionConfig[], int, long)} always runs in this mode.
+     *
+     * @param commonRandomNumbers {@code true} to synchronize the streams
+     */
+    public void setCommonRandomNumbers(boolean commonRandomNumbers) {
+        this.commonRandomNumbers = commonRandomNumbers;
+    }
+
+    /**
+     * Runs the replications as antithetic pairs: replications {@code 2k} and {@code 2k + 1} share
+     * one seed, the second with mirrored uniform numbers (see {@link SimulationContext#setAntithetic(boolean)}),
+     * and the summary is built from the pair averages. Implies synchronized streams. The pairs are most
+     * strongly correlated when the configurations sample by inversion, e.g. {@link DistributionConfig#setTabulated(boolean) tabulated}.
+     *
+     * @param antithetic {@code true} to run antithetic pairs
+     */
+    public void setAntithetic(boolean antithetic) {
+        this.antithetic = antithetic;
+    }
+
+    /** @return the distribution configurations of the replications */
+    DistributionConfig[] getConfigs() {
+        return configs;
+    }
+
+    /** @return the confidence level of the summary intervals */
+    double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * Runs the replications and blocks until all of them have finished.
+     *
+     * @param replications the number of replications, at least 2; with antithetic pairs an even number, at least 4
+     * @param baseSeed     the seed all replication seeds are derived from
+     * @return the confidence-interval summary of the replications
+     * @throws IllegalStateException if a replication fails or the calling thread is interrupted
+     */
+    public ReplicationSummary run(int replications, long baseSeed) {
+        return new ReplicationSummary(runAll(configs, replications, baseSeed, commonRandomNumbers), confidenceLevel, antithetic);
+    }
+
+    /**
+     * Runs the replications of this runner's configuration and of an alternative one with common
+     * random numbers: replication {@code i} of both scenarios uses the same seed and synchronized
+     * streams, so the confidence intervals of the paired differences are much narrower than
+     * those of two independent studies.
+     *
+     * @param alternative  the distribution configurations of the second scenario
+     * @param replications the number of replications of each scenario, as for {@link #run(int, long)}
+     * @param baseSeed     the seed all replication seeds are derived from
+     * @return the comparison, this runner's configuration minus the alternative
+     * @throws IllegalStateException if a replication fails or the calling thread is interrupted
+     */
+    public ScenarioComparison compare(DistributionConfig[] alternative, int replications, long baseSeed) {
+        List<ReplicationResult> first = runAll(configs, replications, baseSeed, true);
+        List<ReplicationResult> second = runAll(alternative.clone(), replications, baseSeed, true);
+        return new ScenarioComparison(first, second, confidenceLevel, antithetic);
+    }
+
+    private List<ReplicationResult> runAll(DistributionConfig[] scenario, int replications, long baseSeed, boolean synchronizedStreams) {
+        if (replications < 2) throw new IllegalArgumentException("At least 2 replications are needed for a confidence interval");
+        if (antithetic && (replications < 4 || replications % 2 != 0))
+            throw new IllegalArgumentException("Antithetic replications need an even number of at least 4 runs");
+        int step = antithetic ? 2 : 1;
+        long[] seeds = SimulationContext.runSeeds(baseSeed, replications / step);
+
+        List<Callable<ReplicationResult>> tasks = new ArrayList<>(replications);
+        for (int i = 0; i < replications; i++) {
+            long seed = seeds[i / step];
+            SimulationContext context = streamFactory != null
+                    ? new SimulationContext(seed, streamFactory.getStream(i / step))
+                    : new SimulationContext(seed);
+            context.setSynchronizedStreams(synchronizedStreams || antithetic);
+            context.setAntithetic(antithetic && i % 2 == 1);
+            tasks.add(() -> runReplication(scenario, seed, context));
+        }
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Runs one replication of each scenario, e.g. of each point of a {@link ParameterSweep}, with the
+     * random streams of this runner's settings but without antithetic pairs.
+     *
+     * @param scenarios   the distribution configurations of the scenarios
+     * @param seeds       the seed of each scenario's replication, e.g. from {@link SimulationContext#runSeeds(long, int)}
+     * @param firstStream the index of the first scenario's stream if a stream factory is set
+     * @return the results, in the order of the scenarios
+     * @throws IllegalStateException if a replication fails or the calling thread is interrupted
+     */
+    List<ReplicationResult> runScenarios(List<DistributionConfig[]> scenarios, long[] seeds, long firstStream) {
+        List<Callable<ReplicationResult>> tasks = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            DistributionConfig[] scenario = scenarios.get(i);
+            long seed = seeds[i];
+            SimulationContext context = streamFactory != null
+                    ? new SimulationContext(seed, streamFactory.getStream(firstStream + i))
+                    : new SimulationContext(seed);
+            context.setSynchronizedStreams(commonRandomNumbers);
+            tasks.add(() -> runReplication(scenario, seed, context));
+        }
+        return invokeAll(tasks);
+    }
+
+    private List<ReplicationResult> invokeAll(List<Callable<ReplicationResult>> tasks) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ReplicationResult> results = new ArrayList<>(tasks.size());
+            for (Future<ReplicationResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running replications", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replication failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one replication on the calling thread.
+     *
+     * @param seed    the seed of the replication's context
+     * @param context the fresh context of the replication
+     * @return the results of the replication
+     */
+    ReplicationResult runReplication(long seed, SimulationContext context) {
+        return runReplication(configs, seed, context);
+    }
+
+    private ReplicationResult runReplication(DistributionConfig[] scenario, long seed, SimulationContext context) {
+        MyEngine engine = new MyEngine(NullController.INSTANCE, scenario, context, eventListType);
+        engine.setHeadless(true);
+        engine.setPersistResults(false);
+        engine.setWarmupDetection(warmupDetection);
+        engine.setSimulationTime(simulationTime);
+        engine.run();
+        return new ReplicationResult(seed, engine);
+    }
+}
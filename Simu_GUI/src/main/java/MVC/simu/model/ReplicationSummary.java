@@ -0,0 +1,228 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.ConfidenceInterval;
+import MVC.simu.framework.ControlVariateEstimator;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Confidence intervals for the key metrics over a set of independent replications.
+ * <p>
+ * Every replication, or every antithetic pair of replications, contributes one observation
+ * per metric, so the intervals are valid regardless of the autocorrelation inside a single run.
+ */
+public final class ReplicationSummary {
+
+    /** Name of the average time in system metric. */
+    public static final String AVERAGE_SYSTEM_TIME = "Average time in system";
+
+    private final List<ReplicationResult> replications;
+    private final ConfidenceInterval averageSystemTime;
+    private final ConfidenceInterval[] averageWaitingTimes;
+    private final ConfidenceInterval[] utilizations;
+    private final ConfidenceInterval[] maxQueueLengths;
+    private final ControlVariateEstimator.Estimate controlledAverageSystemTime;
+    private final ControlVariateEstimator.Estimate[] controlledAverageWaitingTimes;
+
+    /** All intervals by metric name, in report order. */
+    private final Map<String, ConfidenceInterval> metrics = new LinkedHashMap<>();
+
+    /**
+     * Builds the summary.
+     *
+     * @param replications    the results of the replications, in seed order
+     * @param confidenceLevel the confidence level of the intervals
+     */
+    ReplicationSummary(List<ReplicationResult> replications, double confidenceLevel) {
+        this(replications, confidenceLevel, false);
+    }
+
+    /**
+     * Builds the summary, optionally of antithetic pairs: then replications {@code 2k} and
+     * {@code 2k + 1} are the ordinary and the antithetic run of one seed, and each interval is
+     * built from the pair averages, which are independent of each other.
+     *
+     * @param replications    the results of the replications, in seed order
+     * @param confidenceLevel the confidence level of the intervals
+     * @param antitheticPairs whether consecutive replications form antithetic pairs
+     */
+    ReplicationSummary(List<ReplicationResult> replications, double confidenceLevel, boolean antitheticPairs) {
+        this.replications = Collections.unmodifiableList(replications);
+        int servicePoints = replications.get(0).getServicePointCount();
+
+        averageSystemTime = ConfidenceInterval.of(
+                observations(replications, ReplicationResult::getAverageSystemTime, antitheticPairs), confidenceLevel);
+        metrics.put(AVERAGE_SYSTEM_TIME, averageSystemTime);
+
+        controlledAverageSystemTime = controlled(replications, ReplicationResult::getAverageSystemTime,
+                systemTimeControls(servicePoints), confidenceLevel, antitheticPairs);
+
+        averageWaitingTimes = new ConfidenceInterval[servicePoints];
+        controlledAverageWaitingTimes = new ControlVariateEstimator.Estimate[servicePoints];
+        utilizations = new ConfidenceInterval[servicePoints];
+        maxQueueLengths = new ConfidenceInterval[servicePoints];
+        for (int sp = 0; sp < servicePoints; sp++) {
+            String name = replications.get(0).getServicePointName(sp);
+            int i = sp;
+
+            averageWaitingTimes[sp] = ConfidenceInterval.of(
+                    observations(replications, r -> r.getAverageWaitingTime(i), antitheticPairs), confidenceLevel);
+            metrics.put(name + " - average waiting time", averageWaitingTimes[sp]);
+            controlledAverageWaitingTimes[sp] = controlled(replications, r -> r.getAverageWaitingTime(i),
+                    new int[] {ReplicationResult.INTER_ARRIVAL_CONTROL, ReplicationResult.serviceTimeControl(sp)},
+                    confidenceLevel, antitheticPairs);
+
+            utilizations[sp] = ConfidenceInterval.of(
+                    observations(replications, r -> r.getUtilization(i), antitheticPairs), confidenceLevel);
+            metrics.put(name + " - utilization", utilizations[sp]);
+
+            maxQueueLengths[sp] = ConfidenceInterval.of(
+                    observations(replications, r -> r.getMaxQueueLength(i), antitheticPairs), confidenceLevel);
+            metrics.put(name + " - max queue length", maxQueueLengths[sp]);
+        }
+    }
+
+    /**
+     * Extracts one independent observation of a metric per replication, or per antithetic pair.
+     *
+     * @param replications    the results of the replications, in seed order
+     * @param metric          the metric of a replication
+     * @param antitheticPairs whether consecutive replications form antithetic pairs, whose average is observed
+     * @return the observations
+     */
+    static double[] observations(List<ReplicationResult> replications, ToDoubleFunction<ReplicationResult> metric,
+                                 boolean antitheticPairs) {
+        return observations(replications, metric, antitheticPairs ? 2 : 1);
+    }
+
+    /**
+     * Extracts one observation of a metric per group of consecutive replications, e.g. per
+     * randomization of a {@link ParameterSweep}: the average of the metric over the group.
+     *
+     * @param replications the results of the replications, in seed order
+     * @param metric       the metric of a replication
+     * @param step         the number of replications per group
+     * @return the observations
+     */
+    static double[] observations(List<ReplicationResult> replications, ToDoubleFunction<ReplicationResult> metric,
+                                 int step) {
+        double[] values = new double[replications.size() / step];
+        for (int k = 0; k < values.length; k++) {
+            double sum = 0;
+            for (int j = 0; j < step; j++) sum += metric.applyAsDouble(replications.get(k * step + j));
+            values[k] = sum / step;
+        }
+        return values;
+    }
+
+    /**
+     * Returns the controls of the average time in system: the service time of every service point,
+     * then the inter-arrival time.
+     */
+    private static int[] systemTimeControls(int servicePoints) {
+        int[] controls = new int[servicePoints + 1];
+        for (int sp = 0; sp < servicePoints; sp++) controls[sp] = ReplicationResult.serviceTimeControl(sp);
+        controls[servicePoints] = ReplicationResult.INTER_ARRIVAL_CONTROL;
+        return controls;
+    }
+
+    /**
+     * Estimates the mean of a metric with the per-replication means of some control variates.
+     * Only the controls that drive the metric most directly are used, since every control costs
+     * a degree of freedom and there are few replications.
+     */
+    private static ControlVariateEstimator.Estimate controlled(List<ReplicationResult> replications,
+                                                               ToDoubleFunction<ReplicationResult> metric, int[] controls,
+                                                               double confidenceLevel, boolean antitheticPairs) {
+        double[][] samples = new double[controls.length][];
+        double[] means = new double[controls.length];
+        for (int k = 0; k < controls.length; k++) {
+            int control = controls[k];
+            samples[k] = observations(replications, r -> r.getControlSampleMean(control), antitheticPairs);
+            means[k] = replications.get(0).getControlMean(control);
+        }
+        return ControlVariateEstimator.estimate(observations(replications, metric, antitheticPairs), samples, means,
+                confidenceLevel);
+    }
+
+    /** @return the results of the individual replications, in seed order */
+    public List<ReplicationResult> getReplications() {
+        return replications;
+    }
+
+    /** @return the interval for the average time in system */
+    public ConfidenceInterval getAverageSystemTime() {
+        return averageSystemTime;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the average waiting time at the service point
+     */
+    public ConfidenceInterval getAverageWaitingTime(int servicePoint) {
+        return averageWaitingTimes[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the utilization percentage of the service point
+     */
+    public ConfidenceInterval getUtilization(int servicePoint) {
+        return utilizations[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the maximum queue length at the service point
+     */
+    public ConfidenceInterval getMaxQueueLength(int servicePoint) {
+        return maxQueueLengths[servicePoint];
+    }
+
+    /**
+     * @return the average time in system adjusted by the mean inter-arrival time and the mean service
+     *         time at every service point of each replication, with the plain estimate for comparison
+     */
+    public ControlVariateEstimator.Estimate getControlledAverageSystemTime() {
+        return controlledAverageSystemTime;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the average waiting time at the service point adjusted by the mean inter-arrival time and
+     *         the mean service time at the service point of each replication
+     */
+    public ControlVariateEstimator.Estimate getControlledAverageWaitingTime(int servicePoint) {
+        return controlledAverageWaitingTimes[servicePoint];
+    }
+
+    /** @return every interval by metric name, in report order */
+    public Map<String, ConfidenceInterval> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns a report with one line per metric, suitable for the results view.
+     *
+     * @return the formatted summary
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("****** Replication Summary (%d replications) ******", replications.size()));
+        for (Map.Entry<String, ConfidenceInterval> metric : metrics.entrySet()) {
+            sb.append(String.format("%n  -> %s: %s", metric.getKey(), metric.getValue()));
+        }
+        sb.append("\n****** Control Variates ******");
+        sb.append(String.format("%n  -> %s: %s", AVERAGE_SYSTEM_TIME, controlledAverageSystemTime));
+        for (int sp = 0; sp < controlledAverageWaitingTimes.length; sp++) {
+            sb.append(String.format("%n  -> %s - average waiting time: %s", replications.get(0).getServicePointName(sp),
+                    controlledAverageWaitingTimes[sp]));
+        }
+        return sb.toString();
+    }
+}
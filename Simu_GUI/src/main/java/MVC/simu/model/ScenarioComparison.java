@@ -0,0 +1,109 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.ConfidenceInterval;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Confidence intervals for the differences of the key metrics between two scenarios.
+ * <p>
+ * Replication {@code i} of both scenarios ran with the same seed and synchronized streams
+ * (common random numbers), so the differences are paired: each interval is built from the
+ * per-replication differences (or per-pair differences for antithetic pairs), whose variance
+ * is far below the sum of the variances of the two scenarios. A scenario is significantly better
+ * in a metric when the interval of the difference excludes zero.
+ */
+public final class ScenarioComparison {
+
+    private final ReplicationSummary first;
+    private final ReplicationSummary second;
+    private final ConfidenceInterval averageSystemTime;
+    private final ConfidenceInterval[] averageWaitingTimes;
+
+    /** All difference intervals by metric name, in report order. */
+    private final Map<String, ConfidenceInterval> metrics = new LinkedHashMap<>();
+
+    /**
+     * Builds the comparison.
+     *
+     * @param first           the replications of the first scenario, in seed order
+     * @param second          the replications of the second scenario, with the same seeds
+     * @param confidenceLevel the confidence level of the intervals
+     * @param antitheticPairs whether consecutive replications form antithetic pairs
+     */
+    ScenarioComparison(List<ReplicationResult> first, List<ReplicationResult> second, double confidenceLevel,
+                       boolean antitheticPairs) {
+        this.first = new ReplicationSummary(first, confidenceLevel, antitheticPairs);
+        this.second = new ReplicationSummary(second, confidenceLevel, antitheticPairs);
+
+        averageSystemTime = difference(first, second, ReplicationResult::getAverageSystemTime, confidenceLevel, antitheticPairs);
+        metrics.put(ReplicationSummary.AVERAGE_SYSTEM_TIME, averageSystemTime);
+
+        int servicePoints = first.get(0).getServicePointCount();
+        averageWaitingTimes = new ConfidenceInterval[servicePoints];
+        for (int sp = 0; sp < servicePoints; sp++) {
+            int i = sp;
+            averageWaitingTimes[sp] = difference(first, second, r -> r.getAverageWaitingTime(i), confidenceLevel, antitheticPairs);
+            metrics.put(first.get(0).getServicePointName(sp) + " - average waiting time", averageWaitingTimes[sp]);
+            metrics.put(first.get(0).getServicePointName(sp) + " - utilization",
+                    difference(first, second, r -> r.getUtilization(i), confidenceLevel, antitheticPairs));
+        }
+    }
+
+    private static ConfidenceInterval difference(List<ReplicationResult> first, List<ReplicationResult> second,
+                                                 ToDoubleFunction<ReplicationResult> metric, double confidenceLevel,
+                                                 boolean antitheticPairs) {
+        double[] a = ReplicationSummary.observations(first, metric, antitheticPairs);
+        double[] b = ReplicationSummary.observations(second, metric, antitheticPairs);
+        for (int k = 0; k < a.length; k++) a[k] -= b[k];
+        return ConfidenceInterval.of(a, confidenceLevel);
+    }
+
+    /** @return the summary of the first scenario on its own */
+    public ReplicationSummary getFirst() {
+        return first;
+    }
+
+    /** @return the summary of the second scenario on its own */
+    public ReplicationSummary getSecond() {
+        return second;
+    }
+
+    /** @return the interval for the average time in system of the first minus that of the second scenario */
+    public ConfidenceInterval getAverageSystemTimeDifference() {
+        return averageSystemTime;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the average waiting time at the service point, first minus second scenario
+     */
+    public ConfidenceInterval getAverageWaitingTimeDifference(int servicePoint) {
+        return averageWaitingTimes[servicePoint];
+    }
+
+    /** @return every difference interval by metric name, in report order */
+    public Map<String, ConfidenceInterval> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns a report with one line per metric difference, suitable for the results view.
+     *
+     * @return the formatted comparison
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("****** Scenario Comparison, first minus second (%d replications each) ******",
+                first.getReplications().size()));
+        for (Map.Entry<String, ConfidenceInterval> metric : metrics.entrySet()) {
+            sb.append(String.format("%n  -> %s: %s", metric.getKey(), metric.getValue()));
+        }
+        return sb.toString();
+    }
+}
@@ -2,55 +2,93 @@ package MVC.simu.model;
 
 import eduni.distributions.ContinuousGenerator;
 import MVC.simu.framework.Clock;
-import MVC.simu.framework.Event;
-import MVC.simu.framework.EventList;
+import MVC.simu.framework.IEventList;
+import MVC.simu.framework.SimulationContext;
 import MVC.controller.IControllerMtoV;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
 
 /**
  * Represents a service point in the simulation, managing a queue of applications,
  * service processing, and performance metrics. Supports multiserver (employee) logic,
  * tracks waiting and busy times, and interacts with the controller for visualization.
+ * <p>
+ * Waiting applications are kept in a ring buffer. Every employee is a slot of the server arrays,
+ * which hold the application in service with its start and end times; the completion event of a
+ * service carries its slot as payload, so {@link #removeQueue(int)} releases exactly the
+ * application whose service ended. Both structures only grow, so a run allocates no
+ * per-application objects here.
  */
 public class ServicePoint {
 
-    /** Queue of applications waiting for service. */
-    private LinkedList<ApplicationAsCustomer> queue = new LinkedList<>();
+    /** Initial capacity of the waiting ring buffer. */
+    private static final int INITIAL_QUEUE_CAPACITY = 16;
 
-    /** List of applications currently being served. */
-    private LinkedList<ApplicationAsCustomer> inService = new LinkedList<>();
+    /** Ring buffer of applications waiting for service, oldest at {@link #queueHead}. */
+    private ApplicationAsCustomer[] queue = new ApplicationAsCustomer[INITIAL_QUEUE_CAPACITY];
 
-    /** Maps each application to its service start time for busy time calculation. */
-    private Map<ApplicationAsCustomer, Double> serviceStartTimes = new HashMap<>();
+    /** Index of the oldest waiting application in {@link #queue}. */
+    private int queueHead;
+
+    /** Number of waiting applications. */
+    private int queueSize;
+
+    /** Application in service per server slot, {@code null} for an idle slot. */
+    private ApplicationAsCustomer[] slotApplication = new ApplicationAsCustomer[0];
+
+    /** Service start time per server slot, for busy time calculation. */
+    private double[] slotStart = new double[0];
+
+    /** Scheduled service end time per server slot. */
+    private double[] slotEnd = new double[0];
+
+    /** Stack of idle server slots, the top one is used next. */
+    private int[] freeSlots = new int[0];
+
+    /** Number of idle server slots on {@link #freeSlots}. */
+    private int freeSlotCount;
 
     /** Generator for service times (random distribution). */
     private ContinuousGenerator generator;
 
     /** Event list for scheduling service completion events. */
-    private EventList eventList;
+    private IEventList eventList;
 
     /** Event type scheduled for this service point. */
     private EventType eventTypeScheduled;
 
     /** Controller for updating the view and visualization. */
-    private final IControllerMtoV controller;
+    private IControllerMtoV controller;
+
+    /** Clock of the simulation run this service point belongs to. */
+    private final Clock clock;
 
     // Measurement variables
     /** Total number of applications that have departed (completed service). */
     private int totalDepartures = 0;
 
-    /** Cumulative waiting time for all applications. */
+    /** Total number of applications that have started service. */
+    private int servicesStarted = 0;
+
+    /** Cumulative waiting time of all applications that have started service. */
     private double totalWaitingTime = 0.0;
 
     /** Maximum observed queue length. */
     private int maxQueueLength = 0;
 
-    /** Total time employees have been busy serving applications. */
+    /** Total time employees have been busy serving applications that have completed service. */
     private double busyTime = 0.0;
 
+    /** Receives the waiting time of every application that starts service, or {@code null}. */
+    private DoubleConsumer waitingTimeObserver;
+
+    /** Receives every service time as sampled, before the guard against zero, or {@code null}. */
+    private DoubleConsumer serviceTimeObserver;
+
+    /** Simulation time from which the statistics are collected (0 unless reset). */
+    private double statisticsStartTime = 0.0;
+
     // Multi-server tracking
     /** Number of employees (servers) at this service point. */
     private int numEmployees = 5;
@@ -66,11 +104,36 @@ public class ServicePoint {
      * @param type Event type for this service point
      * @param controller Controller for visualization and updates
      */
-    public ServicePoint(ContinuousGenerator generator, EventList eventList, EventType type, IControllerMtoV controller) {
+    public ServicePoint(ContinuousGenerator generator, IEventList eventList, EventType type, IControllerMtoV controller) {
+        this(generator, eventList, type, controller, SimulationContext.getDefault());
+    }
+
+    /**
+     * Constructs a ServicePoint that belongs to the given simulation run.
+     *
+     * @param generator Service time generator
+     * @param eventList Event list of the run for scheduling
+     * @param type Event type for this service point
+     * @param controller Controller for visualization and updates
+     * @param context Simulation context whose clock is used
+     */
+    public ServicePoint(ContinuousGenerator generator, IEventList eventList, EventType type, IControllerMtoV controller,
+                        SimulationContext context) {
         this.eventList = eventList;
         this.generator = generator;
         this.eventTypeScheduled = type;
         this.controller = controller;
+        this.clock = context.getClock();
+    }
+
+    /**
+     * Replaces the controller this service point reports to, e.g. with a
+     * {@link MVC.controller.NullController} when the engine runs headless.
+     *
+     * @param controller Controller for visualization and updates
+     */
+    public void setController(IControllerMtoV controller) {
+        this.controller = controller;
     }
 
     /**
@@ -111,9 +174,11 @@ public class ServicePoint {
      * @param application Application to add to the queue
      */
     public synchronized void addQueue(ApplicationAsCustomer application) {
-        application.setTimeEnteredQueue(Clock.getInstance().getTime());
-        queue.add(application);
-        maxQueueLength = Math.max(maxQueueLength, queue.size());
+        application.setTimeEnteredQueue(clock.getTime());
+        if (queueSize == queue.length) growQueue();
+        queue[(queueHead + queueSize) % queue.length] = application;
+        queueSize++;
+        maxQueueLength = Math.max(maxQueueLength, queueSize);
 
         checkBottleneck();
         updateControllerQueueStatus();
@@ -125,24 +190,22 @@ public class ServicePoint {
 
     /**
      * Called by the engine when a service completion event for this SP occurs.
-     * Removes the application from the in-service list, updates metrics,
+     * Frees the server slot carried by the event, updates metrics,
      * and attempts to serve the next customer.
      *
-     * @return The application that completed service, or null if none
+     * @param slot The server slot of the completed service, the payload of its event
+     * @return The application that completed service, or null if the slot is idle
      */
-    public synchronized ApplicationAsCustomer removeQueue() {
-        if (inService.isEmpty()) return null;
+    public synchronized ApplicationAsCustomer removeQueue(int slot) {
+        if (slot < 0 || slot >= slotApplication.length || slotApplication[slot] == null) return null;
 
-        ApplicationAsCustomer app = inService.poll();
+        ApplicationAsCustomer app = slotApplication[slot];
+        slotApplication[slot] = null;
+        freeSlots[freeSlotCount++] = slot;
         totalDepartures++;
 
-        double now = Clock.getInstance().getTime();
-
-        // accumulate busy time using the recorded service start time for this app
-        Double start = serviceStartTimes.remove(app);
-        if (start != null) {
-            busyTime += now - start;
-        }
+        // accumulate busy time from the recorded service start time of this slot
+        busyTime += clock.getTime() - slotStart[slot];
 
         busyServers = Math.max(0, busyServers - 1);
 
@@ -154,38 +217,83 @@ public class ServicePoint {
         return app;
     }
 
+    /**
+     * Completes the service that is scheduled to end first, e.g. for a caller that does not have
+     * the completion event. Equivalent to {@link #removeQueue(int)} with the slot of that event.
+     *
+     * @return The application that completed service, or null if none
+     */
+    public synchronized ApplicationAsCustomer removeQueue() {
+        int first = -1;
+        for (int slot = 0; slot < slotApplication.length; slot++) {
+            if (slotApplication[slot] != null && (first < 0 || slotEnd[slot] < slotEnd[first])) first = slot;
+        }
+        return removeQueue(first);
+    }
+
     /**
      * Starts service for as many waiting customers as there are free employees.
-     * Moves customers from waiting queue -> inService and schedules completion events.
+     * Moves customers from the waiting queue to free server slots and schedules completion events.
      */
     public synchronized void beginService() {
-        double now = Clock.getInstance().getTime();
+        double now = clock.getTime();
 
-        while (busyServers < numEmployees && !queue.isEmpty()) {
-            ApplicationAsCustomer app = queue.poll(); // remove from waiting queue
-            if (app == null) break;
+        while (busyServers < numEmployees && queueSize > 0) {
+            ApplicationAsCustomer app = queue[queueHead]; // remove from waiting queue
+            queue[queueHead] = null;
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
 
             busyServers++;
+            servicesStarted++;
 
             // Waiting time tracking
             double waitingTime = now - app.getTimeEnteredQueue();
             totalWaitingTime += waitingTime;
             app.setTimeInWaitingRoom(waitingTime);
-
-            maxQueueLength = Math.max(maxQueueLength, queue.size());
+            if (waitingTimeObserver != null) waitingTimeObserver.accept(waitingTime);
 
             // Service time (guard against zero)
-            double serviceTime = Math.max(1e-6, generator.sample());
+            double sampledTime = generator.sample();
+            if (serviceTimeObserver != null) serviceTimeObserver.accept(sampledTime);
+            double serviceTime = Math.max(1e-6, sampledTime);
+
+            // Put the application into a free server slot, recording its start for busy-time calculation
+            if (freeSlotCount == 0) growSlots();
+            int slot = freeSlots[--freeSlotCount];
+            slotApplication[slot] = app;
+            slotStart[slot] = now;
+            slotEnd[slot] = now + serviceTime;
+
+            // Schedule service completion event for this service point, identifying the slot
+            eventList.schedule(eventTypeScheduled, now + serviceTime, slot);
+        }
 
-            // Track service start for utilization/busy-time calculation and put into in-service list
-            serviceStartTimes.put(app, now);
-            inService.add(app);
+        updateControllerQueueStatus();
+    }
 
-            // Schedule service completion event for this service point (no direct app reference in Event)
-            eventList.add(new Event(eventTypeScheduled, now + serviceTime));
+    /** Doubles the capacity of the waiting ring buffer, moving the oldest application to index 0. */
+    private void growQueue() {
+        ApplicationAsCustomer[] grown = new ApplicationAsCustomer[queue.length * 2];
+        for (int i = 0; i < queueSize; i++) {
+            grown[i] = queue[(queueHead + i) % queue.length];
         }
+        queue = grown;
+        queueHead = 0;
+    }
 
-        updateControllerQueueStatus();
+    /** Adds server slots for at least the current number of employees, all of them idle. */
+    private void growSlots() {
+        int oldLength = slotApplication.length;
+        int newLength = Math.max(numEmployees, Math.max(1, oldLength * 2));
+        slotApplication = Arrays.copyOf(slotApplication, newLength);
+        slotStart = Arrays.copyOf(slotStart, newLength);
+        slotEnd = Arrays.copyOf(slotEnd, newLength);
+        freeSlots = Arrays.copyOf(freeSlots, newLength);
+        // push the new slots so that the lowest index is used first
+        for (int slot = newLength - 1; slot >= oldLength; slot--) {
+            freeSlots[freeSlotCount++] = slot;
+        }
     }
 
     /**
@@ -203,7 +311,7 @@ public class ServicePoint {
      * @return true if queue is not empty, false otherwise
      */
     public boolean isOnQueue() {
-        return !queue.isEmpty();
+        return queueSize > 0;
     }
 
     /**
@@ -212,7 +320,7 @@ public class ServicePoint {
      * @return Number of applications in the queue
      */
     public int getQueueSize() {
-        return queue.size();
+        return queueSize;
     }
 
     /**
@@ -225,12 +333,13 @@ public class ServicePoint {
     }
 
     /**
-     * Gets the average waiting time for applications.
+     * Gets the average waiting time of the applications that have started service,
+     * including those still in service.
      *
-     * @return Average waiting time, or 0.0 if no departures
+     * @return Average waiting time, or 0.0 if no service has started
      */
     public double getAverageWaitingTime() {
-        return totalDepartures > 0 ? totalWaitingTime / totalDepartures : 0.0;
+        return servicesStarted > 0 ? totalWaitingTime / servicesStarted : 0.0;
     }
 
     /**
@@ -244,12 +353,68 @@ public class ServicePoint {
 
     /**
      * Calculates the utilization percentage of employees over the given simulation time.
+     * Only the time since the statistics were last reset is taken into account. Services still
+     * in progress count with their busy time up to the current simulation time.
      *
      * @param simulationTime Total simulation time
      * @return Utilization percentage (0-100)
      */
-    public double getUtilization(double simulationTime) {
-        return simulationTime > 0 ? (busyTime / simulationTime) * 100 : 0.0;
+    public synchronized double getUtilization(double simulationTime) {
+        double observedTime = simulationTime - statisticsStartTime;
+        if (observedTime <= 0) return 0.0;
+        double now = clock.getTime();
+        double busy = busyTime;
+        for (int slot = 0; slot < slotApplication.length; slot++) {
+            if (slotApplication[slot] != null) busy += now - slotStart[slot];
+        }
+        return (busy / observedTime) * 100;
+    }
+
+    /**
+     * Sets a receiver for the waiting time of every application that starts service,
+     * e.g. a sequential stopping rule.
+     *
+     * @param waitingTimeObserver the receiver, or {@code null} to remove it
+     */
+    public void setWaitingTimeObserver(DoubleConsumer waitingTimeObserver) {
+        this.waitingTimeObserver = waitingTimeObserver;
+    }
+
+    /**
+     * Sets a receiver for every service time drawn from the generator, e.g. as a control variate.
+     * The value is passed as sampled, so its expectation is that of the configured distribution.
+     *
+     * @param serviceTimeObserver the receiver, or {@code null} to remove it
+     */
+    public void setServiceTimeObserver(DoubleConsumer serviceTimeObserver) {
+        this.serviceTimeObserver = serviceTimeObserver;
+    }
+
+    /**
+     * Discards all statistics collected so far, e.g. at the end of the warm-up period.
+     * Applications in the queue or in service are kept; only the busy time after the
+     * reset is counted for them.
+     */
+    public synchronized void resetStatistics() {
+        double now = clock.getTime();
+        statisticsStartTime = now;
+        totalDepartures = 0;
+        servicesStarted = 0;
+        totalWaitingTime = 0.0;
+        busyTime = 0.0;
+        maxQueueLength = queueSize;
+        for (int slot = 0; slot < slotApplication.length; slot++) {
+            if (slotApplication[slot] != null) slotStart[slot] = now;
+        }
+    }
+
+    /**
+     * Gets the number of employees currently serving an application.
+     *
+     * @return Number of busy employees
+     */
+    public int getBusyServers() {
+        return busyServers;
     }
 
     /**
@@ -276,7 +441,7 @@ public class ServicePoint {
      * Checks for bottleneck conditions and increases employees if queue exceeds threshold.
      */
     public void checkBottleneck() {
-        if (queue.size() > 15) {
+        if (queueSize > 15) {
             adjustEmployees(numEmployees + 1);
         }
     }
@@ -286,6 +451,6 @@ public class ServicePoint {
      */
     private void updateControllerQueueStatus() {
         int spId = eventTypeScheduled.getServicePointIndex();
-        controller.updateQueueStatus(spId, queue.size());
+        controller.updateQueueStatus(spId, queueSize);
     }
 }
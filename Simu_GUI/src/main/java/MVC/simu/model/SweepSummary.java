@@ -0,0 +1,119 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.ConfidenceInterval;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Confidence intervals for the key metrics averaged over the region of a {@link ParameterSweep}.
+ * <p>
+ * Every randomization of the sweep contributes one observation per metric, the average over
+ * its settings; the randomizations are independent, so the intervals are valid even though the
+ * settings within one randomization are not.
+ */
+public final class SweepSummary {
+
+    private final List<double[]> settings;
+    private final List<ReplicationResult> replications;
+    private final int points;
+    private final ConfidenceInterval averageSystemTime;
+    private final ConfidenceInterval[] averageWaitingTimes;
+    private final ConfidenceInterval[] utilizations;
+
+    /** All intervals by metric name, in report order. */
+    private final Map<String, ConfidenceInterval> metrics = new LinkedHashMap<>();
+
+    /**
+     * Builds the summary.
+     *
+     * @param settings        the parameter values of each replication
+     * @param replications    the results of the replications, randomization by randomization
+     * @param points          the number of settings per randomization
+     * @param confidenceLevel the confidence level of the intervals
+     */
+    SweepSummary(List<double[]> settings, List<ReplicationResult> replications, int points, double confidenceLevel) {
+        this.settings = Collections.unmodifiableList(settings);
+        this.replications = Collections.unmodifiableList(replications);
+        this.points = points;
+        int servicePoints = replications.get(0).getServicePointCount();
+
+        averageSystemTime = interval(ReplicationResult::getAverageSystemTime, confidenceLevel);
+        metrics.put(ReplicationSummary.AVERAGE_SYSTEM_TIME, averageSystemTime);
+
+        averageWaitingTimes = new ConfidenceInterval[servicePoints];
+        utilizations = new ConfidenceInterval[servicePoints];
+        for (int sp = 0; sp < servicePoints; sp++) {
+            String name = replications.get(0).getServicePointName(sp);
+            int i = sp;
+            averageWaitingTimes[sp] = interval(r -> r.getAverageWaitingTime(i), confidenceLevel);
+            metrics.put(name + " - average waiting time", averageWaitingTimes[sp]);
+            utilizations[sp] = interval(r -> r.getUtilization(i), confidenceLevel);
+            metrics.put(name + " - utilization", utilizations[sp]);
+        }
+    }
+
+    private ConfidenceInterval interval(ToDoubleFunction<ReplicationResult> metric, double confidenceLevel) {
+        return ConfidenceInterval.of(ReplicationSummary.observations(replications, metric, points), confidenceLevel);
+    }
+
+    /** @return the parameter values of each replication, in the order of the ranges, aligned with {@link #getReplications()} */
+    public List<double[]> getSettings() {
+        return settings;
+    }
+
+    /** @return the results of the individual replications, randomization by randomization */
+    public List<ReplicationResult> getReplications() {
+        return replications;
+    }
+
+    /** @return the number of settings per randomization */
+    public int getPoints() {
+        return points;
+    }
+
+    /** @return the interval for the average time in system over the region */
+    public ConfidenceInterval getAverageSystemTime() {
+        return averageSystemTime;
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the average waiting time at the service point over the region
+     */
+    public ConfidenceInterval getAverageWaitingTime(int servicePoint) {
+        return averageWaitingTimes[servicePoint];
+    }
+
+    /**
+     * @param servicePoint the service point index
+     * @return the interval for the utilization percentage of the service point over the region
+     */
+    public ConfidenceInterval getUtilization(int servicePoint) {
+        return utilizations[servicePoint];
+    }
+
+    /** @return every interval by metric name, in report order */
+    public Map<String, ConfidenceInterval> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns a report with one line per metric, suitable for the results view.
+     *
+     * @return the formatted summary
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("****** Parameter Sweep (%d randomizations of %d settings) ******",
+                replications.size() / points, points));
+        for (Map.Entry<String, ConfidenceInterval> metric : metrics.entrySet()) {
+            sb.append(String.format("%n  -> %s: %s", metric.getKey(), metric.getValue()));
+        }
+        return sb.toString();
+    }
+}
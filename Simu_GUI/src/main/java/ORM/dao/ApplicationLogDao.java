@@ -0,0 +1,136 @@
+package ORM.dao;
+
+import ORM.datasource.MariaDbJpaConnection;
+import ORM.entity.ApplicationLog;
+import eduni.distributions.EmpiricalGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Data Access Object that reads the times recorded in {@link ApplicationLog} entries.
+ * <p>
+ * The times are selected as scalar projections and consumed from a result stream, so
+ * no {@link ApplicationLog} entity is created and memory use does not grow with the
+ * number of logged applications.
+ * </p>
+ */
+public class ApplicationLogDao {
+
+    /** Number of rows the JDBC driver fetches per round trip while streaming. */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * The times of an application that can be read from its log entry.
+     */
+    public enum Quantity {
+        /** Time between consecutive arrivals within a run. */
+        INTERARRIVAL_TIME,
+        /** Time from arrival to removal, of applications that left the system. */
+        SYSTEM_TIME,
+        /** Time spent waiting in the system, of applications that left the system. */
+        WAITING_TIME
+    }
+
+    /**
+     * Builds the empirical distribution of a logged quantity.
+     * <p>
+     * The rows are streamed twice: first to find the range and count of the values,
+     * then to count them in a histogram of {@link EmpiricalGenerator#binsFor(long)} bins.
+     *
+     * @param runId    the ID of the simulation run to read, or {@code null} for all runs
+     * @param quantity the quantity to read
+     * @return the alias table of the empirical distribution
+     * @throws IllegalArgumentException if there are no values of the quantity
+     */
+    public EmpiricalGenerator.Table buildEmpiricalTable(Long runId, Quantity quantity) {
+        double[] range = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        long[] count = {0};
+        forEach(runId, quantity, x -> {
+            range[0] = Math.min(range[0], x);
+            range[1] = Math.max(range[1], x);
+            count[0]++;
+        });
+        if (count[0] == 0) throw new IllegalArgumentException("No logged values of " + quantity + " for run " + runId);
+
+        EmpiricalGenerator.Histogram histogram =
+                new EmpiricalGenerator.Histogram(range[0], range[1], EmpiricalGenerator.binsFor(count[0]));
+        forEach(runId, quantity, histogram);
+        return histogram.toTable();
+    }
+
+    /**
+     * Reads the values of a logged quantity into an array, e.g. as the sample of a
+     * {@link eduni.project_distributionconfiguration.DistributionFitter}.
+     *
+     * @param runId    the ID of the simulation run to read, or {@code null} for all runs
+     * @param quantity the quantity to read
+     * @return the values, for interarrival times in order of arrival per run
+     */
+    public double[] findValues(Long runId, Quantity quantity) {
+        double[][] values = {new double[1024]};
+        int[] size = {0};
+        forEach(runId, quantity, x -> {
+            if (size[0] == values[0].length) values[0] = Arrays.copyOf(values[0], 2 * size[0]);
+            values[0][size[0]++] = x;
+        });
+        return Arrays.copyOf(values[0], size[0]);
+    }
+
+    /**
+     * Streams the values of a logged quantity to a consumer.
+     *
+     * @param runId    the ID of the simulation run to read, or {@code null} for all runs
+     * @param quantity the quantity to read
+     * @param action   receives the values, for interarrival times in order of arrival per run
+     */
+    public void forEach(Long runId, Quantity quantity, DoubleConsumer action) {
+        EntityManager em = MariaDbJpaConnection.createEntityManager();
+        try {
+            if (quantity == Quantity.INTERARRIVAL_TIME) {
+                // differences of the arrival times, restarted for every run
+                TypedQuery<Object[]> q = em.createQuery(
+                        "SELECT a.simulationRun.id, a.arrivalTime FROM ApplicationLog a" + where(runId) +
+                                " ORDER BY a.simulationRun.id, a.arrivalTime", Object[].class);
+                try (Stream<Object[]> rows = stream(q, runId)) {
+                    Object[] previous = {null, 0.0};
+                    rows.forEach(row -> {
+                        double arrival = (Double) row[1];
+                        if (row[0].equals(previous[0])) action.accept(arrival - (Double) previous[1]);
+                        previous[0] = row[0];
+                        previous[1] = arrival;
+                    });
+                }
+            } else {
+                // applications still in the system at the end of the run are logged with no removal time
+                String value = quantity == Quantity.SYSTEM_TIME ? "a.removalTime - a.arrivalTime" : "a.waitingTime";
+                TypedQuery<Double> q = em.createQuery(
+                        "SELECT " + value + " FROM ApplicationLog a WHERE a.removalTime >= a.arrivalTime" +
+                                and(runId), Double.class);
+                try (Stream<Double> values = stream(q, runId)) {
+                    values.forEach(action::accept);
+                }
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    private static String where(Long runId) {
+        return runId == null ? "" : " WHERE a.simulationRun.id = :runId";
+    }
+
+    private static String and(Long runId) {
+        return runId == null ? "" : " AND a.simulationRun.id = :runId";
+    }
+
+    private static <T> Stream<T> stream(TypedQuery<T> q, Long runId) {
+        if (runId != null) q.setParameter("runId", runId);
+        q.setHint("org.hibernate.fetchSize", FETCH_SIZE);
+        q.setHint("org.hibernate.readOnly", true);
+        return q.getResultStream();
+    }
+}
@@ -77,17 +77,6 @@ public class ApplicationLog {
     /** Default constructor for JPA. */
     public ApplicationLog() {}
 
-    /**
-     * Rounds the arrival time, removal time, and waiting time to two decimal places before persisting or updating.
-     */
-    @PrePersist
-    @PreUpdate
-    private void roundValues() {
-        arrivalTime = Math.round(arrivalTime * 100.0) / 100.0;
-        removalTime = Math.round(removalTime * 100.0) / 100.0;
-        waitingTime = Math.round(waitingTime * 100.0) / 100.0;
-    }
-
     /**
      * Returns the unique identifier for the application log entry.
      *
@@ -40,6 +40,18 @@ public class SimulationRun {
     @Column(name = "Avg_System_Time")
     private double avgSystemTime;
 
+    /** The estimated variance of the average system time, from batch means; {@code null} if the run was too short. */
+    @Column(name = "Avg_System_Time_Variance")
+    private Double avgSystemTimeVariance;
+
+    /** The average system time adjusted by the inter-arrival and service time control variates, or {@code null}. */
+    @Column(name = "Cv_Avg_System_Time")
+    private Double cvAvgSystemTime;
+
+    /** The estimated variance of the control-variate-adjusted average system time, or {@code null}. */
+    @Column(name = "Cv_Avg_System_Time_Variance")
+    private Double cvAvgSystemTimeVariance;
+
     /** A flag indicating whether the configuration for this simulation run has been saved. */
     @Column(name = "Saved_config")
     private boolean configSaved;
@@ -116,6 +128,27 @@ public class SimulationRun {
      */
     public double getAvgSystemTime() {return avgSystemTime;}
 
+    /**
+     * Returns the estimated variance of the average system time.
+     *
+     * @return the variance, or {@code null} if the run was too short for an estimate
+     */
+    public Double getAvgSystemTimeVariance() {return avgSystemTimeVariance;}
+
+    /**
+     * Returns the average system time adjusted by the control variates.
+     *
+     * @return the adjusted average system time, or {@code null} if the run was too short for an estimate
+     */
+    public Double getCvAvgSystemTime() {return cvAvgSystemTime;}
+
+    /**
+     * Returns the estimated variance of the control-variate-adjusted average system time.
+     *
+     * @return the variance, or {@code null} if the run was too short for an estimate
+     */
+    public Double getCvAvgSystemTimeVariance() {return cvAvgSystemTimeVariance;}
+
     /**
      * Returns whether the configuration for this simulation run has been saved.
      *
@@ -186,6 +219,27 @@ public class SimulationRun {
      */
     public void setAvgSystemTime(double avgSystemTime) {this.avgSystemTime = avgSystemTime;}
 
+    /**
+     * Sets the estimated variance of the average system time.
+     *
+     * @param avgSystemTimeVariance the variance, or {@code null} if unknown
+     */
+    public void setAvgSystemTimeVariance(Double avgSystemTimeVariance) {this.avgSystemTimeVariance = avgSystemTimeVariance;}
+
+    /**
+     * Sets the average system time adjusted by the control variates.
+     *
+     * @param cvAvgSystemTime the adjusted average system time, or {@code null} if unknown
+     */
+    public void setCvAvgSystemTime(Double cvAvgSystemTime) {this.cvAvgSystemTime = cvAvgSystemTime;}
+
+    /**
+     * Sets the estimated variance of the control-variate-adjusted average system time.
+     *
+     * @param cvAvgSystemTimeVariance the variance, or {@code null} if unknown
+     */
+    public void setCvAvgSystemTimeVariance(Double cvAvgSystemTimeVariance) {this.cvAvgSystemTimeVariance = cvAvgSystemTimeVariance;}
+
     /**
      * Sets whether the configuration for this simulation run has been saved.
      *
@@ -0,0 +1,54 @@
+package eduni.distributions;
+
+import java.util.Objects;
+
+/**
+ * A source of uniform random numbers that returns <code>1 - u</code> for every number
+ * <code>u</code> of the generator it wraps.
+ * <p>
+ * Set as the source of a {@link Generator}, it turns the generator's sequence into its
+ * antithetic counterpart: a run driven by the antithetic streams is negatively correlated
+ * with the run driven by the original streams, and the average of the two has a smaller
+ * variance than the average of two independent runs. The correlation is strongest for
+ * generators that sample by inversion, such as {@link TabulatedGenerator} and the
+ * {@link Distributions.Algorithm#LEGACY} negative exponential.
+ * @see Generator#setSource(ContinuousGenerator)
+ */
+public class AntitheticGenerator implements ContinuousGenerator {
+    private final ContinuousGenerator source;
+
+    /**
+     * @param source The generator of uniform numbers in <code>(0, 1)</code> to mirror
+     */
+    public AntitheticGenerator(ContinuousGenerator source) {
+	this.source = Objects.requireNonNull(source);
+    }
+
+    /** @return The generator this generator mirrors */
+    public ContinuousGenerator getSource() { return source; }
+
+    // ----- implements Seedable { -----
+    public void setSeed(long seed) { source.setSeed(seed); }
+    public long getSeed() { return source.getSeed(); }
+    public void reseed() { source.reseed(); }
+    // ----- } implements Seedable -----
+
+    /**
+     * Generate a new random number.
+     * @return One minus the next number of the source
+     */
+    public double sample() {
+	return 1.0 - source.sample();
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) {
+	source.sample(dst, off, len);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = 1.0 - dst[i];
+    }
+}
@@ -2,8 +2,23 @@ package eduni.distributions;
 
 import eduni.distributions.Seedable;
 
+import java.util.Objects;
+
 /** A continuous generator provides a long value according to the distribution it relies on.
  */
 public interface DiscreteGenerator extends Seedable {
     long sample(); 
+
+    /**
+     * Generate <code>len</code> random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * The numbers are the same as those of <code>len</code> successive calls of {@link #sample()}.
+     * @param dst The array to fill
+     * @param off The index of the first number in <code>dst</code>
+     * @param len The number of random numbers to generate
+     */
+    default void sample(long[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = sample();
+    }
 }
@@ -0,0 +1,155 @@
+package eduni.distributions;
+
+/**
+ * Cumulative distribution functions, their complements and their inverses (quantile functions) of the
+ * distributions offered by <code>DistributionConfig</code>, parameterized like the
+ * generators: <code>Normal(mean, variance)</code>, <code>Negexp(mean)</code> and
+ * <code>Gamma(scale, shape)</code>.
+ * @see TabulatedGenerator
+ */
+public final class DistributionFunctions {
+    private static final double SQRT2 = Math.sqrt(2.0);
+    private static final double SQRT2PI = Math.sqrt(2.0 * Math.PI);
+
+    /** Coefficients of Acklam's rational approximation of the standard normal quantile. */
+    private static final double[] A = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+	1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] B = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+	6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] C = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+	-2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] D = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+	3.754408661907416e+00};
+
+    private DistributionFunctions() {}
+
+    /**
+     * @return The probability that a <code>Normal(mean, variance)</code> number is at most <code>x</code>
+     */
+    public static double normalCdf(double x, double mean, double variance) {
+	return standardNormalCdf((x - mean) / Math.sqrt(variance));
+    }
+
+    /**
+     * @return The probability that a <code>Normal(mean, variance)</code> number exceeds <code>x</code>
+     */
+    public static double normalSurvival(double x, double mean, double variance) {
+	return standardNormalCdf((mean - x) / Math.sqrt(variance));
+    }
+
+    /**
+     * @param p A probability in <code>(0, 1)</code>
+     * @return The <code>p</code>-quantile of <code>Normal(mean, variance)</code>
+     */
+    public static double normalQuantile(double p, double mean, double variance) {
+	return mean + Math.sqrt(variance) * standardNormalQuantile(p);
+    }
+
+    /**
+     * @return The probability that a <code>Negexp(mean)</code> number is at most <code>x</code>
+     */
+    public static double negexpCdf(double x, double mean) {
+	return x <= 0 ? 0.0 : -Math.expm1(-x / mean);
+    }
+
+    /**
+     * @return The probability that a <code>Negexp(mean)</code> number exceeds <code>x</code>
+     */
+    public static double negexpSurvival(double x, double mean) {
+	return x <= 0 ? 1.0 : Math.exp(-x / mean);
+    }
+
+    /**
+     * @param p A probability in <code>(0, 1)</code>
+     * @return The <code>p</code>-quantile of <code>Negexp(mean)</code>
+     */
+    public static double negexpQuantile(double p, double mean) {
+	checkProbability(p);
+	return -mean * Math.log1p(-p);
+    }
+
+    /**
+     * @return The probability that a <code>Gamma(scale, shape)</code> number is at most <code>x</code>
+     */
+    public static double gammaCdf(double x, double scale, double shape) {
+	return SpecialFunctions.regularizedGammaP(shape, x / scale);
+    }
+
+    /**
+     * @return The probability that a <code>Gamma(scale, shape)</code> number exceeds <code>x</code>
+     */
+    public static double gammaSurvival(double x, double scale, double shape) {
+	return SpecialFunctions.regularizedGammaQ(shape, x / scale);
+    }
+
+    /**
+     * Inverts the gamma distribution function by safeguarded Newton iterations, started
+     * from the Wilson-Hilferty approximation.
+     * @param p A probability in <code>(0, 1)</code>
+     * @return The <code>p</code>-quantile of <code>Gamma(scale, shape)</code>
+     */
+    public static double gammaQuantile(double p, double scale, double shape) {
+	checkProbability(p);
+	double logGamma = SpecialFunctions.logGamma(shape);
+	double x;
+	if (shape >= 1) {
+	    double c = 1.0 / (9.0 * shape);
+	    double t = 1.0 - c + standardNormalQuantile(p) * Math.sqrt(c);
+	    x = shape * t * t * t;
+	}
+	else
+	    x = Math.exp((Math.log(p * shape) + logGamma) / shape);
+	if (!(x > 0))
+	    x = Math.exp((Math.log(p * shape) + logGamma) / shape);
+
+	// keep a bracket [lo, hi] of the root and bisect whenever Newton leaves it
+	double lo = 0, hi = Double.POSITIVE_INFINITY;
+	for (int i = 0; i < 200; i++) {
+	    double f = SpecialFunctions.regularizedGammaP(shape, x) - p;
+	    if (f < 0) lo = x; else hi = x;
+	    double density = Math.exp((shape - 1) * Math.log(x) - x - logGamma);
+	    double next = x - f / density;
+	    if (!(next > lo && next < hi))
+		next = hi == Double.POSITIVE_INFINITY ? 2 * x : 0.5 * (lo + hi);
+	    if (Math.abs(next - x) <= 1e-14 * x)
+		return scale * next;
+	    x = next;
+	}
+	return scale * x;
+    }
+
+    /** @return <code>&Phi;(z)</code> */
+    static double standardNormalCdf(double z) {
+	return 0.5 * SpecialFunctions.erfc(-z / SQRT2);
+    }
+
+    /**
+     * Acklam's rational approximation (relative error 1.15e-9), refined by one Halley step.
+     * @return <code>&Phi;<sup>-1</sup>(p)</code>
+     */
+    static double standardNormalQuantile(double p) {
+	checkProbability(p);
+	double x;
+	if (p < 0.02425) {
+	    double q = Math.sqrt(-2 * Math.log(p));
+	    x = (((((C[0]*q + C[1])*q + C[2])*q + C[3])*q + C[4])*q + C[5])
+		/ ((((D[0]*q + D[1])*q + D[2])*q + D[3])*q + 1);
+	} else if (p <= 1 - 0.02425) {
+	    double q = p - 0.5, r = q * q;
+	    x = (((((A[0]*r + A[1])*r + A[2])*r + A[3])*r + A[4])*r + A[5])*q
+		/ (((((B[0]*r + B[1])*r + B[2])*r + B[3])*r + B[4])*r + 1);
+	} else {
+	    double q = Math.sqrt(-2 * Math.log1p(-p));
+	    x = -(((((C[0]*q + C[1])*q + C[2])*q + C[3])*q + C[4])*q + C[5])
+		/ ((((D[0]*q + D[1])*q + D[2])*q + D[3])*q + 1);
+	}
+	double e = standardNormalCdf(x) - p;
+	double u = e * SQRT2PI * Math.exp(0.5 * x * x);
+	return x - u / (1 + 0.5 * x * u);
+    }
+
+    private static void checkProbability(double p) {
+	if (!(p > 0 && p < 1))
+	    throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+    }
+}
@@ -2,14 +2,41 @@ package eduni.distributions;
 
 import eduni.distributions.RandomGenerator;
 
+import java.util.Objects;
+
 /**
  * offers several discrete and continuous distributions all seeded by a common
  * well-spaced pseudo random number generator (PRNG).
+ * <p>
+ * Some distributions can be computed by two algorithms, see {@link Algorithm}.
  */ 
 public class Distributions {
+    /**
+     * The algorithms used for the distributions that have a faster alternative.
+     * Both produce the same distributions but different sequences of numbers from the same seed.
+     */
+    public enum Algorithm {
+	/** The original algorithms: Box-Muller normal, inversion negexp, product-of-uniforms gamma.
+	 * Reproduces runs of earlier versions, except for the generators fixed since: weibull (which
+	 * took the power of a negative logarithm), chisquare and the fdistribution and tstudent built
+	 * on it (which summed unsquared normals), and the {@link Erlang} generator (which swapped
+	 * scale and shape). */
+	LEGACY,
+	/** Ziggurat normal and negexp, which mostly avoid evaluating log, sqrt and cos,
+	 * Marsaglia-Tsang gamma (also behind erlang, chisquare and beta), whose cost does not grow with the shape,
+	 * and PTRS poisson and BTRD binomial, whose cost does not grow with the mean. */
+	FAST
+    }
+
+    /** The algorithm given to new instances. */
+    private static volatile Algorithm defaultAlgorithm = Algorithm.FAST;
+
     /** A reference to the internal random generator.
      */
     ContinuousGenerator source;
+
+    /** The algorithm of this instance. */
+    Algorithm algorithm = defaultAlgorithm;
     
     /** The seed is automatically provided by a well-spaced <code>SeedGenerator</code>
      */
@@ -21,6 +48,17 @@ public class Distributions {
      */
     public Distributions(ContinuousGenerator gen) { source = gen; }
 
+    /** Sets the algorithm of the instances created from now on, e.g. {@link Algorithm#LEGACY} to replay old runs
+     * that did not use the generators fixed since, see {@link Algorithm#LEGACY}. */
+    public static void setDefaultAlgorithm(Algorithm algorithm) { defaultAlgorithm = Objects.requireNonNull(algorithm); }
+    /** @return The algorithm given to new instances */
+    public static Algorithm getDefaultAlgorithm() { return defaultAlgorithm; }
+
+    /** Sets the algorithm of this instance. */
+    public void setAlgorithm(Algorithm algorithm) { this.algorithm = Objects.requireNonNull(algorithm); }
+    /** @return The algorithm of this instance */
+    public Algorithm getAlgorithm() { return algorithm; }
+
     // discrete distributions
     /** computes a Bernoulli's distribution
      * @return 1 iif <i>sample</i> &le; prob, 0 otherwise; <i>sample</i> is provided by the PRGN
@@ -28,9 +66,16 @@ public class Distributions {
     public long bernoulli(double prob) { return source.sample()<=prob?1:0; }
 
     /** computes a binomial distribution
-     * @return &sum;(i=0; i&lt;trials-1; bernoulli(prob))
+     * @return &sum;(i=0; i&lt;trials-1; bernoulli(prob)); with {@link Algorithm#FAST}, by inversion
+     * when trials * min(prob, 1 - prob) &lt; 10 and by BTRD otherwise
      */
     public long binomial(double prob, int trials) {
+	if (algorithm == Algorithm.FAST) {
+	    if (prob >= 1.0) return trials;
+	    double p = Math.min(prob, 1.0 - prob);
+	    long k = trials * p < 10.0 ? binomialInversion(p, trials) : btrd(p, trials);
+	    return p == prob ? k : trials - k;
+	}
 	long sum = 0l;
 	for (int i=0; i<trials; i++) sum += bernoulli(prob);
 	return sum;
@@ -40,6 +85,9 @@ public class Distributions {
      * @return &lceil; log(<i>sample</i>)/log(1-prob) &rceil;; <i>sample</i> is provided by the PRGN
      */    
     public long geometric(double prob) {
+	if (algorithm == Algorithm.FAST)
+	    // log1p keeps the precision of log(1 - prob) for small probabilities
+	    return (long)Math.ceil(Math.log(source.sample()) / Math.log1p(-prob));
 	return (long)Math.ceil(Math.log(source.sample()) / Math.log(1.0-prob));
     }
 
@@ -54,9 +102,12 @@ public class Distributions {
     }
 
     /** computes a poisson distribution
-     * @return the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean) 
+     * @return the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean);
+     * with {@link Algorithm#FAST}, by PTRS when mean &ge; 10
      */
     public long poisson(double mean) {
+	if (algorithm == Algorithm.FAST && mean >= 10.0)
+	    return ptrs(mean);
 	long x = -1L;
 	double m = Math.exp(-mean), product=1;
 	do {
@@ -66,6 +117,111 @@ public class Distributions {
 	return x;
     }
     
+    /**
+     * Hörmann's (1993) PTRS: transformed rejection with squeeze for the Poisson distribution,
+     * about 1.15 attempts per number for any mean &ge; 10.
+     */
+    private long ptrs(double mean) {
+	double smu = Math.sqrt(mean), logMean = Math.log(mean);
+	double b = 0.931 + 2.53 * smu;
+	double a = -0.059 + 0.02483 * b;
+	double invAlpha = 1.1239 + 1.1328 / (b - 3.4);
+	double vr = 0.9277 - 3.6224 / (b - 2);
+	for (;;) {
+	    double u = source.sample() - 0.5, v = source.sample();
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long)Math.floor((2 * a / us + b) * u + mean + 0.43);
+	    if (us >= 0.07 && v <= vr)
+		return k;
+	    if (k < 0 || (us < 0.013 && v > us))
+		continue;
+	    if (Math.log(v) + Math.log(invAlpha) - Math.log(a / (us * us) + b)
+		    <= -mean + k * logMean - SpecialFunctions.logFactorial(k))
+		return k;
+	}
+    }
+
+    /** Sequential search inversion of the binomial distribution, in O(trials * p) for p &le; 0.5. */
+    private long binomialInversion(double p, int trials) {
+	double q = 1.0 - p, s = p / q, a = (trials + 1) * s;
+	double f = Math.pow(q, trials), u = source.sample();
+	long k = 0;
+	while (u > f) {
+	    u -= f;
+	    k++;
+	    if (k > trials) {
+		// rounding left u above the total mass: restart
+		k = 0;
+		f = Math.pow(q, trials);
+		u = source.sample();
+		continue;
+	    }
+	    f *= a / k - s;
+	}
+	return k;
+    }
+
+    /**
+     * Hörmann's (1993) BTRD: transformed rejection with decomposition for the binomial
+     * distribution with p &le; 0.5 and trials * p &ge; 10, in O(1) expected time.
+     */
+    private long btrd(double p, int n) {
+	double q = 1.0 - p, npq = n * p * q, spq = Math.sqrt(npq);
+	double b = 1.15 + 2.53 * spq;
+	double a = -0.0873 + 0.0248 * b + 0.01 * p;
+	double c = n * p + 0.5;
+	double alpha = (2.83 + 5.1 / b) * spq;
+	double vr = 0.92 - 4.2 / b;
+	double urvr = 0.86 * vr;
+	long m = (long)Math.floor((n + 1) * p);
+	double r = p / q, nr = (n + 1) * r;
+	for (;;) {
+	    double u, v = source.sample();
+	    if (v <= urvr) {
+		u = v / vr - 0.43;
+		return (long)Math.floor((2 * a / (0.5 - Math.abs(u)) + b) * u + c);
+	    }
+	    if (v >= vr) {
+		u = source.sample() - 0.5;
+	    } else {
+		u = v / vr - 0.93;
+		u = Math.signum(u) * 0.5 - u;
+		v = source.sample() * vr;
+	    }
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long)Math.floor((2 * a / us + b) * u + c);
+	    if (k < 0 || k > n)
+		continue;
+	    v = v * alpha / (a / (us * us) + b);
+	    long km = Math.abs(k - m);
+	    if (km <= 15) {
+		// evaluate f(k) / f(m) recursively
+		double f = 1.0;
+		if (m < k)
+		    for (long i = m + 1; i <= k; i++) f *= nr / i - r;
+		else
+		    for (long i = k + 1; i <= m; i++) v *= nr / i - r;
+		if (v <= f)
+		    return k;
+		continue;
+	    }
+	    // squeeze on log(v) with a normal approximation, then the exact test
+	    v = Math.log(v);
+	    double rho = (km / npq) * (((km / 3.0 + 0.625) * km + 1.0 / 6) / npq + 0.5);
+	    double t = -km * km / (2 * npq);
+	    if (v < t - rho)
+		return k;
+	    if (v > t + rho)
+		continue;
+	    double nm = n - m + 1, nk = n - k + 1;
+	    double h = (m + 0.5) * Math.log((m + 1) / (r * nm))
+		+ SpecialFunctions.stirlingCorrection(m) + SpecialFunctions.stirlingCorrection(n - m);
+	    if (v <= h + (n + 1) * Math.log(nm / nk) + (k + 0.5) * Math.log(nk * r / (k + 1))
+		    - SpecialFunctions.stirlingCorrection(k) - SpecialFunctions.stirlingCorrection(n - k))
+		return k;
+	}
+    }
+
     // continuous distributions
     private double power(double a) {
 	return Math.pow(source.sample(), 1.0/a);
@@ -75,6 +231,11 @@ public class Distributions {
      * and Berman's method (1970) otherwise
      */
     public double beta(double shape_a, double shape_b) {
+	if (algorithm == Algorithm.FAST) {
+	    // X / (X + Y) for independent X ~ gamma(1, a) and Y ~ gamma(1, b)
+	    double x = standardGamma(shape_a), y = standardGamma(shape_b);
+	    return x / (x + y);
+	}
 	if (shape_a == 1.0)
 	    return 1.0-power(shape_b);
 	if (shape_b == 1.0)
@@ -127,20 +288,27 @@ public class Distributions {
     }
 
     /** computes a chisquare distribution
-     * @return &sum;(i=0; i&lt;deg_freedom; normal(0,1))
+     * @return &sum;(i=0; i&lt;deg_freedom; normal(0,1)<sup>2</sup>); with {@link Algorithm#FAST}, gamma(2, deg_freedom/2)
      */
     public double chisquare(long deg_freedom) {
+	if (algorithm == Algorithm.FAST)
+	    return 2.0 * standardGamma(deg_freedom / 2.0);
 	// use normal2 because sqrt(1)=1
 	double result = 0.0;
-	for (long i=0L; i < deg_freedom; i++)
-	    result += normal2(0.0, 1.0);
+	for (long i=0L; i < deg_freedom; i++) {
+	    double z = normal2(0.0, 1.0);
+	    result += z * z;
+	}
 	return result;
     }
     
     /** computes an Erlang's distribution
-     * @return -scale * log ( &prod;(i=0; i&lt;shape; <i>sample</i>) ); <i>sample</i> is provided by the PRGN
+     * @return -scale * log ( &prod;(i=0; i&lt;shape; <i>sample</i>) ); <i>sample</i> is provided by the PRGN;
+     * with {@link Algorithm#FAST}, gamma(scale, &lceil;shape&rceil;)
      */
     public double erlang(double scale, double shape) {
+	if (algorithm == Algorithm.FAST)
+	    return shape > 0 ? scale * standardGamma(Math.ceil(shape)) : 0.0;
 	double product = 1.0;
 	for (int i=0; i<shape; i++)
 	    product *= source.sample();
@@ -155,9 +323,11 @@ public class Distributions {
 	    / (chisquare(den_deg_freedom)/den_deg_freedom);
     }
 
-    /** computes a gamma distribution
+    /** computes a gamma distribution; with {@link Algorithm#FAST}, by Marsaglia and Tsang's method
      */
     public double gamma(double scale, double shape) {
+	if (algorithm == Algorithm.FAST)
+	    return scale * standardGamma(shape);
 	if (shape == Math.floor(shape)) {
 	    // The shape is an integer
 	    double product = 1.0;
@@ -175,6 +345,31 @@ public class Distributions {
 	return gamma(scale, floor) + gamma(scale, shape-floor);
     }
     
+    /**
+     * Marsaglia and Tsang's (2000) sampler of gamma(1, shape): a squeezed rejection of
+     * <code>d * (1 + c * normal)<sup>3</sup></code>, accepting over 95% of the attempts for any shape.
+     * Shapes below 1 are boosted: gamma(1, shape + 1) * <i>sample</i><sup>1/shape</sup>.
+     */
+    private double standardGamma(double shape) {
+	if (shape < 1.0)
+	    return standardGamma(shape + 1.0) * Math.pow(source.sample(), 1.0 / shape);
+	double d = shape - 1.0 / 3.0, c = 1.0 / Math.sqrt(9.0 * d);
+	for (;;) {
+	    double x, v;
+	    do {
+		x = Ziggurat.normal(source);
+		v = 1.0 + c * x;
+	    } while (v <= 0.0);
+	    v = v * v * v;
+	    double u = source.sample();
+	    double x2 = x * x;
+	    if (u < 1.0 - 0.0331 * x2 * x2)
+		return d * v;
+	    if (Math.log(u) < 0.5 * x2 + d * (1.0 - v + Math.log(v)))
+		return d * v;
+	}
+    }
+
     /** computes an invgamma distribution
      * @return 1.0/gamma(scale, shape)
      */
@@ -206,9 +401,12 @@ public class Distributions {
     }
 
     /** computes a negexp distribution
-     * @return -mean * log (<i>sample</i>);  where <i>sample</i> is provided by the PRGN
+     * @return -mean * log (<i>sample</i>);  where <i>sample</i> is provided by the PRGN;
+     * with {@link Algorithm#FAST}, mean times a Ziggurat exponential
      */
     public double negexp(double mean) {
+	if (algorithm == Algorithm.FAST)
+	    return mean * Ziggurat.exponential(source);
 	return -mean * Math.log(source.sample());
     }
     
@@ -221,9 +419,12 @@ public class Distributions {
 
     /** computes a normal distribution; <i>sample</i> are provided by the same PRGN
      * @param std_dev is assumed to be the square root of the variance.
-     * @return mean + std_dev * cos (2&Pi; * <i>sample</i>) * &radic;(-2 * log (<i>sample</i>))
+     * @return mean + std_dev * cos (2&Pi; * <i>sample</i>) * &radic;(-2 * log (<i>sample</i>));
+     * with {@link Algorithm#FAST}, mean + std_dev * a Ziggurat normal
      */
     public double normal2(double mean, double std_dev) {
+	if (algorithm == Algorithm.FAST)
+	    return mean + std_dev * Ziggurat.normal(source);
 	double u1 = source.sample(), u2 = source.sample();
 	return mean + std_dev * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
     }
@@ -251,10 +452,108 @@ public class Distributions {
     }
 
     /** computes a weibull distribution; <i>sample</i> is provided by the PRGN
-     * @return scale * (<i>sample</i> ^ (1/shape))
+     * @return scale * ((-log <i>sample</i>) ^ (1/shape))
      */
     public double weibull(double scale, double shape) {
-	return scale * Math.pow(Math.log(source.sample()), 1/shape);
+	return scale * Math.pow(-Math.log(source.sample()), 1/shape);
+    }
+
+    // bulk versions: each fills dst[off..off+len) with the same numbers, in the same order,
+    // as len successive calls of the scalar method with the same parameters; the Ziggurat
+    // samplers draw a varying number of samples, so they cannot fill the range with uniforms first
+
+    /** fills an array with erlang(scale, shape) numbers */
+    public void erlang(double scale, double shape, double[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	if (algorithm == Algorithm.FAST) {
+	    for (int i = off, end = off + len; i < end; i++)
+		dst[i] = erlang(scale, shape);
+	    return;
+	}
+	ContinuousGenerator src = source;
+	for (int i = off, end = off + len; i < end; i++) {
+	    double product = 1.0;
+	    for (int k=0; k<shape; k++)
+		product *= src.sample();
+	    dst[i] = -scale * Math.log(product);
+	}
+    }
+
+    /** fills an array with gamma(scale, shape) numbers */
+    public void gamma(double scale, double shape, double[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	if (algorithm == Algorithm.FAST || shape != Math.floor(shape)) {
+	    for (int i = off, end = off + len; i < end; i++)
+		dst[i] = gamma(scale, shape);
+	    return;
+	}
+	ContinuousGenerator src = source;
+	for (int i = off, end = off + len; i < end; i++) {
+	    double product = 1.0;
+	    for (long k=0L; k < shape; k++)
+		product *= src.sample();
+	    dst[i] = -scale*Math.log(product);
+	}
+    }
+
+    /** fills an array with lognormal2(mean, std_dev) numbers */
+    public void lognormal2(double mean, double std_dev, double[] dst, int off, int len) {
+	normal2(0.0, 1.0, dst, off, len);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = Math.exp(mean+std_dev*dst[i]);
+    }
+
+    /** fills an array with negexp(mean) numbers */
+    public void negexp(double mean, double[] dst, int off, int len) {
+	if (algorithm == Algorithm.FAST) {
+	    Objects.checkFromIndexSize(off, len, dst.length);
+	    ContinuousGenerator src = source;
+	    for (int i = off, end = off + len; i < end; i++)
+		dst[i] = mean * Ziggurat.exponential(src);
+	    return;
+	}
+	source.sample(dst, off, len);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = -mean * Math.log(dst[i]);
+    }
+
+    /** fills an array with normal2(mean, std_dev) numbers */
+    public void normal2(double mean, double std_dev, double[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	if (algorithm == Algorithm.FAST) {
+	    ContinuousGenerator src = source;
+	    for (int i = off, end = off + len; i < end; i++)
+		dst[i] = mean + std_dev * Ziggurat.normal(src);
+	    return;
+	}
+	// every number takes two samples: fill the range with samples, turn the pairs
+	// into numbers in its first half and repeat on the rest of the range
+	while (len > 1) {
+	    int half = len / 2;
+	    source.sample(dst, off, 2 * half);
+	    for (int j = 0; j < half; j++) {
+		double u1 = dst[off + 2 * j], u2 = dst[off + 2 * j + 1];
+		dst[off + j] = mean + std_dev * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
+	    }
+	    off += half;
+	    len -= half;
+	}
+	if (len == 1)
+	    dst[off] = normal2(mean, std_dev);
+    }
+
+    /** fills an array with uniform(min, max) numbers */
+    public void uniform(double min, double max, double[] dst, int off, int len) {
+	source.sample(dst, off, len);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = (max-min) * dst[i] + min;
+    }
+
+    /** fills an array with weibull(scale, shape) numbers */
+    public void weibull(double scale, double shape, double[] dst, int off, int len) {
+	source.sample(dst, off, len);
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = scale * Math.pow(-Math.log(dst[i]), 1/shape);
     }
 }
 
@@ -0,0 +1,208 @@
+package eduni.distributions;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A random number generator that samples the empirical distribution of observed data.
+ * <p>
+ * The observations are counted in a histogram of equal-width bins; the generator samples the
+ * piecewise-linear distribution function through the bin edges, i.e. it picks a bin with
+ * probability proportional to its count and a point uniformly inside it. The bin is picked in
+ * constant time by Walker's alias method (in Vose's construction), so a sample costs one
+ * uniform number regardless of the number of bins.
+ * <p>
+ * A {@link Histogram} only keeps the counts, so the data can be streamed into it from any
+ * source, e.g. a database query, without holding the observations in memory. Its
+ * {@link Table} is immutable and can be shared by any number of generators.
+ */
+public class EmpiricalGenerator extends Generator implements ContinuousGenerator {
+    /** The largest number of bins chosen by {@link #binsFor(long)}. */
+    public static final int MAX_BINS = 1024;
+
+    /**
+     * @param count The number of observations
+     * @return The square root rule <code>ceil(sqrt(count))</code>, between 1 and {@value #MAX_BINS}
+     */
+    public static int binsFor(long count) {
+	return (int) Math.max(1, Math.min(MAX_BINS, (long) Math.ceil(Math.sqrt(count))));
+    }
+
+    /**
+     * Counts observations in equal-width bins over a known range.
+     */
+    public static final class Histogram implements DoubleConsumer {
+	private final double min, max, width;
+	private final long[] counts;
+	private long count;
+
+	/**
+	 * @param min The smallest observation
+	 * @param max The largest observation
+	 * @param bins The number of bins, at least 1
+	 */
+	public Histogram(double min, double max, int bins) {
+	    if (bins < 1)
+		throw new ParameterException("EmpiricalGenerator: The histogram needs at least one bin.");
+	    if (!(min <= max) || Double.isInfinite(min) || Double.isInfinite(max))
+		throw new ParameterException("EmpiricalGenerator: The range of the observations must be finite.");
+	    this.min = min;
+	    this.max = max;
+	    this.width = (max - min) / bins;
+	    this.counts = new long[bins];
+	}
+
+	/**
+	 * Count an observation.
+	 * @param x An observation in <code>[min, max]</code>
+	 */
+	@Override
+	public void accept(double x) {
+	    if (!(x >= min && x <= max))
+		throw new ParameterException("EmpiricalGenerator: Observation " + x + " is outside [" + min + ", " + max + "].");
+	    int i = width == 0 ? 0 : (int) ((x - min) / width);
+	    counts[Math.min(i, counts.length - 1)]++;
+	    count++;
+	}
+
+	/** @return The number of observations counted */
+	public long getCount() { return count; }
+
+	/** @return The alias table of the counted observations */
+	public Table toTable() {
+	    if (count == 0)
+		throw new ParameterException("EmpiricalGenerator: The histogram has no observations.");
+	    return new Table(min, width, counts, count);
+	}
+    }
+
+    /**
+     * An immutable alias table of a histogram.
+     */
+    public static final class Table {
+	private final double min, width, mean;
+	/** Probability of staying in the column's own bin, and the bin aliased otherwise. */
+	private final double[] probability;
+	private final int[] alias;
+
+	private Table(double min, double width, long[] counts, long total) {
+	    int n = counts.length;
+	    this.min = min;
+	    this.width = width;
+	    probability = new double[n];
+	    alias = new int[n];
+
+	    // Vose: split the scaled probabilities into columns below and above 1
+	    double[] scaled = new double[n];
+	    int[] small = new int[n], large = new int[n];
+	    int s = 0, l = 0;
+	    double sum = 0;
+	    for (int i = 0; i < n; i++) {
+		scaled[i] = (double) counts[i] * n / total;
+		sum += counts[i] * (min + (i + 0.5) * width);
+		if (scaled[i] < 1) small[s++] = i; else large[l++] = i;
+	    }
+	    mean = sum / total;
+	    while (s > 0 && l > 0) {
+		int less = small[--s], more = large[--l];
+		probability[less] = scaled[less];
+		alias[less] = more;
+		scaled[more] = scaled[more] + scaled[less] - 1;
+		if (scaled[more] < 1) small[s++] = more; else large[l++] = more;
+	    }
+	    // what is left is 1 up to rounding
+	    while (l > 0) { int i = large[--l]; probability[i] = 1; alias[i] = i; }
+	    while (s > 0) { int i = small[--s]; probability[i] = 1; alias[i] = i; }
+	}
+
+	/** @return The number of bins */
+	public int getBins() { return probability.length; }
+
+	/** @return The mean of the empirical distribution */
+	public double getMean() { return mean; }
+
+	/**
+	 * Maps one uniform number to a sample: its integer part picks the column, its fraction
+	 * decides between the column's bin and its alias and then gives the position in the bin.
+	 */
+	double sample(double u) {
+	    int n = probability.length;
+	    double x = u * n;
+	    int i = Math.min((int) x, n - 1);
+	    double f = x - i, p = probability[i];
+	    if (f < p)
+		return min + (i + f / p) * width;
+	    return min + (alias[i] + (f - p) / (1 - p)) * width;
+	}
+    }
+
+    private final Table table;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param table The alias table of the observations
+     */
+    public EmpiricalGenerator(Table table) {
+	super();
+	this.table = Objects.requireNonNull(table);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param table The alias table of the observations
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public EmpiricalGenerator(Table table, long seed) {
+	super(seed);
+	this.table = Objects.requireNonNull(table);
+    }
+
+    /**
+     * Build the empirical distribution of observations held in memory, with
+     * {@link #binsFor(long)} bins.
+     * @param observations The observations, at least one
+     * @param seed The initial seed for the generator
+     */
+    public EmpiricalGenerator(double[] observations, long seed) {
+	this(tableOf(observations), seed);
+    }
+
+    private static Table tableOf(double[] observations) {
+	if (observations.length == 0)
+	    throw new ParameterException("EmpiricalGenerator: There are no observations.");
+	double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+	for (double x : observations) {
+	    min = Math.min(min, x);
+	    max = Math.max(max, x);
+	}
+	Histogram histogram = new Histogram(min, max, binsFor(observations.length));
+	for (double x : observations)
+	    histogram.accept(x);
+	return histogram.toTable();
+    }
+
+    /** @return The alias table, to share with other generators */
+    public Table getTable() { return table; }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+	return table.sample(distrib.source.sample());
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) {
+	distrib.source.sample(dst, off, len);
+	Table t = table;
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = t.sample(dst[i]);
+    }
+}
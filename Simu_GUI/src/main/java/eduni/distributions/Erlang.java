@@ -43,5 +43,12 @@ public class Erlang extends Generator implements ContinuousGenerator {
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { return distrib.erlang(shape, scale); }
+    public double sample() { return distrib.erlang(scale, shape); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) { distrib.erlang(scale, shape, dst, off, len); }
 }
@@ -44,4 +44,11 @@ public class Gamma extends Generator implements ContinuousGenerator {
      * @return The next random number in the sequence
      */
     public double sample() { return distrib.gamma(scale, shape); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) { distrib.gamma(scale, shape, dst, off, len); }
 }
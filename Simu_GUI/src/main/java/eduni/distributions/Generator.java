@@ -13,4 +13,27 @@ public abstract class Generator implements Seedable {
     public long getSeed() { return distrib.source.getSeed(); }
     public void reseed() { distrib.source.reseed(); }
     // ----- } implements Seedable -----
+
+    /**
+     * Replace the random number generator this generator transforms, e.g. with a
+     * substream of an {@link MRG32k3a} stream. The <code>Seedable</code> methods then act
+     * on the new source.
+     * @param source The new source of uniform random numbers in <code>(0, 1)</code>
+     */
+    public void setSource(ContinuousGenerator source) {
+	if (source == null) throw new NullPointerException("source");
+	distrib.source = source;
+    }
+
+    /** @return The source of uniform random numbers of this generator */
+    public ContinuousGenerator getSource() { return distrib.source; }
+
+    /**
+     * Select the algorithm of the distributions that have a faster alternative.
+     * @param algorithm {@link Distributions.Algorithm#LEGACY} to reproduce runs of earlier versions
+     */
+    public void setAlgorithm(Distributions.Algorithm algorithm) { distrib.setAlgorithm(algorithm); }
+
+    /** @return The algorithm of this generator */
+    public Distributions.Algorithm getAlgorithm() { return distrib.getAlgorithm(); }
 }
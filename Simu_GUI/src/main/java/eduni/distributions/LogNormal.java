@@ -35,4 +35,11 @@ public class LogNormal extends Normal {
      * @return The next random number in the sequence
      */
     public double sample() { return distrib.lognormal2(mean, std_dev); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) { distrib.lognormal2(mean, std_dev, dst, off, len); }
 }
@@ -0,0 +1,225 @@
+package eduni.distributions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A random number generator based on L'Ecuyer's combined multiple recursive generator
+ * MRG32k3a, with streams and substreams as in his <i>RngStreams</i> package.
+ * <p>
+ * The generator combines two recursions of order 3:
+ * <p>
+ * <code>x[n] = (1403580 * x[n-2] - 810728 * x[n-3]) mod 4294967087</code><br>
+ * <code>y[n] = (527612 * y[n-1] - 1370589 * y[n-3]) mod 4294944443</code>
+ * <p>
+ * Its period is about 2<sup>191</sup>. The cycle is cut into streams of 2<sup>127</sup> numbers
+ * (handed out by a {@link RandomStreamFactory}), each cut into substreams of 2<sup>76</sup> numbers.
+ * Jumping to a stream or substream multiplies the state by a precomputed power of the
+ * transition matrices, so it takes constant time.
+ * <p>
+ * An instance is not thread-safe, but it shares no mutable state with any other instance:
+ * give every thread (e.g. every replication) its own stream, and every random component
+ * of the model its own substream. The <code>Seedable</code> "seed" of an instance is the index
+ * of its current substream within its stream.
+ * @see RandomStreamFactory
+ */
+public class MRG32k3a implements ContinuousGenerator {
+    static final long M1 = 4294967087L;
+    static final long M2 = 4294944443L;
+    private static final long A12 = 1403580L;
+    private static final long A13N = 810728L;
+    private static final long A21 = 527612L;
+    private static final long A23N = 1370589L;
+    private static final double NORM = 2.328306549295727688e-10; // 1 / (M1 + 1)
+
+    /** One step of each recursion as a matrix acting on the state (s0, s1, s2). */
+    static final long[][] A1 = {{0, 1, 0}, {0, 0, 1}, {M1 - A13N, A12, 0}};
+    static final long[][] A2 = {{0, 1, 0}, {0, 0, 1}, {M2 - A23N, 0, A21}};
+
+    /** A1 and A2 to the power 2^76: jumps to the next substream. */
+    static final long[][] A1P76 = {
+	{82758667L, 1871391091L, 4127413238L},
+	{3672831523L, 69195019L, 1871391091L},
+	{3672091415L, 3528743235L, 69195019L}};
+    static final long[][] A2P76 = {
+	{1511326704L, 3759209742L, 1610795712L},
+	{4292754251L, 1511326704L, 3889917532L},
+	{3859662829L, 4292754251L, 3708466080L}};
+
+    /** A1 and A2 to the power 2^127: jumps to the next stream. */
+    static final long[][] A1P127 = {
+	{2427906178L, 3580155704L, 949770784L},
+	{226153695L, 1230515664L, 3580155704L},
+	{1988835001L, 986791581L, 1230515664L}};
+    static final long[][] A2P127 = {
+	{1464411153L, 277697599L, 1610723613L},
+	{32183930L, 1464411153L, 1022607788L},
+	{2824425944L, 32183930L, 2093834863L}};
+
+    /** Start of the stream. */
+    private final long[] streamStart;
+    /** Start of the current substream. */
+    private final long[] substreamStart = new long[6];
+    /** Current state. */
+    private final long[] state = new long[6];
+    /** Index of the current substream. */
+    private long substream;
+
+    /**
+     * Creates the generator of a stream.
+     * @param streamStart The six seeds of the stream: the first three in <code>[0, 4294967087)</code>
+     *                    and the last three in <code>[0, 4294944443)</code>, neither triple all zero
+     */
+    MRG32k3a(long[] streamStart) {
+	this.streamStart = streamStart.clone();
+	setSeed(0);
+    }
+
+    // ----- implements ContinuousGenerator { -----
+    /**
+     * Generate a new random number.
+     * @return The next random number in <code>(0, 1)</code>
+     */
+    public double sample() {
+	long[] s = state;
+	long p1 = (A12 * s[1] - A13N * s[0]) % M1;
+	if (p1 < 0) p1 += M1;
+	s[0] = s[1]; s[1] = s[2]; s[2] = p1;
+	long p2 = (A21 * s[5] - A23N * s[3]) % M2;
+	if (p2 < 0) p2 += M2;
+	s[3] = s[4]; s[4] = s[5]; s[5] = p2;
+	return (p1 > p2 ? p1 - p2 : p1 - p2 + M1) * NORM;
+    }
+
+    /**
+     * Generate <code>len</code> random numbers into <code>dst</code>, starting at index <code>off</code>,
+     * with the state kept in local variables.
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	long[] s = state;
+	long s0 = s[0], s1 = s[1], s2 = s[2], s3 = s[3], s4 = s[4], s5 = s[5];
+	for (int i = off, end = off + len; i < end; i++) {
+	    long p1 = (A12 * s1 - A13N * s0) % M1;
+	    if (p1 < 0) p1 += M1;
+	    s0 = s1; s1 = s2; s2 = p1;
+	    long p2 = (A21 * s5 - A23N * s3) % M2;
+	    if (p2 < 0) p2 += M2;
+	    s3 = s4; s4 = s5; s5 = p2;
+	    dst[i] = (p1 > p2 ? p1 - p2 : p1 - p2 + M1) * NORM;
+	}
+	s[0] = s0; s[1] = s1; s[2] = s2; s[3] = s3; s[4] = s4; s[5] = s5;
+    }
+    // ----- } implements ContinuousGenerator -----
+
+    // ----- implements Seedable { -----
+    /**
+     * Restart the generator at the start of a substream of its stream.
+     * @param seed The index of the substream, at least 0
+     */
+    public void setSeed(long seed) {
+	if (seed < 0)
+	    throw new IllegalArgumentException("MRG32k3a: the substream index must not be negative.");
+	jump(streamStart, A1P76, A2P76, seed, substreamStart);
+	System.arraycopy(substreamStart, 0, state, 0, 6);
+	substream = seed;
+    }
+
+    /** @return The index of the current substream */
+    public long getSeed() { return substream; }
+
+    /** Restart the generator at the start of the next substream. */
+    public void reseed() {
+	jump(substreamStart, A1P76, A2P76, 1, substreamStart);
+	System.arraycopy(substreamStart, 0, state, 0, 6);
+	substream++;
+    }
+    // ----- } implements Seedable -----
+
+    /** Restart the generator at the start of its current substream. */
+    public void resetStartSubstream() {
+	System.arraycopy(substreamStart, 0, state, 0, 6);
+    }
+
+    /**
+     * Create a new generator for a substream of this generator's stream, independent
+     * of this generator's state.
+     * @param index The index of the substream, at least 0
+     * @return A generator positioned at the start of the substream
+     */
+    public MRG32k3a substream(long index) {
+	MRG32k3a generator = new MRG32k3a(streamStart);
+	generator.setSeed(index);
+	return generator;
+    }
+
+    /**
+     * Wrap this generator into a <code>java.util.Random</code>, e.g. for model decisions
+     * made with <code>nextDouble()</code>. The wrapper draws its bits from this generator.
+     * @return A <code>Random</code> backed by this generator
+     */
+    public Random asRandom() {
+	return new Random() {
+	    @Override
+	    protected int next(int bits) {
+		return (int) ((long) (sample() * 4294967296.0) >>> (32 - bits));
+	    }
+	};
+    }
+
+    /** @return A copy of the current six-component state */
+    public long[] getState() { return state.clone(); }
+
+    /**
+     * Jump <code>times</code> times by the step matrices <code>a1</code>, <code>a2</code>, from
+     * <code>from</code> into <code>to</code> (which may be the same array).
+     */
+    static void jump(long[] from, long[][] a1, long[][] a2, long times, long[] to) {
+	long[] x = matVec(power(a1, times, M1), Arrays.copyOfRange(from, 0, 3), M1);
+	long[] y = matVec(power(a2, times, M2), Arrays.copyOfRange(from, 3, 6), M2);
+	System.arraycopy(x, 0, to, 0, 3);
+	System.arraycopy(y, 0, to, 3, 3);
+    }
+
+    /** @return <code>a<sup>e</sup> mod m</code> by square and multiply */
+    static long[][] power(long[][] a, long e, long m) {
+	long[][] result = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+	long[][] p = a;
+	for (; e > 0; e >>= 1) {
+	    if ((e & 1) != 0) result = multiply(result, p, m);
+	    p = multiply(p, p, m);
+	}
+	return result;
+    }
+
+    /** @return <code>a * b mod m</code> for 3x3 matrices with entries in <code>[0, m)</code> */
+    static long[][] multiply(long[][] a, long[][] b, long m) {
+	long[][] c = new long[3][3];
+	for (int i = 0; i < 3; i++)
+	    for (int j = 0; j < 3; j++) {
+		long sum = 0;
+		for (int k = 0; k < 3; k++)
+		    sum = (sum + mulMod(a[i][k], b[k][j], m)) % m;
+		c[i][j] = sum;
+	    }
+	return c;
+    }
+
+    private static long[] matVec(long[][] a, long[] v, long m) {
+	long[] r = new long[3];
+	for (int i = 0; i < 3; i++) {
+	    long sum = 0;
+	    for (int k = 0; k < 3; k++)
+		sum = (sum + mulMod(a[i][k], v[k], m)) % m;
+	    r[i] = sum;
+	}
+	return r;
+    }
+
+    /** Both factors are below 2<sup>32</sup>, so their product fits in 64 unsigned bits. */
+    private static long mulMod(long a, long b, long m) {
+	return Long.remainderUnsigned(a * b, m);
+    }
+}
@@ -40,4 +40,13 @@ public class Negexp extends Generator implements ContinuousGenerator {
     public double sample() { 
          return distrib.negexp(mean);
     }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) { 
+         distrib.negexp(mean, dst, off, len);
+    }
 }
@@ -1,5 +1,7 @@
 package eduni.distributions;
 
+import java.util.Objects;
+
 /**
  * A random number generator producing pseudorandom numbers based
  * on the value of a specific seed. The generator is a multiplicative
@@ -30,6 +32,21 @@ public class RandomGenerator implements ContinuousGenerator {
     public double sample() { 
 	return ((double)nextLong()) / m;
     }
+
+    /**
+     * Generate <code>len</code> random numbers into <code>dst</code>, starting at index <code>off</code>,
+     * with the state of the generator kept in a local variable.
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) {
+	Objects.checkFromIndexSize(off, len, dst.length);
+	long s = seed;
+	for (int i = off, end = off + len; i < end; i++) {
+	    s = (a * s) % m;
+	    dst[i] = ((double)s) / m;
+	}
+	seed = s;
+    }
     // ----- } implements ContinuousGenerator -----
 
     /**
@@ -38,6 +55,25 @@ public class RandomGenerator implements ContinuousGenerator {
     public long nextLong() {
 	return seed = (a * seed) % m;
     }
+
+    /**
+     * Advances the generator by <code>n</code> numbers in <code>O(log n)</code> steps, leaving it in
+     * the same state as <code>n</code> calls of {@link #nextLong()}. Because
+     * <code>Y[n] = (a<sup>n</sup> mod m) * Y[0] mod m</code>, the jump multiplier is computed
+     * by modular exponentiation (square and multiply).
+     * @param n The number of random numbers to skip, at least 0
+     */
+    public void skip(long n) {
+	if (n < 0)
+	    throw new IllegalArgumentException("RandomGenerator: cannot skip a negative count.");
+	long multiplier = 1, power = a;
+	// both factors are below 2^31, so their products fit in a long
+	for (; n > 0; n >>= 1) {
+	    if ((n & 1) != 0) multiplier = (multiplier * power) % m;
+	    power = (power * power) % m;
+	}
+	seed = (multiplier * seed) % m;
+    }
     
     // ----- implements Seedable { -----
     public void setSeed(long seed) { this.seed = seed; }
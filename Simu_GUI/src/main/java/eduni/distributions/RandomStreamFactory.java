@@ -0,0 +1,84 @@
+package eduni.distributions;
+
+/**
+ * Hands out independent {@link MRG32k3a} streams, each 2<sup>127</sup> numbers long.
+ * <p>
+ * Stream <code>i</code> starts <code>i * 2<sup>127</sup></code> numbers after the factory's seed.
+ * The factory is immutable: streams are addressed by index rather than drawn from a shared
+ * counter, so any number of threads can create their streams concurrently and a given
+ * index always yields the same stream. The usual layout is one stream per replication and
+ * one substream (see {@link MRG32k3a#substream(long)}) per random component of the model.
+ * <p>
+ * Any <code>Generator</code> can draw its numbers from a stream:
+ * <pre>
+ *   MRG32k3a stream = new RandomStreamFactory(42).getStream(replication);
+ *   Negexp arrivals = new Negexp(5, 1);
+ *   arrivals.setSource(stream.substream(0));
+ * </pre>
+ */
+public final class RandomStreamFactory {
+    /** The seed of RngStreams' default package seed. */
+    private static final long DEFAULT_SEED = 12345L;
+
+    private final long[] seed;
+
+    /** Creates a factory with the default seed <code>12345</code> for all six components. */
+    public RandomStreamFactory() {
+	this(new long[] {DEFAULT_SEED, DEFAULT_SEED, DEFAULT_SEED, DEFAULT_SEED, DEFAULT_SEED, DEFAULT_SEED});
+    }
+
+    /**
+     * Creates a factory whose six-component seed is derived from a single number.
+     * Distinct numbers give distinct seeds, but their streams are not guaranteed to be disjoint:
+     * for disjoint streams use distinct stream indexes of one factory.
+     * @param seed Any number
+     */
+    public RandomStreamFactory(long seed) {
+	this(spread(seed));
+    }
+
+    /**
+     * Creates a factory with an explicit six-component seed.
+     * @param seed The first three components in <code>[0, 4294967087)</code> and the last three in
+     *             <code>[0, 4294944443)</code>, neither triple all zero
+     */
+    public RandomStreamFactory(long[] seed) {
+	if (seed.length != 6)
+	    throw new ParameterException("RandomStreamFactory: The seed must have 6 components.");
+	for (int i = 0; i < 6; i++)
+	    if (seed[i] < 0 || seed[i] >= (i < 3 ? MRG32k3a.M1 : MRG32k3a.M2))
+		throw new ParameterException("RandomStreamFactory: Seed component " + i + " is out of range.");
+	if ((seed[0] | seed[1] | seed[2]) == 0 || (seed[3] | seed[4] | seed[5]) == 0)
+	    throw new ParameterException("RandomStreamFactory: A seed triple must not be all zero.");
+	this.seed = seed.clone();
+    }
+
+    /**
+     * Returns a new generator positioned at the start of a stream.
+     * @param index The index of the stream, at least 0
+     * @return The generator of the stream, at substream 0
+     */
+    public MRG32k3a getStream(long index) {
+	if (index < 0)
+	    throw new IllegalArgumentException("RandomStreamFactory: the stream index must not be negative.");
+	long[] start = new long[6];
+	MRG32k3a.jump(seed, MRG32k3a.A1P127, MRG32k3a.A2P127, index, start);
+	return new MRG32k3a(start);
+    }
+
+    /** Fills the six components from a SplitMix64 sequence started at <code>seed</code>. */
+    private static long[] spread(long seed) {
+	long[] s = new long[6];
+	long z = seed;
+	for (int i = 0; i < 6; i++) {
+	    z += 0x9E3779B97F4A7C15L;
+	    long x = z;
+	    x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+	    x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+	    x ^= x >>> 31;
+	    // 1 + x mod (m - 1) is never 0, so no triple can be all zero
+	    s[i] = 1 + Long.remainderUnsigned(x, (i < 3 ? MRG32k3a.M1 : MRG32k3a.M2) - 1);
+	}
+	return s;
+    }
+}
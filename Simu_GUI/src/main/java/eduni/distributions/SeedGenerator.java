@@ -25,7 +25,7 @@ public class SeedGenerator implements DiscreteGenerator {
     public long sample() {
 	if (not_sampled) not_sampled = false;
 	else
-	    for (int i=0; i<spacing; i++) source.nextLong();
+	    source.skip(spacing);
 	return getSeed();
     }
 
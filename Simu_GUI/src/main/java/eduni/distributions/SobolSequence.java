@@ -0,0 +1,291 @@
+package eduni.distributions;
+
+import java.util.Objects;
+
+/**
+ * A Sobol sequence of quasi-random points in the unit cube, optionally randomized by a random
+ * linear scrambling and a digital shift (Matou&scaron;ek).
+ * <p>
+ * The first <code>2<sup>m</sup></code> points of a Sobol sequence fill the cube far more evenly
+ * than as many pseudo-random points: in every coordinate each interval
+ * <code>[j / 2<sup>m</sup>, (j + 1) / 2<sup>m</sup>)</code> holds exactly one point. The average of
+ * a smooth function over the points therefore converges almost like <code>1/n</code> rather than
+ * <code>1/sqrt(n)</code>. The scrambling keeps this property, but makes every point uniformly
+ * distributed: the averages of independently scrambled copies (one seed each) are independent
+ * unbiased estimates, whose spread gives a confidence interval (randomized quasi-Monte Carlo).
+ * <p>
+ * The direction numbers of dimensions 2 to {@value #MAX_DIMENSION} are those of Joe and Kuo;
+ * points are generated in Gray-code order, one XOR per coordinate. A point is used whole with
+ * {@link #nextPoint(double[])}, e.g. to choose the parameters of one run of a sweep over a
+ * configuration space. A single coordinate can also act as the source of a {@link Generator},
+ * which then maps the evenly spread numbers to evenly spread samples if it samples by inversion,
+ * e.g. a {@link TabulatedGenerator}:
+ * <pre>
+ *   SobolSequence sobol = new SobolSequence(2, randomization);
+ *   TabulatedGenerator demand = new TabulatedGenerator(table);
+ *   demand.setSource(sobol.stream(0));
+ * </pre>
+ * Consecutive numbers of a coordinate are not independent (they alternate between the halves of
+ * the interval), so such a generator suits estimates that use each sample on its own, such as
+ * the mean of a function of the samples, and not the random streams of a simulation run, whose
+ * queues would see the dependence.
+ * <p>
+ * The <code>Seedable</code> "seed" is the seed of the scrambling; setting it restarts the sequence.
+ * @see RandomStreamFactory
+ */
+public final class SobolSequence implements Seedable {
+    /** The highest supported dimension. */
+    public static final int MAX_DIMENSION = 21;
+
+    /** The number of points before the sequence repeats. */
+    public static final long MAX_POINTS = 1L << 32;
+
+    private static final int BITS = 32;
+    private static final double NORM = 0x1p-32;
+
+    /** Degree, coefficients and initial direction numbers of dimensions 2, 3, ... (Joe and Kuo, new-joe-kuo-6.21201). */
+    private static final int[] DEGREE = {1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 7, 7};
+    private static final int[] COEFFICIENTS = {0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13, 14, 1, 13, 16, 19, 22, 25, 1, 4};
+    private static final int[][] INITIAL = {
+	{1},
+	{1, 3},
+	{1, 3, 1},
+	{1, 1, 1},
+	{1, 1, 3, 3},
+	{1, 3, 5, 13},
+	{1, 1, 5, 5, 17},
+	{1, 1, 5, 5, 5},
+	{1, 1, 7, 11, 19},
+	{1, 1, 5, 1, 1},
+	{1, 1, 1, 3, 11},
+	{1, 3, 5, 5, 31},
+	{1, 3, 3, 9, 7, 49},
+	{1, 1, 1, 15, 21, 21},
+	{1, 3, 1, 13, 27, 49},
+	{1, 1, 1, 15, 7, 5},
+	{1, 3, 1, 15, 13, 25},
+	{1, 1, 5, 5, 19, 61},
+	{1, 3, 7, 11, 23, 15, 103},
+	{1, 3, 7, 13, 13, 15, 69}};
+
+    private final int dimensions;
+    private final boolean scrambled;
+    /** Direction numbers <code>v[j][k]</code> of coordinate <code>j</code>, scrambled if the sequence is. */
+    private final int[][] v;
+    private final int[] shift;
+    private final int[] x;
+    private long seed;
+    private long index;
+
+    /**
+     * Creates the plain, deterministic Sobol sequence.
+     * @param dimensions The number of coordinates, from 1 to {@value #MAX_DIMENSION}
+     */
+    public SobolSequence(int dimensions) {
+	this(dimensions, 0, false);
+    }
+
+    /**
+     * Creates a scrambled Sobol sequence. Sequences with distinct seeds are independent
+     * randomizations of the same point set.
+     * @param dimensions The number of coordinates, from 1 to {@value #MAX_DIMENSION}
+     * @param seed The seed of the scrambling
+     */
+    public SobolSequence(int dimensions, long seed) {
+	this(dimensions, seed, true);
+    }
+
+    private SobolSequence(int dimensions, long seed, boolean scrambled) {
+	if (dimensions < 1 || dimensions > MAX_DIMENSION)
+	    throw new ParameterException("SobolSequence: The dimension must be between 1 and " + MAX_DIMENSION + ".");
+	this.dimensions = dimensions;
+	this.scrambled = scrambled;
+	v = new int[dimensions][BITS];
+	shift = new int[dimensions];
+	x = new int[dimensions];
+	setSeed(seed);
+    }
+
+    // ----- implements Seedable { -----
+    /**
+     * Scramble the sequence anew and restart it at its first point. Ignored for the
+     * direction numbers of a plain sequence, which is only restarted.
+     * @param seed The seed of the scrambling
+     */
+    public void setSeed(long seed) {
+	this.seed = seed;
+	for (int j = 0; j < dimensions; j++)
+	    shift[j] = directions(j, scrambled, seed, v[j]);
+	skipTo(0);
+    }
+
+    /** @return The seed of the scrambling */
+    public long getSeed() { return seed; }
+
+    /** Scramble the sequence with the next seed and restart it. */
+    public void reseed() { setSeed(seed + 1); }
+    // ----- } implements Seedable -----
+
+    /** @return The number of coordinates of a point */
+    public int getDimensions() { return dimensions; }
+
+    /** @return The index of the next point */
+    public long getIndex() { return index; }
+
+    /**
+     * Position the sequence at a point, e.g. to split it between workers.
+     * @param index The index of the next point, in <code>[0, {@value #MAX_POINTS})</code>
+     */
+    public void skipTo(long index) {
+	if (index < 0 || index >= MAX_POINTS)
+	    throw new IllegalArgumentException("SobolSequence: the index must be in [0, 2^32).");
+	for (int j = 0; j < dimensions; j++)
+	    x[j] = pointAt(v[j], shift[j], index);
+	this.index = index;
+    }
+
+    /**
+     * Generate the next point.
+     * @param point The array receiving the {@link #getDimensions()} coordinates, each in <code>(0, 1)</code>
+     * @throws IllegalStateException if all {@value #MAX_POINTS} points have been generated
+     */
+    public void nextPoint(double[] point) {
+	Objects.checkFromIndexSize(0, dimensions, point.length);
+	if (index >= MAX_POINTS)
+	    throw new IllegalStateException("SobolSequence: all 2^32 points have been generated.");
+	for (int j = 0; j < dimensions; j++)
+	    point[j] = toDouble(x[j]);
+	if (++index < MAX_POINTS) {
+	    int k = Long.numberOfTrailingZeros(index);
+	    for (int j = 0; j < dimensions; j++)
+		x[j] ^= v[j][k];
+	}
+    }
+
+    /**
+     * Create a generator of one coordinate of this sequence, independent of this sequence's state.
+     * Its numbers are the coordinate of the points <code>0, 1, 2, ...</code>; setting its seed
+     * scrambles it like the coordinate of a sequence with that seed.
+     * @param dimension The coordinate, from 0 to {@link #getDimensions()} - 1
+     * @return A generator positioned at the first point
+     */
+    public ContinuousGenerator stream(int dimension) {
+	Objects.checkIndex(dimension, dimensions);
+	return new Coordinate(dimension, scrambled, seed);
+    }
+
+    /** The successive values of one coordinate. */
+    private static final class Coordinate implements ContinuousGenerator {
+	private final int dimension;
+	private final boolean scrambled;
+	private final int[] v = new int[BITS];
+	private int shift;
+	private int x;
+	private long seed;
+	private long index;
+
+	Coordinate(int dimension, boolean scrambled, long seed) {
+	    this.dimension = dimension;
+	    this.scrambled = scrambled;
+	    setSeed(seed);
+	}
+
+	public void setSeed(long seed) {
+	    this.seed = seed;
+	    shift = directions(dimension, scrambled, seed, v);
+	    x = shift;
+	    index = 0;
+	}
+
+	public long getSeed() { return seed; }
+
+	public void reseed() { setSeed(seed + 1); }
+
+	public double sample() {
+	    if (index >= MAX_POINTS)
+		throw new IllegalStateException("SobolSequence: all 2^32 points have been generated.");
+	    double u = toDouble(x);
+	    if (++index < MAX_POINTS)
+		x ^= v[Long.numberOfTrailingZeros(index)];
+	    return u;
+	}
+
+	@Override
+	public void sample(double[] dst, int off, int len) {
+	    Objects.checkFromIndexSize(off, len, dst.length);
+	    if (index + len > MAX_POINTS)
+		throw new IllegalStateException("SobolSequence: all 2^32 points have been generated.");
+	    int s = x;
+	    long n = index;
+	    for (int i = off, end = off + len; i < end; i++) {
+		dst[i] = toDouble(s);
+		if (++n < MAX_POINTS)
+		    s ^= v[Long.numberOfTrailingZeros(n)];
+	    }
+	    x = s;
+	    index = n;
+	}
+    }
+
+    /** @return The centre of the <code>2<sup>-32</sup></code> cell of the digits <code>x</code>, so never 0 or 1 */
+    private static double toDouble(int x) {
+	return ((x & 0xFFFFFFFFL) + 0.5) * NORM;
+    }
+
+    /** @return The digits of point <code>index</code>: the XOR of the directions of the set bits of its Gray code */
+    private static int pointAt(int[] v, int shift, long index) {
+	long gray = index ^ (index >>> 1);
+	int x = shift;
+	for (int k = 0; gray != 0; k++, gray >>>= 1)
+	    if ((gray & 1) != 0) x ^= v[k];
+	return x;
+    }
+
+    /**
+     * Compute the direction numbers of a coordinate into <code>v</code>, with the most significant
+     * bit as the first binary digit, and scramble them if requested.
+     * @return The digital shift, 0 if not scrambled
+     */
+    private static int directions(int dimension, boolean scrambled, long seed, int[] v) {
+	if (dimension == 0) {
+	    for (int k = 0; k < BITS; k++)
+		v[k] = 1 << (BITS - 1 - k);
+	} else {
+	    int s = DEGREE[dimension - 1], a = COEFFICIENTS[dimension - 1];
+	    int[] m = INITIAL[dimension - 1];
+	    for (int k = 0; k < s; k++)
+		v[k] = m[k] << (BITS - 1 - k);
+	    for (int k = s; k < BITS; k++) {
+		int d = v[k - s] ^ (v[k - s] >>> s);
+		for (int i = 1; i < s; i++)
+		    if (((a >>> (s - 1 - i)) & 1) != 0) d ^= v[k - i];
+		v[k] = d;
+	    }
+	}
+	if (!scrambled) return 0;
+
+	// lower triangular matrix with unit diagonal: digit i of the result depends on digits 0..i
+	long z = seed * 0x9E3779B97F4A7C15L + dimension;
+	int[] rows = new int[BITS];
+	for (int i = 0; i < BITS; i++) {
+	    z += 0x9E3779B97F4A7C15L;
+	    int above = i == 0 ? 0 : -1 << (BITS - i);
+	    rows[i] = (1 << (BITS - 1 - i)) | ((int) mix(z) & above);
+	}
+	for (int k = 0; k < BITS; k++) {
+	    int scrambledDigits = 0;
+	    for (int i = 0; i < BITS; i++)
+		if ((Integer.bitCount(rows[i] & v[k]) & 1) != 0) scrambledDigits |= 1 << (BITS - 1 - i);
+	    v[k] = scrambledDigits;
+	}
+	z += 0x9E3779B97F4A7C15L;
+	return (int) mix(z);
+    }
+
+    /** The SplitMix64 finalizer. */
+    private static long mix(long z) {
+	z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+	z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+	return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,172 @@
+package eduni.distributions;
+
+/**
+ * Special functions needed by the rejection samplers of the discrete distributions, by the
+ * distribution functions of {@link DistributionFunctions} and by maximum-likelihood fitting.
+ */
+public final class SpecialFunctions {
+    /** Number of exactly tabulated values of <code>log(k!)</code>. */
+    private static final int TABLE_SIZE = 256;
+
+    private static final double HALF_LOG_2PI = 0.5 * Math.log(2 * Math.PI);
+
+    /** <code>log(k!)</code> for <code>k &lt; TABLE_SIZE</code>, summed from <code>log(i)</code>. */
+    private static final double[] LOG_FACTORIAL = new double[TABLE_SIZE];
+
+    static {
+	for (int k = 2; k < TABLE_SIZE; k++)
+	    LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+    }
+
+    private SpecialFunctions() {}
+
+    /**
+     * @param k A non-negative integer
+     * @return <code>log(k!)</code>, from a table for small <code>k</code> and from Stirling's series otherwise
+     */
+    static double logFactorial(long k) {
+	if (k < 0)
+	    throw new IllegalArgumentException("logFactorial: k must not be negative.");
+	if (k < TABLE_SIZE)
+	    return LOG_FACTORIAL[(int) k];
+	double x = k + 1.0;
+	return (x - 0.5) * Math.log(x) - x + HALF_LOG_2PI + stirlingSeries(x);
+    }
+
+    /**
+     * The error of Stirling's approximation of <code>log(k!)</code>:
+     * <code>log(k!) - [(k + 1/2) log(k + 1) - (k + 1) + log(2&Pi;)/2]</code>.
+     * @param k A non-negative integer
+     * @return The correction term, below 0.082
+     */
+    static double stirlingCorrection(long k) {
+	double x = k + 1.0;
+	if (k < 16)
+	    return LOG_FACTORIAL[(int) k] - ((x - 0.5) * Math.log(x) - x + HALF_LOG_2PI);
+	return stirlingSeries(x);
+    }
+
+    /** Lanczos coefficients for g = 7, n = 9. */
+    private static final double[] LANCZOS = {
+	0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+	-176.61502916214059, 12.507343278686905, -0.13857109526572012,
+	9.9843695780195716e-6, 1.5056327351493116e-7};
+
+    /** Relative accuracy and iteration limit of the incomplete gamma expansions. */
+    private static final double EPSILON = 1e-15;
+    private static final int MAX_ITERATIONS = 10000;
+
+    /**
+     * @param x A positive number
+     * @return <code>log &Gamma;(x)</code> by the Lanczos approximation, accurate to about 1e-15
+     */
+    public static double logGamma(double x) {
+	if (x < 0.5)
+	    // reflection formula
+	    return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+	x -= 1;
+	double a = LANCZOS[0];
+	double t = x + 7.5;
+	for (int i = 1; i < LANCZOS.length; i++)
+	    a += LANCZOS[i] / (x + i);
+	return HALF_LOG_2PI + (x + 0.5) * Math.log(t) - t + Math.log(a);
+    }
+
+    /**
+     * @param x A positive number
+     * @return The digamma function <code>&psi;(x) = d/dx log &Gamma;(x)</code>, accurate to about 1e-14
+     */
+    public static double digamma(double x) {
+	double shift = 0;
+	for (; x < 10; x++)
+	    shift -= 1 / x;
+	double r = 1 / (x * x);
+	return shift + Math.log(x) - 0.5 / x - r * (1.0 / 12 - r * (1.0 / 120 - r * (1.0 / 252 - r * (1.0 / 240 - r / 132))));
+    }
+
+    /**
+     * @param x A positive number
+     * @return The trigamma function <code>&psi;'(x)</code>, accurate to about 1e-14
+     */
+    public static double trigamma(double x) {
+	double shift = 0;
+	for (; x < 10; x++)
+	    shift += 1 / (x * x);
+	double r = 1 / (x * x);
+	return shift + 1 / x + r / 2 + r / x * (1.0 / 6 - r * (1.0 / 30 - r * (1.0 / 42 - r * (1.0 / 30 - r * 5 / 66))));
+    }
+
+    /**
+     * @param a The shape, positive
+     * @param x The point, at least 0
+     * @return The regularized lower incomplete gamma function <code>P(a, x)</code>
+     */
+    static double regularizedGammaP(double a, double x) {
+	if (x <= 0)
+	    return 0.0;
+	if (x < a + 1)
+	    return gammaSeries(a, x);
+	return 1.0 - gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * @param a The shape, positive
+     * @param x The point, at least 0
+     * @return The regularized upper incomplete gamma function <code>Q(a, x) = 1 - P(a, x)</code>,
+     *         computed without cancellation for large <code>x</code>
+     */
+    static double regularizedGammaQ(double a, double x) {
+	if (x <= 0)
+	    return 1.0;
+	if (x < a + 1)
+	    return 1.0 - gammaSeries(a, x);
+	return gammaContinuedFraction(a, x);
+    }
+
+    /** <code>P(a, x)</code> by its power series, for <code>x &lt; a + 1</code>. */
+    private static double gammaSeries(double a, double x) {
+	double term = 1.0 / a, sum = term;
+	for (int n = 1; n < MAX_ITERATIONS; n++) {
+	    term *= x / (a + n);
+	    sum += term;
+	    if (Math.abs(term) < Math.abs(sum) * EPSILON)
+		break;
+	}
+	return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    /** <code>Q(a, x)</code> by Lentz's evaluation of its continued fraction, for <code>x &ge; a + 1</code>. */
+    private static double gammaContinuedFraction(double a, double x) {
+	final double tiny = 1e-300;
+	double b = x + 1 - a, c = 1 / tiny, d = 1 / b, h = d;
+	for (int i = 1; i < MAX_ITERATIONS; i++) {
+	    double an = -i * (i - a);
+	    b += 2;
+	    d = an * d + b;
+	    if (Math.abs(d) < tiny) d = tiny;
+	    c = b + an / c;
+	    if (Math.abs(c) < tiny) c = tiny;
+	    d = 1 / d;
+	    double delta = d * c;
+	    h *= delta;
+	    if (Math.abs(delta - 1) < EPSILON)
+		break;
+	}
+	return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+
+    /**
+     * @param x Any number
+     * @return The complementary error function <code>erfc(x)</code>, as <code>Q(1/2, x<sup>2</sup>)</code>
+     */
+    static double erfc(double x) {
+	double q = regularizedGammaQ(0.5, x * x);
+	return x >= 0 ? q : 2.0 - q;
+    }
+
+    /** <code>1/(12x) - 1/(360x<sup>3</sup>) + 1/(1260x<sup>5</sup>)</code>, accurate to 1e-11 for x &ge; 16. */
+    private static double stirlingSeries(double x) {
+	double x2 = x * x;
+	return (1.0 / 12 - (1.0 / 360 - 1.0 / 1260 / x2) / x2) / x;
+    }
+}
@@ -0,0 +1,128 @@
+package eduni.distributions;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A random number generator that samples any continuous distribution by inversion, using a
+ * precomputed table of its quantile function.
+ * <p>
+ * The table holds the quantiles at <code>i / size</code> for <code>0 &lt; i &lt; size</code>.
+ * A sample costs one uniform <i>u</i>, a table lookup and a cubic (Catmull-Rom) interpolation
+ * between the four nearest quantiles; for the default size the interpolation error of a
+ * normal quantile is below 1e-7 standard deviations in the central 98%. Where the quantile
+ * function gets steep, in the outer 1/{@value #TAIL_FRACTION} of each tail, the exact
+ * quantile is computed instead, so the tails are neither truncated nor distorted.
+ * <p>
+ * Building a table evaluates the quantile function <code>size - 1</code> times. A {@link Table}
+ * is immutable and can be shared by any number of generators, e.g. by all service points
+ * and replications that use the same distribution.
+ * @see DistributionFunctions
+ */
+public class TabulatedGenerator extends Generator implements ContinuousGenerator {
+    /** The default number of table intervals. */
+    public static final int DEFAULT_SIZE = 8192;
+
+    /** The exact quantile is used for <i>u</i> below 1/TAIL_FRACTION and above 1 - 1/TAIL_FRACTION. */
+    public static final int TAIL_FRACTION = 512;
+
+    /**
+     * An immutable quantile table.
+     */
+    public static final class Table {
+	private final DoubleUnaryOperator quantile;
+	private final double[] x;
+	private final int size;
+	/** First and one past the last interval that is interpolated. */
+	private final int first, last;
+
+	/**
+	 * Tabulate a quantile function.
+	 * @param quantile The quantile (inverse distribution) function, defined on <code>(0, 1)</code>
+	 * @param size The number of intervals of the table, at least 8
+	 */
+	public Table(DoubleUnaryOperator quantile, int size) {
+	    if (size < 8)
+		throw new ParameterException("TabulatedGenerator: The table needs at least 8 intervals.");
+	    this.quantile = Objects.requireNonNull(quantile);
+	    this.size = size;
+	    // the cubic needs the quantiles of the intervals on both sides
+	    first = Math.max(2, size / TAIL_FRACTION);
+	    last = size - first;
+	    x = new double[size + 1];
+	    x[0] = Double.NaN;
+	    x[size] = Double.NaN;
+	    for (int i = 1; i < size; i++)
+		x[i] = quantile.applyAsDouble((double) i / size);
+	}
+
+	/** @return The number of intervals */
+	public int getSize() { return size; }
+
+	/** @return The quantile of <code>u</code>, interpolated from the table */
+	double quantile(double u) {
+	    double pos = u * size;
+	    int i = (int) pos;
+	    if (i < first || i >= last)
+		return quantile.applyAsDouble(u);
+	    double t = pos - i;
+	    double p0 = x[i - 1], p1 = x[i], p2 = x[i + 1], p3 = x[i + 2];
+	    return p1 + 0.5 * t * (p2 - p0 + t * (2 * p0 - 5 * p1 + 4 * p2 - p3 + t * (3 * (p1 - p2) + p3 - p0)));
+	}
+    }
+
+    private final Table table;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param table The quantile table
+     */
+    public TabulatedGenerator(Table table) {
+	super();
+	this.table = Objects.requireNonNull(table);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param table The quantile table
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public TabulatedGenerator(Table table, long seed) {
+	super(seed);
+	this.table = Objects.requireNonNull(table);
+    }
+
+    /**
+     * Tabulate a quantile function with {@value #DEFAULT_SIZE} intervals.
+     * @param quantile The quantile function
+     * @param seed The initial seed for the generator
+     */
+    public TabulatedGenerator(DoubleUnaryOperator quantile, long seed) {
+	this(new Table(quantile, DEFAULT_SIZE), seed);
+    }
+
+    /** @return The quantile table, to share with other generators */
+    public Table getTable() { return table; }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+	return table.quantile(distrib.source.sample());
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) {
+	distrib.source.sample(dst, off, len);
+	Table t = table;
+	for (int i = off, end = off + len; i < end; i++)
+	    dst[i] = t.quantile(dst[i]);
+    }
+}
@@ -42,4 +42,13 @@ public class Uniform extends Generator implements ContinuousGenerator {
     public double sample() { 
          return distrib.uniform(min, max);
     }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>dst</code>, starting at index <code>off</code>.
+     * @see ContinuousGenerator#sample(double[], int, int)
+     */
+    @Override
+    public void sample(double[] dst, int off, int len) { 
+         distrib.uniform(min, max, dst, off, len);
+    }
 }
@@ -0,0 +1,111 @@
+package eduni.distributions;
+
+/**
+ * Ziggurat samplers for the standard normal and the standard exponential distributions,
+ * in the form of Doornik's ZIGNOR (2005), which draws uniform doubles rather than integers.
+ * <p>
+ * The density under its mode is covered by <code>C</code> horizontal layers of equal area
+ * <code>V</code>: layer <code>i</code> spans <code>[0, X[i]]</code> between the heights
+ * <code>f(X[i])</code> and <code>f(X[i+1])</code>, and the bottom layer also holds the tail
+ * beyond <code>R = X[1]</code>. A point drawn in a layer falls under the density with
+ * probability above 98%, at the cost of one multiplication and one comparison; only the
+ * remaining points evaluate the density (wedges) or fall back to a tail algorithm.
+ * Every attempt draws two uniforms: one for the layer and one for the point.
+ * @see Distributions.Algorithm#FAST
+ */
+final class Ziggurat {
+    /** Number of layers, radius of the bottom layer and area of each layer of the normal ziggurat. */
+    private static final int NORMAL_C = 128;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+
+    /** Number of layers, radius of the bottom layer and area of each layer of the exponential ziggurat. */
+    private static final int EXP_C = 256;
+    private static final double EXP_R = 7.69711747013104972;
+    private static final double EXP_V = 3.949659822581572e-3;
+
+    /** Layer widths: X[0] = V / f(R), X[1] = R, ..., X[C] = 0. */
+    private static final double[] NORMAL_X = new double[NORMAL_C + 1];
+    private static final double[] EXP_X = new double[EXP_C + 1];
+
+    /** Ratio X[i+1] / X[i]: a point of layer i below it is always under the density. */
+    private static final double[] NORMAL_RATIO = new double[NORMAL_C];
+    private static final double[] EXP_RATIO = new double[EXP_C];
+
+    static {
+	double f = Math.exp(-0.5 * NORMAL_R * NORMAL_R);
+	NORMAL_X[0] = NORMAL_V / f;
+	NORMAL_X[1] = NORMAL_R;
+	for (int i = 2; i < NORMAL_C; i++) {
+	    NORMAL_X[i] = Math.sqrt(-2 * Math.log(NORMAL_V / NORMAL_X[i - 1] + f));
+	    f = Math.exp(-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+	}
+	for (int i = 0; i < NORMAL_C; i++)
+	    NORMAL_RATIO[i] = NORMAL_X[i + 1] / NORMAL_X[i];
+
+	f = Math.exp(-EXP_R);
+	EXP_X[0] = EXP_V / f;
+	EXP_X[1] = EXP_R;
+	for (int i = 2; i < EXP_C; i++) {
+	    EXP_X[i] = -Math.log(EXP_V / EXP_X[i - 1] + f);
+	    f = Math.exp(-EXP_X[i]);
+	}
+	for (int i = 0; i < EXP_C; i++)
+	    EXP_RATIO[i] = EXP_X[i + 1] / EXP_X[i];
+    }
+
+    private Ziggurat() {}
+
+    /**
+     * Draws a standard normal number.
+     * @param source The source of uniforms in <code>(0, 1)</code>
+     * @return A number of mean 0 and variance 1
+     */
+    static double normal(ContinuousGenerator source) {
+	for (;;) {
+	    int i = (int) (source.sample() * NORMAL_C);
+	    double u = 2 * source.sample() - 1;
+	    if (Math.abs(u) < NORMAL_RATIO[i])
+		return u * NORMAL_X[i];
+	    if (i == 0)
+		return normalTail(source, u < 0);
+	    double x = u * NORMAL_X[i];
+	    double f0 = Math.exp(-0.5 * (NORMAL_X[i] * NORMAL_X[i] - x * x));
+	    double f1 = Math.exp(-0.5 * (NORMAL_X[i + 1] * NORMAL_X[i + 1] - x * x));
+	    if (f1 + source.sample() * (f0 - f1) < 1.0)
+		return x;
+	}
+    }
+
+    /** Marsaglia's (1964) sampler of the normal tail beyond <code>R</code>. */
+    private static double normalTail(ContinuousGenerator source, boolean negative) {
+	double x, y;
+	do {
+	    x = Math.log(source.sample()) / NORMAL_R;
+	    y = Math.log(source.sample());
+	} while (-2 * y < x * x);
+	return negative ? x - NORMAL_R : NORMAL_R - x;
+    }
+
+    /**
+     * Draws a standard exponential number.
+     * @param source The source of uniforms in <code>(0, 1)</code>
+     * @return A number of mean 1
+     */
+    static double exponential(ContinuousGenerator source) {
+	for (;;) {
+	    int i = (int) (source.sample() * EXP_C);
+	    double u = source.sample();
+	    if (u < EXP_RATIO[i])
+		return u * EXP_X[i];
+	    if (i == 0)
+		// the exponential tail beyond R is R plus a standard exponential
+		return EXP_R - Math.log(source.sample());
+	    double x = u * EXP_X[i];
+	    double f0 = Math.exp(-(EXP_X[i] - x));
+	    double f1 = Math.exp(-(EXP_X[i + 1] - x));
+	    if (f1 + source.sample() * (f0 - f1) < 1.0)
+		return x;
+	}
+    }
+}
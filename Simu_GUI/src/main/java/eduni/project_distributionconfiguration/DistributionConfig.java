@@ -1,15 +1,21 @@
 package eduni.project_distributionconfiguration;
 
 import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.DistributionFunctions;
+import eduni.distributions.EmpiricalGenerator;
 import eduni.distributions.Gamma;
 import eduni.distributions.Negexp;
 import eduni.distributions.Normal;
+import eduni.distributions.TabulatedGenerator;
+
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Represents the configuration of a probability distribution used in the simulation.
  * <p>
  * Each {@code DistributionConfig} defines a specific statistical distribution
- * (e.g., Normal, Exponential, or Gamma) with its parameters.
+ * (e.g., Normal, Exponential, or Gamma) with its parameters, or the empirical
+ * distribution of observed times.
  * These configurations are used to generate random samples for
  * service times or interarrival times in the simulation.
  * </p>
@@ -39,6 +45,15 @@ public class DistributionConfig {
     private final Double param2;
     private final boolean forArrival;
 
+    /** Alias table of the observations of an {@code "Empirical"} configuration, otherwise {@code null}. */
+    private final EmpiricalGenerator.Table empirical;
+
+    /** Whether generators sample from a precomputed quantile table instead of the exact sampler. */
+    private boolean tabulated;
+
+    /** Quantile table shared by all tabulated generators of this configuration, built on first use. */
+    private volatile TabulatedGenerator.Table table;
+
     /**
      * Constructs a single-parameter distribution configuration (e.g., Exponential).
      *
@@ -51,6 +66,7 @@ public class DistributionConfig {
         this.param1 = param1;
         this.param2 = null;
         this.forArrival = forArrival;
+        this.empirical = null;
     }
 
     /**
@@ -66,6 +82,25 @@ public class DistributionConfig {
         this.param1 = param1;
         this.param2 = param2;
         this.forArrival = forArrival;
+        this.empirical = null;
+    }
+
+    /**
+     * Constructs an {@code "Empirical"} configuration that samples the distribution of
+     * observed times, e.g. those logged in earlier simulation runs.
+     * The first parameter is the mean of the observations.
+     *
+     * @param empirical  the alias table of the observations
+     * @param forArrival whether this distribution is used for arrival processes
+     * @see ORM.dao.ApplicationLogDao#buildEmpiricalTable(Long, ORM.dao.ApplicationLogDao.Quantity)
+     */
+    public DistributionConfig(EmpiricalGenerator.Table empirical, boolean forArrival) {
+        if (empirical == null) throw new IllegalArgumentException("Empirical distribution requires observations");
+        this.type = "Empirical";
+        this.param1 = empirical.getMean();
+        this.param2 = null;
+        this.forArrival = forArrival;
+        this.empirical = empirical;
     }
 
     /**
@@ -95,6 +130,82 @@ public class DistributionConfig {
         return this.param2;
     }
 
+    /**
+     * Returns the expectation of the configured distribution, with the same parameter
+     * interpretation as {@link #buildGenerator(long)}, e.g. as the known mean of a control variate.
+     *
+     * @return the mean of the generated numbers
+     * @throws IllegalArgumentException if the distribution type is unknown
+     */
+    public double getMean() {
+        switch (type) {
+            case "Normal":
+            case "Negexp":
+            case "Empirical":
+                return param1;
+            case "Gamma":
+                return param1 * param2;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + type);
+        }
+    }
+
+    /**
+     * Returns whether this configuration has a parameter that {@link #withParameter(int, double)} can replace.
+     *
+     * @param parameter 1 for the first parameter, 2 for the second
+     * @return {@code true} if the parameter exists; {@code "Empirical"} configurations have none
+     */
+    public boolean hasParameter(int parameter) {
+        if (empirical != null) return false;
+        return parameter == 1 || (parameter == 2 && param2 != null);
+    }
+
+    /**
+     * Returns a copy of this configuration with one parameter replaced, e.g. for one point of a
+     * parameter sweep. The copy keeps the tabulated setting but builds its own quantile table.
+     *
+     * @param parameter 1 for the first parameter, 2 for the second
+     * @param value     the new value of the parameter
+     * @return the modified copy
+     * @throws IllegalArgumentException if the parameter does not exist or the configuration is {@code "Empirical"}
+     */
+    public DistributionConfig withParameter(int parameter, double value) {
+        if (empirical != null) throw new IllegalArgumentException("Empirical distributions have no parameters to vary");
+        if (!hasParameter(parameter)) throw new IllegalArgumentException(type + " distribution has no parameter " + parameter);
+        DistributionConfig copy;
+        if (parameter == 1) {
+            copy = param2 == null ? new DistributionConfig(type, value, forArrival) : new DistributionConfig(type, value, param2, forArrival);
+        } else {
+            copy = new DistributionConfig(type, param1, value, forArrival);
+        }
+        copy.tabulated = tabulated;
+        return copy;
+    }
+
+    /**
+     * Enables or disables tabulated sampling. When enabled, the generators built from this
+     * configuration are {@link TabulatedGenerator}s: each sample is one uniform and a lookup in a
+     * quantile table, which is computed once per configuration and shared by all its generators.
+     * The samples follow the same distribution as those of the exact generator, but form a
+     * different sequence. {@code "Empirical"} configurations already sample from a table and
+     * ignore this setting.
+     *
+     * @param tabulated {@code true} to sample from a quantile table
+     */
+    public void setTabulated(boolean tabulated) {
+        this.tabulated = tabulated;
+    }
+
+    /**
+     * Returns whether generators built from this configuration sample from a quantile table.
+     *
+     * @return {@code true} if tabulated sampling is enabled
+     */
+    public boolean isTabulated() {
+        return tabulated;
+    }
+
     /**
      * Builds and returns a {@link ContinuousGenerator} instance based on the distribution type.
      * <p>
@@ -103,23 +214,115 @@ public class DistributionConfig {
      *   <li>{@code "Normal"} – requires mean and standard deviation</li>
      *   <li>{@code "Negexp"} – requires mean</li>
      *   <li>{@code "Gamma"} – requires shape and scale</li>
+     *   <li>{@code "Empirical"} – requires the observations</li>
      * </ul>
      *
      * @return a new {@link ContinuousGenerator} configured according to this distribution
      * @throws IllegalArgumentException if parameters are invalid or distribution type is unknown
      */
     public ContinuousGenerator buildGenerator() {
+        validate();
+        if (tabulated && empirical == null) return new TabulatedGenerator(table());
         switch (type) {
             case "Normal":
-                if (param2 == null || param2 <= 0) throw new IllegalArgumentException("Normal distribution requires mean, stddev > 0");
                 return new Normal(param1, param2);
             case "Negexp":
-                if (param1 <= 0) throw new IllegalArgumentException("Negexp distribution requires mean > 0");
                 return new Negexp(param1, 1);               //second arg unused in Negexp, so is set to dummy 1
 
             case "Gamma":
-                if (param2 == null || param1 <= 0 || param2 <= 0) throw new IllegalArgumentException("Gamma distribution require shape, scale > 0");
                 return new Gamma(param1, param2);
+            case "Empirical":
+                return new EmpiricalGenerator(empirical);
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + type);
+        }
+    }
+
+    /**
+     * Builds a {@link ContinuousGenerator} like {@link #buildGenerator()}, but with its own
+     * random stream started from the given seed instead of the library's shared seed source.
+     * Generators built with the same seed produce the same sequence, which makes runs
+     * reproducible and safe to execute concurrently.
+     *
+     * @param seed the initial seed of the generator's random stream
+     * @return a new {@link ContinuousGenerator} configured according to this distribution
+     * @throws IllegalArgumentException if parameters are invalid or distribution type is unknown
+     */
+    public ContinuousGenerator buildGenerator(long seed) {
+        validate();
+        if (tabulated && empirical == null) return new TabulatedGenerator(table(), seed);
+        switch (type) {
+            case "Normal":
+                return new Normal(param1, param2, seed);
+            case "Negexp":
+                return new Negexp(param1, seed);
+            case "Gamma":
+                return new Gamma(param1, param2, seed);
+            case "Empirical":
+                return new EmpiricalGenerator(empirical, seed);
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + type);
+        }
+    }
+
+    /**
+     * Checks that the parameters are valid for the distribution type.
+     *
+     * @throws IllegalArgumentException if parameters are invalid or distribution type is unknown
+     */
+    private void validate() {
+        switch (type) {
+            case "Normal":
+                if (param2 == null || param2 <= 0) throw new IllegalArgumentException("Normal distribution requires mean, stddev > 0");
+                break;
+            case "Negexp":
+                if (param1 <= 0) throw new IllegalArgumentException("Negexp distribution requires mean > 0");
+                break;
+            case "Gamma":
+                if (param2 == null || param1 <= 0 || param2 <= 0) throw new IllegalArgumentException("Gamma distribution require shape, scale > 0");
+                break;
+            case "Empirical":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + type);
+        }
+    }
+
+    /**
+     * Returns the quantile table of this configuration, building it on first use.
+     *
+     * @return the shared quantile table
+     */
+    private TabulatedGenerator.Table table() {
+        TabulatedGenerator.Table t = table;
+        if (t == null) {
+            synchronized (this) {
+                t = table;
+                if (t == null) table = t = new TabulatedGenerator.Table(quantileFunction(), TabulatedGenerator.DEFAULT_SIZE);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Returns the quantile function of the distribution sampled by the generator of this
+     * configuration, with the same parameter interpretation as {@link #buildGenerator(long)}.
+     * The parameters must have been checked with {@link #validate()}.
+     *
+     * @return the quantile function on {@code (0, 1)}
+     * @throws IllegalArgumentException if the distribution type has no quantile function
+     */
+    private DoubleUnaryOperator quantileFunction() {
+        switch (type) {
+            case "Normal":
+                double mean = param1, variance = param2;
+                return p -> DistributionFunctions.normalQuantile(p, mean, variance);
+            case "Negexp":
+                double negexpMean = param1;
+                return p -> DistributionFunctions.negexpQuantile(p, negexpMean);
+            case "Gamma":
+                double scale = param1, shape = param2;
+                return p -> DistributionFunctions.gammaQuantile(p, scale, shape);
             default:
                 throw new IllegalArgumentException("Unknown distribution: " + type);
         }
@@ -0,0 +1,296 @@
+package eduni.project_distributionconfiguration;
+
+import eduni.distributions.DistributionFunctions;
+import eduni.distributions.SpecialFunctions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Fits the distributions offered by {@link DistributionConfig} to a sample of observed times
+ * by maximum likelihood and ranks them by goodness of fit.
+ * <p>
+ * Every family is fitted from sufficient statistics: the Normal and Negexp estimates are
+ * closed-form, the Gamma shape is found by Newton's method on
+ * {@code log(k) - digamma(k) = log(mean) - mean(log x)}. Each fit is scored by its Akaike
+ * information criterion and by the Kolmogorov-Smirnov and Anderson-Darling statistics of the
+ * sorted sample. The sample is split into chunks that are processed on a {@link ForkJoinPool},
+ * so a sample of millions of points is fitted in a few passes over the data.
+ * </p>
+ *
+ * <h3>Responsibilities:</h3>
+ * <ul>
+ *   <li>Computes the maximum-likelihood parameters of the Normal, Negexp and Gamma families</li>
+ *   <li>Scores each fit by AIC, Kolmogorov-Smirnov and Anderson-Darling statistics</li>
+ *   <li>Returns ready-to-use {@link DistributionConfig}s, best fit first</li>
+ * </ul>
+ */
+public class DistributionFitter {
+
+    /** Minimum number of points per parallel chunk. */
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The fitted distribution of one family and its goodness of fit.
+     */
+    public static final class Fit {
+        private final DistributionConfig config;
+        private final double logLikelihood;
+        private final double aic;
+        private final double kolmogorovSmirnov;
+        private final double andersonDarling;
+
+        private Fit(DistributionConfig config, double logLikelihood, int parameters,
+                    double kolmogorovSmirnov, double andersonDarling) {
+            this.config = config;
+            this.logLikelihood = logLikelihood;
+            this.aic = 2 * parameters - 2 * logLikelihood;
+            this.kolmogorovSmirnov = kolmogorovSmirnov;
+            this.andersonDarling = andersonDarling;
+        }
+
+        /** @return the configuration of the fitted distribution, with the maximum-likelihood parameters */
+        public DistributionConfig getConfig() { return config; }
+
+        /** @return the maximized log-likelihood of the sample */
+        public double getLogLikelihood() { return logLikelihood; }
+
+        /** @return the Akaike information criterion, lower is better */
+        public double getAic() { return aic; }
+
+        /** @return the Kolmogorov-Smirnov distance between the sample and the fitted distribution */
+        public double getKolmogorovSmirnov() { return kolmogorovSmirnov; }
+
+        /** @return the Anderson-Darling statistic, which weights the tails more than the KS distance */
+        public double getAndersonDarling() { return andersonDarling; }
+
+        @Override
+        public String toString() {
+            return String.format("Fit[%s, AIC=%.2f, KS=%.4f, AD=%.3f]", config, aic, kolmogorovSmirnov, andersonDarling);
+        }
+    }
+
+    /**
+     * Sets the number of worker threads. Defaults to the number of processors.
+     *
+     * @param parallelism the number of worker threads, at least 1
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Fits every supported family to the sample. Negexp needs non-negative and Gamma positive
+     * observations; families the sample does not fit are left out.
+     *
+     * @param sample     the observed times, at least 2 and not all equal; not modified
+     * @param forArrival whether the returned configurations are for arrival processes
+     * @return the fits ordered by AIC, best first
+     * @throws IllegalArgumentException if the sample is too small, constant or not finite
+     * @throws IllegalStateException if the calling thread is interrupted
+     */
+    public List<Fit> fit(double[] sample, boolean forArrival) {
+        if (sample.length < 2) throw new IllegalArgumentException("At least 2 observations are needed for a fit");
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int chunks = (int) Math.max(1, Math.min(4L * parallelism, sample.length / MIN_CHUNK));
+            Moments m = moments(pool, sample, chunks);
+            if (!Double.isFinite(m.sum) || !Double.isFinite(m.min) || !Double.isFinite(m.max))
+                throw new IllegalArgumentException("The sample must be finite");
+            if (m.min == m.max) throw new IllegalArgumentException("The sample must not be constant");
+
+            double[] sorted = sample.clone();
+            Arrays.parallelSort(sorted);
+
+            int n = sample.length;
+            double mean = m.sum / n;
+            double variance = m.sumSquaredDeviations / n;
+            List<Fit> fits = new ArrayList<>();
+
+            double normalLogLikelihood = -0.5 * n * (Math.log(2 * Math.PI * variance) + 1);
+            fits.add(score(pool, sorted, chunks, new DistributionConfig("Normal", mean, variance, forArrival),
+                    normalLogLikelihood, 2,
+                    x -> DistributionFunctions.normalCdf(x, mean, variance),
+                    x -> DistributionFunctions.normalSurvival(x, mean, variance)));
+
+            if (m.min >= 0) {
+                double negexpLogLikelihood = -n * (Math.log(mean) + 1);
+                fits.add(score(pool, sorted, chunks, new DistributionConfig("Negexp", mean, forArrival),
+                        negexpLogLikelihood, 1,
+                        x -> DistributionFunctions.negexpCdf(x, mean),
+                        x -> DistributionFunctions.negexpSurvival(x, mean)));
+            }
+
+            if (m.min > 0) {
+                double meanLog = m.sumLog / n;
+                double shape = gammaShape(Math.log(mean) - meanLog);
+                double scale = mean / shape;
+                double gammaLogLikelihood = n * ((shape - 1) * meanLog - shape - shape * Math.log(scale)
+                        - SpecialFunctions.logGamma(shape));
+                fits.add(score(pool, sorted, chunks, new DistributionConfig("Gamma", scale, shape, forArrival),
+                        gammaLogLikelihood, 2,
+                        x -> DistributionFunctions.gammaCdf(x, scale, shape),
+                        x -> DistributionFunctions.gammaSurvival(x, scale, shape)));
+            }
+
+            fits.sort(Comparator.comparingDouble(Fit::getAic));
+            return fits;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Solves {@code log(k) - digamma(k) = s} for the maximum-likelihood Gamma shape, starting from
+     * the approximation of Choi and Wette.
+     *
+     * @param s {@code log(mean) - mean(log x)}, positive
+     * @return the shape {@code k}
+     */
+    static double gammaShape(double s) {
+        double k = (3 - s + Math.sqrt((s - 3) * (s - 3) + 24 * s)) / (12 * s);
+        for (int i = 0; i < 50; i++) {
+            double step = (Math.log(k) - SpecialFunctions.digamma(k) - s) / (1 / k - SpecialFunctions.trigamma(k));
+            // the function is convex, so halve steps that would leave the positive axis
+            double next = k - step;
+            if (next <= 0) next = k / 2;
+            if (Math.abs(next - k) <= 1e-12 * k) return next;
+            k = next;
+        }
+        return k;
+    }
+
+    /** Sums of one pass over the sample. */
+    private static final class Moments {
+        double sum, sumSquaredDeviations, sumLog;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+    }
+
+    private static Moments moments(ForkJoinPool pool, double[] sample, int chunks) {
+        List<Moments> parts = invokeChunks(pool, sample.length, chunks, (from, to) -> {
+            Moments part = new Moments();
+            for (int i = from; i < to; i++) {
+                double x = sample[i];
+                part.sum += x;
+                part.sumLog += Math.log(x);
+                part.min = Math.min(part.min, x);
+                part.max = Math.max(part.max, x);
+            }
+            return part;
+        });
+        Moments m = new Moments();
+        for (Moments part : parts) {
+            m.sum += part.sum;
+            m.sumLog += part.sumLog;
+            m.min = Math.min(m.min, part.min);
+            m.max = Math.max(m.max, part.max);
+        }
+        // second pass about the mean, which avoids the cancellation of sum(x^2) - n mean^2
+        double mean = m.sum / sample.length;
+        for (Moments part : invokeChunks(pool, sample.length, chunks, (from, to) -> {
+            Moments deviations = new Moments();
+            for (int i = from; i < to; i++) {
+                double d = sample[i] - mean;
+                deviations.sumSquaredDeviations += d * d;
+            }
+            return deviations;
+        })) {
+            m.sumSquaredDeviations += part.sumSquaredDeviations;
+        }
+        return m;
+    }
+
+    /**
+     * Computes the goodness-of-fit statistics of a fitted distribution. The Anderson-Darling sum
+     * {@code sum (2i - 1) [log F(x_i) + log S(x_(n+1-i))]} is regrouped per point, so every chunk
+     * needs only its own points.
+     */
+    private static Fit score(ForkJoinPool pool, double[] sorted, int chunks, DistributionConfig config,
+                             double logLikelihood, int parameters, DoubleUnaryOperator cdf, DoubleUnaryOperator survival) {
+        int n = sorted.length;
+        List<double[]> parts = invokeChunks(pool, n, chunks, (from, to) -> {
+            double ks = 0, ad = 0;
+            for (int i = from; i < to; i++) {
+                double f = cdf.applyAsDouble(sorted[i]);
+                ks = Math.max(ks, Math.max((i + 1.0) / n - f, f - (double) i / n));
+                // 1 - F loses no precision below the median, beyond it S is evaluated directly
+                double s = f <= 0.5 ? 1 - f : survival.applyAsDouble(sorted[i]);
+                ad += (2.0 * i + 1) * Math.log(Math.max(f, Double.MIN_NORMAL))
+                        + (2.0 * (n - i) - 1) * Math.log(Math.max(s, Double.MIN_NORMAL));
+            }
+            return new double[] {ks, ad};
+        });
+        double ks = 0, ad = 0;
+        for (double[] part : parts) {
+            ks = Math.max(ks, part[0]);
+            ad += part[1];
+        }
+        return new Fit(config, logLikelihood, parameters, ks, -n - ad / n);
+    }
+
+    /** A computation over the index range {@code [from, to)} of the sample. */
+    private interface ChunkTask<T> {
+        T apply(int from, int to);
+    }
+
+    private static <T> List<T> invokeChunks(ForkJoinPool pool, int n, int chunks, ChunkTask<T> task) {
+        List<Callable<T>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) n * c / chunks), to = (int) ((long) n * (c + 1) / chunks);
+            tasks.add(() -> task.apply(from, to));
+        }
+        try {
+            List<T> results = new ArrayList<>(chunks);
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fitting distributions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fitting failed", e.getCause());
+        }
+    }
+
+    /**
+     * Reads a sample from a text file with one or more numbers per line, separated by
+     * whitespace, commas or semicolons. Blank lines and lines starting with {@code #} are skipped.
+     *
+     * @param file the file to read
+     * @return the numbers in the order of the file
+     * @throws IOException if the file cannot be read
+     * @throws NumberFormatException if a value is not a number
+     */
+    public static double[] readSample(Path file) throws IOException {
+        double[] values = new double[1024];
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                for (String token : line.split("[\\s,;]+")) {
+                    if (token.isEmpty()) continue;
+                    if (size == values.length) values = Arrays.copyOf(values, 2 * size);
+                    values[size++] = Double.parseDouble(token);
+                }
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,68 @@
+package MVC.simu.framework;
+
+import MVC.simu.model.EventType;
+import eduni.distributions.Negexp;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class ArrivalProcess Tests")
+class ArrivalProcessTest {
+
+    private static final int ARRIVALS = 3 * ArrivalProcess.CHUNK_SIZE + 17;
+
+    private SimulationContext context;
+    private EventList eventList;
+
+    @BeforeEach
+    void setup() {
+        context = new SimulationContext(7L);
+        eventList = new EventList();
+    }
+
+    /** Lets the process generate each arrival at the time of the previous one, like the engine does. */
+    private double[] arrivalTimes(ArrivalProcess process, int count) {
+        double[] times = new double[count];
+        for (int i = 0; i < count; i++) {
+            process.generateNext();
+            Event event = eventList.remove();
+            assertEquals(EventType.ARRIVAL, event.getType());
+            times[i] = event.getTime();
+            context.getClock().setTime(times[i]);
+        }
+        return times;
+    }
+
+    @Test
+    @DisplayName("Buffered arrivals follow the same sequence as direct sampling")
+    void testSameSequenceAsDirectSampling() {
+        ArrivalProcess process = new ArrivalProcess(new Negexp(5, 12345L), eventList, EventType.ARRIVAL, context);
+        double[] times = arrivalTimes(process, ARRIVALS);
+
+        Negexp direct = new Negexp(5, 12345L);
+        double time = 0;
+        for (int i = 0; i < ARRIVALS; i++) {
+            time += direct.sample();
+            assertEquals(time, times[i], "arrival " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Only the next arrival is scheduled")
+    void testSchedulesOneArrival() {
+        ArrivalProcess process = new ArrivalProcess(new Negexp(5, 1L), eventList, EventType.ARRIVAL, context);
+        process.generateNext();
+        assertEquals(1, eventList.size());
+    }
+
+    @Test
+    @DisplayName("Rewinding replays the arrival stream from its start")
+    void testRewindReplaysStream() {
+        ArrivalProcess process = new ArrivalProcess(new Negexp(5, 99L), eventList, EventType.ARRIVAL, context);
+        double[] first = arrivalTimes(process, ARRIVALS);
+
+        process.rewind();
+        context.getClock().setTime(0);
+        assertArrayEquals(first, arrivalTimes(process, ARRIVALS));
+    }
+}
@@ -0,0 +1,49 @@
+package MVC.simu.framework;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class BatchMeansStoppingRule Tests")
+class BatchMeansStoppingRuleTest {
+
+    @Test
+    @DisplayName("The rule is satisfied once the interval is within the relative precision")
+    void testStopsAtPrecision() {
+        Random random = new Random(11);
+        BatchMeansStoppingRule rule = new BatchMeansStoppingRule("x", 0.01, 0.95);
+        int n = 0;
+        while (!rule.isSatisfied() && n < 1_000_000) {
+            rule.observe(10 + 2 * random.nextGaussian());
+            n++;
+        }
+        assertTrue(rule.isSatisfied());
+        ConfidenceInterval ci = rule.getConfidenceInterval();
+        assertTrue(ci.getRelativeHalfWidth() <= 0.01);
+        assertTrue(ci.contains(10.0), ci.toString());
+        // iid data need about (1.96 * 2 / 0.1)^2 = 1537 observations for ±1%
+        assertTrue(n > 500 && n < 10_000, "stopped after " + n);
+    }
+
+    @Test
+    @DisplayName("Batches are merged so their number stays between 20 and 40")
+    void testBatchMerging() {
+        BatchMeansStoppingRule rule = new BatchMeansStoppingRule("x", 1e-9, 0.95);
+        assertNull(rule.getConfidenceInterval());
+        for (int i = 0; i < 1_000; i++) rule.observe(i % 7);
+        int batches = rule.getConfidenceInterval().getCount();
+        assertTrue(batches >= BatchMeansStoppingRule.MIN_BATCHES && batches < 2 * BatchMeansStoppingRule.MIN_BATCHES);
+        assertEquals(32, rule.getBatchSize());
+        assertEquals(1_000, rule.getObservationCount());
+        assertFalse(rule.isSatisfied());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchMeansStoppingRule("x", 0, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> new BatchMeansStoppingRule("x", 0.01, 1.5));
+    }
+}
@@ -0,0 +1,44 @@
+package MVC.simu.framework;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class ConfidenceInterval Tests")
+class ConfidenceIntervalTest {
+
+    @Test
+    @DisplayName("Student-t quantiles match the tabulated values")
+    void testStudentTQuantile() {
+        assertEquals(12.706, ConfidenceInterval.studentTQuantile(0.975, 1), 1e-3);
+        assertEquals(4.303, ConfidenceInterval.studentTQuantile(0.975, 2), 1e-3);
+        assertEquals(2.228, ConfidenceInterval.studentTQuantile(0.975, 10), 1e-3);
+        assertEquals(2.042, ConfidenceInterval.studentTQuantile(0.975, 30), 1e-3);
+        assertEquals(4.032, ConfidenceInterval.studentTQuantile(0.995, 5), 1e-3);
+        assertEquals(-2.228, ConfidenceInterval.studentTQuantile(0.025, 10), 1e-3);
+        assertEquals(0.0, ConfidenceInterval.studentTQuantile(0.5, 7));
+    }
+
+    @Test
+    @DisplayName("Mean, standard deviation and half-width are computed correctly")
+    void testOf() {
+        ConfidenceInterval ci = ConfidenceInterval.of(new double[] {2, 4, 4, 4, 5, 5, 7, 9}, 0.95);
+        assertEquals(5.0, ci.getMean(), 1e-12);
+        assertEquals(Math.sqrt(32.0 / 7), ci.getStandardDeviation(), 1e-12);
+        double t = ConfidenceInterval.studentTQuantile(0.975, 7);
+        assertEquals(t * Math.sqrt(32.0 / 7) / Math.sqrt(8), ci.getHalfWidth(), 1e-12);
+        assertEquals(8, ci.getCount());
+        assertTrue(ci.contains(5.0));
+        assertEquals(ci.getMean() - ci.getHalfWidth(), ci.getLower(), 1e-12);
+        assertEquals(ci.getMean() + ci.getHalfWidth(), ci.getUpper(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Edge cases: single observation, constant data and invalid arguments")
+    void testEdgeCases() {
+        assertTrue(Double.isNaN(ConfidenceInterval.of(new double[] {3}, 0.95).getHalfWidth()));
+        assertEquals(0.0, ConfidenceInterval.of(new double[] {3, 3, 3}, 0.95).getHalfWidth());
+        assertThrows(IllegalArgumentException.class, () -> ConfidenceInterval.of(new double[0], 0.95));
+        assertThrows(IllegalArgumentException.class, () -> ConfidenceInterval.of(new double[] {1, 2}, 1.0));
+    }
+}
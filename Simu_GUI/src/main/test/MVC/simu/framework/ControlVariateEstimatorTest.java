@@ -0,0 +1,67 @@
+package MVC.simu.framework;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class ControlVariateEstimator Tests")
+class ControlVariateEstimatorTest {
+
+    @Test
+    @DisplayName("A correlated control shrinks the variance without biasing the mean")
+    void testVarianceReduction() {
+        // y = 5 + 3 (c - 2) + small noise, so the control explains almost all of the variance
+        Random random = new Random(5);
+        int n = 50;
+        double[] y = new double[n];
+        double[][] c = new double[1][n];
+        for (int i = 0; i < n; i++) {
+            c[0][i] = 2 + random.nextGaussian();
+            y[i] = 5 + 3 * (c[0][i] - 2) + 0.1 * random.nextGaussian();
+        }
+        ControlVariateEstimator.Estimate estimate = ControlVariateEstimator.estimate(y, c, new double[] {2}, 0.95);
+
+        assertEquals(1, estimate.getControlsUsed());
+        assertTrue(estimate.getControlled().contains(5.0), estimate.toString());
+        assertEquals(5.0, estimate.getControlled().getMean(), 0.05);
+        assertTrue(estimate.getControlledVariance() < 0.01 * estimate.getRawVariance(), estimate.toString());
+    }
+
+    @Test
+    @DisplayName("Constant or missing controls are left out and the raw estimate is returned")
+    void testUnusableControls() {
+        double[] y = {1, 2, 3, 4, 5, 6};
+        double[][] c = {{7, 7, 7, 7, 7, 7}, {1, Double.NaN, 3, 4, 5, 6}};
+        ControlVariateEstimator.Estimate estimate = ControlVariateEstimator.estimate(y, c, new double[] {7, 3}, 0.95);
+
+        assertEquals(0, estimate.getControlsUsed());
+        assertEquals(estimate.getRaw().getMean(), estimate.getControlled().getMean());
+        assertEquals(estimate.getRawVariance(), estimate.getControlledVariance(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Controls sampled between observations are batched with them")
+    void testBatchedEstimator() {
+        Random random = new Random(9);
+        ControlVariateEstimator estimator = new ControlVariateEstimator("y", new double[] {1}, 0.95);
+        for (int i = 0; i < 19; i++) {
+            estimator.observeControl(0, 1);
+            estimator.observe(1);
+        }
+        assertNull(estimator.getEstimate());
+        estimator.reset();
+
+        for (int i = 0; i < 10_000; i++) {
+            double x = -Math.log(random.nextDouble());
+            estimator.observeControl(0, x);
+            estimator.observe(4 * x + random.nextGaussian());
+        }
+        ControlVariateEstimator.Estimate estimate = estimator.getEstimate();
+        int batches = estimate.getRaw().getCount();
+        assertTrue(batches >= ControlVariateEstimator.MIN_BATCHES && batches < 2 * ControlVariateEstimator.MIN_BATCHES);
+        assertTrue(estimate.getControlled().contains(4.0), estimate.toString());
+        assertTrue(estimate.getControlledVariance() < 0.2 * estimate.getRawVariance(), estimate.toString());
+    }
+}
@@ -1,5 +1,6 @@
 package MVC.simu.framework;
 
+import MVC.simu.model.EventType;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +22,33 @@ class EngineTest {
         protected void results() { resultsDone = true; }
     }
 
+    /** Engine that replays a fixed schedule and records each B and C phase. */
+    static class BatchEngine extends Engine {
+        final StringBuilder log = new StringBuilder();
+
+        BatchEngine(EventListType type) { super(null, type); }
+
+        @Override
+        protected void initialization() {
+            eventList.schedule(EventType.ARRIVAL, 1.0, 1);
+            eventList.schedule(EventType.ARRIVAL, 2.0, 3);
+            eventList.schedule(EventType.ARRIVAL, 1.0, 2);
+        }
+
+        @Override
+        protected void runEvent(Event t) {
+            log.append('B').append(t.getPayload());
+            // an event scheduled for the current instant joins the running batch
+            if (t.getPayload() == 1) eventList.schedule(EventType.EXIT_APPROVED, t.getTime(), 9);
+        }
+
+        @Override
+        protected void tryCEvents() { log.append('C'); }
+
+        @Override
+        protected void results() {}
+    }
+
     private DummyEngine engine;
 
     @BeforeEach
@@ -45,6 +73,17 @@ class EngineTest {
         assertTrue(engine.isStopped());
     }
 
+    @Test
+    @DisplayName("All events of one instant run as a batch before a single C phase")
+    void testBatchedBPhase() {
+        for (EventListType type : EventListType.values()) {
+            BatchEngine batch = new BatchEngine(type);
+            batch.setSimulationTime(10);
+            batch.run();
+            assertEquals("B1B2B9CB3C", batch.log.toString(), type.toString());
+        }
+    }
+
     @Test
     void testDelayConfiguration() {
         engine.setDelay(100);
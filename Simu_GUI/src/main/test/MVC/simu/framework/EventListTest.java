@@ -0,0 +1,202 @@
+package MVC.simu.framework;
+
+import MVC.simu.model.EventType;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IEventList Implementation Tests")
+class EventListTest {
+
+    /** Event types with explicit same-time priorities. */
+    private enum PrioritizedType implements IEventType {
+        LATE(5), EARLY(-1), NORMAL(0);
+
+        private final int priority;
+
+        PrioritizedType(int priority) { this.priority = priority; }
+
+        @Override
+        public int getPriority() { return priority; }
+    }
+
+    @Test
+    @DisplayName("Empty lists report infinity and throw on remove")
+    void testEmptyList() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            assertTrue(list.isEmpty(), type + " should start empty");
+            assertEquals(0, list.size());
+            assertEquals(Double.POSITIVE_INFINITY, list.getNextTime(), type.toString());
+            assertThrows(NoSuchElementException.class, list::remove, type.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Events come out in time order for every implementation")
+    void testRandomOrder() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            Random random = new Random(42);
+            for (int i = 0; i < 5_000; i++) {
+                list.add(new Event(EventType.ARRIVAL, random.nextDouble() * 1_000));
+            }
+            assertEquals(5_000, list.size());
+
+            double previous = Double.NEGATIVE_INFINITY;
+            while (!list.isEmpty()) {
+                double peeked = list.getNextTime();
+                Event e = list.remove();
+                assertEquals(peeked, e.getTime(), type + " peek must match remove");
+                assertTrue(e.getTime() >= previous, type + " returned events out of order");
+                previous = e.getTime();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Hold model matches the binary heap reference")
+    void testHoldModelAgainstReference() {
+        List<Double> reference = runHoldModel(EventListType.BINARY_HEAP);
+        assertEquals(reference, runHoldModel(EventListType.ARRAY_HEAP), "Array heap diverged");
+        assertEquals(reference, runHoldModel(EventListType.CALENDAR_QUEUE), "Calendar queue diverged");
+        assertEquals(reference, runHoldModel(EventListType.LADDER_QUEUE), "Ladder queue diverged");
+    }
+
+    @Test
+    @DisplayName("Skewed and duplicate times are handled")
+    void testSkewedTimes() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            for (int i = 0; i < 500; i++) list.add(new Event(EventType.ARRIVAL, 10.0));
+            for (int i = 0; i < 500; i++) list.add(new Event(EventType.ARRIVAL, 10.0 + i * 1e-9));
+            list.add(new Event(EventType.ARRIVAL, 1e9));
+            list.add(new Event(EventType.ARRIVAL, 0.5));
+
+            assertEquals(0.5, list.remove().getTime(), type.toString());
+            double previous = 0.5;
+            for (int i = 0; i < 1_000; i++) {
+                double t = list.remove().getTime();
+                assertTrue(t >= previous && t < 11, type + " returned events out of order");
+                previous = t;
+            }
+            assertEquals(1e9, list.remove().getTime(), type.toString());
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Events scheduled at the current time after a peek are not lost")
+    void testAddAfterPeek() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            for (int i = 1; i <= 200; i++) list.add(new Event(EventType.ARRIVAL, i * 10.0));
+            assertEquals(10.0, list.getNextTime());
+            list.remove();
+            list.add(new Event(EventType.EXIT_APPROVED, 10.0));
+            list.add(new Event(EventType.ARRIVAL, 15.0));
+            assertEquals(10.0, list.remove().getTime(), type.toString());
+            assertEquals(15.0, list.remove().getTime(), type.toString());
+            assertEquals(20.0, list.remove().getTime(), type.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Type and payload survive the round trip through every implementation")
+    void testPayloadRoundTrip() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            list.schedule(EventType.END_DECISION, 3.0, 7);
+            list.schedule(EventType.ARRIVAL, 1.0, 5);
+            list.add(new Event(EventType.EXIT_APPROVED, 2.0, 6));
+
+            Event reusable = new Event(null, 0);
+            Event e = list.removeNext(reusable);
+            assertEquals(EventType.ARRIVAL, e.getType(), type.toString());
+            assertEquals(5, e.getPayload(), type.toString());
+            e = list.removeNext(reusable);
+            assertEquals(EventType.EXIT_APPROVED, e.getType(), type.toString());
+            assertEquals(6, e.getPayload(), type.toString());
+            e = list.remove();
+            assertEquals(EventType.END_DECISION, e.getType(), type.toString());
+            assertEquals(7, e.getPayload(), type.toString());
+            assertEquals(3.0, e.getTime());
+        }
+    }
+
+    @Test
+    @DisplayName("Array heap fills the caller's event instead of allocating")
+    void testArrayHeapReusesFacade() {
+        ArrayEventHeap heap = new ArrayEventHeap(2);
+        for (int i = 0; i < 100; i++) heap.schedule(EventType.ARRIVAL, 100 - i, i);
+        Event reusable = new Event(null, 0);
+        for (int i = 99; i >= 0; i--) {
+            assertSame(reusable, heap.removeNext(reusable));
+            assertEquals(i, reusable.getPayload());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Array heap returns equal-time events in scheduling order")
+    void testArrayHeapFifoTies() {
+        ArrayEventHeap heap = new ArrayEventHeap();
+        for (int i = 0; i < 50; i++) heap.schedule(EventType.ARRIVAL, 1.0, i);
+        for (int i = 0; i < 50; i++) assertEquals(i, heap.remove().getPayload());
+    }
+
+    @Test
+    @DisplayName("Simultaneous events are ordered by priority, then by insertion")
+    void testSameTimeOrdering() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            list.schedule(PrioritizedType.LATE, 1.0, 0);
+            list.schedule(PrioritizedType.NORMAL, 1.0, 1);
+            list.schedule(PrioritizedType.EARLY, 1.0, 2);
+            list.schedule(PrioritizedType.NORMAL, 1.0, 3);
+            list.schedule(PrioritizedType.EARLY, 1.0, 4);
+            list.schedule(PrioritizedType.LATE, 0.5, 5);
+
+            int[] expected = {5, 2, 4, 1, 3, 0};
+            Event reusable = new Event(null, 0);
+            for (int payload : expected) {
+                assertEquals(payload, list.removeNext(reusable).getPayload(), type + " broke same-time ordering");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Event comparison breaks time ties by priority and sequence")
+    void testEventCompareTo() {
+        Event a = new Event(PrioritizedType.NORMAL, 2.0);
+        Event b = new Event(PrioritizedType.EARLY, 2.0);
+        Event c = new Event(PrioritizedType.NORMAL, 2.0);
+        a.setSeq(1);
+        b.setSeq(2);
+        c.setSeq(3);
+        assertTrue(b.compareTo(a) < 0, "Lower priority value should come first");
+        assertTrue(a.compareTo(c) < 0, "Earlier insertion should come first");
+        assertEquals(0, a.compareTo(a));
+        assertEquals(0, new Event(EventType.ARRIVAL, 1.0).getPriority(), "Default priority should be 0");
+    }
+
+    /** Classic hold model: remove the next event and schedule a new one an exponential delay later. */
+    private static List<Double> runHoldModel(EventListType type) {
+        IEventList list = type.create();
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) list.add(new Event(EventType.ARRIVAL, -Math.log(random.nextDouble())));
+
+        List<Double> served = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Event e = list.remove();
+            served.add(e.getTime());
+            list.add(new Event(EventType.ARRIVAL, e.getTime() - Math.log(random.nextDouble())));
+        }
+        return served;
+    }
+}
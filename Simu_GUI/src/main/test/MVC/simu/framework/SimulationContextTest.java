@@ -0,0 +1,94 @@
+package MVC.simu.framework;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Negexp;
+import eduni.distributions.RandomStreamFactory;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class SimulationContext Tests")
+class SimulationContextTest {
+
+    @Test
+    @DisplayName("Contexts with the same seed hand out the same streams")
+    void testSameSeedSameStreams() {
+        SimulationContext a = new SimulationContext(42L);
+        SimulationContext b = new SimulationContext(42L);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(a.nextStreamSeed(), b.nextStreamSeed());
+        }
+        assertEquals(a.getRandom().nextLong(), b.getRandom().nextLong());
+    }
+
+    @Test
+    @DisplayName("Stream seeds of one context are distinct and valid for the LCG")
+    void testStreamSeedsDistinct() {
+        SimulationContext context = new SimulationContext(-7L);
+        long previous = context.nextStreamSeed();
+        for (int i = 0; i < 8; i++) {
+            long next = context.nextStreamSeed();
+            assertNotEquals(previous, next);
+            assertTrue(next > 0 && next < 2147483647L);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Clocks, IDs and registries are not shared between contexts")
+    void testIsolation() {
+        SimulationContext a = new SimulationContext(1L);
+        SimulationContext b = new SimulationContext(1L);
+        a.getClock().setTime(50);
+        assertEquals(0.0, b.getClock().getTime());
+        assertNotSame(a.getClock(), Clock.getInstance());
+
+        assertEquals(1, a.nextId());
+        assertEquals(2, a.nextId());
+        assertEquals(1, b.nextId());
+
+        a.getRegistry(String.class).add("x");
+        assertTrue(b.getRegistry(String.class).isEmpty());
+        assertSame(a.getRegistry(String.class), a.getRegistry(String.class));
+    }
+
+    @Test
+    @DisplayName("Reset clears the clock, IDs and registries")
+    void testReset() {
+        SimulationContext context = new SimulationContext(3L);
+        context.getClock().setTime(10);
+        context.nextId();
+        List<String> registry = context.getRegistry(String.class);
+        registry.add("x");
+
+        context.reset();
+        assertEquals(0.0, context.getClock().getTime());
+        assertEquals(1, context.nextId());
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Antithetic contexts mirror the uniform numbers of their ordinary twin")
+    void testAntithetic() {
+        SimulationContext plain = new SimulationContext(5L);
+        SimulationContext mirrored = new SimulationContext(5L);
+        mirrored.setAntithetic(true);
+        ContinuousGenerator u = plain.nextUniformGenerator();
+        ContinuousGenerator v = mirrored.nextUniformGenerator();
+        ContinuousGenerator x = plain.nextGenerator(seed -> new Negexp(2, seed));
+        ContinuousGenerator y = mirrored.nextGenerator(seed -> new Negexp(2, seed));
+        for (int i = 0; i < 100; i++) {
+            double sample = u.sample();
+            assertTrue(sample > 0 && sample < 1);
+            assertEquals(1 - sample, v.sample(), 1e-15);
+            assertNotEquals(x.sample(), y.sample());
+        }
+
+        SimulationContext streamed = new SimulationContext(5L, new RandomStreamFactory(2).getStream(0));
+        SimulationContext streamedTwin = new SimulationContext(5L, new RandomStreamFactory(2).getStream(0));
+        streamedTwin.setAntithetic(true);
+        assertEquals(1 - streamed.nextUniformGenerator().sample(), streamedTwin.nextUniformGenerator().sample(), 1e-15);
+    }
+}
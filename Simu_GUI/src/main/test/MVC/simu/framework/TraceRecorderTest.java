@@ -0,0 +1,59 @@
+package MVC.simu.framework;
+
+import MVC.simu.model.EventType;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class TraceRecorder Tests")
+class TraceRecorderTest {
+
+    @Test
+    @DisplayName("Capacity is rounded up to a power of two")
+    void testCapacity() {
+        assertEquals(8, new TraceRecorder(5).getCapacity());
+        assertEquals(16, new TraceRecorder(16).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TraceRecorder(0));
+    }
+
+    @Test
+    @DisplayName("Only the most recent events are kept, oldest first")
+    void testWrapAround() {
+        TraceRecorder recorder = new TraceRecorder(4);
+        Event facade = new Event(EventType.ARRIVAL, 0);
+        for (int i = 0; i < 10; i++) {
+            facade.setTime(i);
+            facade.setPayload(100 + i);
+            recorder.record(facade);
+        }
+        assertEquals(10, recorder.getRecordCount());
+        assertEquals(4, recorder.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, recorder.getTime(i));
+            assertEquals(106 + i, recorder.getPayload(i));
+            assertEquals(EventType.ARRIVAL, recorder.getType(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> recorder.getTime(4));
+    }
+
+    @Test
+    @DisplayName("Dump prints one line per kept event and clear discards them")
+    void testDumpAndClear() {
+        TraceRecorder recorder = new TraceRecorder(8);
+        recorder.record(new Event(EventType.ARRIVAL, 1.5));
+        recorder.record(new Event(EventType.END_DECISION, 2.25, 7));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recorder.dump(new PrintStream(bytes, true));
+        String[] lines = bytes.toString().trim().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].contains("END_DECISION"));
+        assertTrue(lines[2].contains("payload=7"));
+
+        recorder.clear();
+        assertEquals(0, recorder.size());
+    }
+}
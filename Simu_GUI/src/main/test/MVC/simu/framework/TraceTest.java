@@ -0,0 +1,38 @@
+package MVC.simu.framework;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class Trace Tests")
+class TraceTest {
+
+    @AfterEach
+    void tearDown() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    @Test
+    @DisplayName("Levels below the trace level are disabled")
+    void testIsEnabled() {
+        Trace.setTraceLevel(Trace.Level.WAR);
+        assertFalse(Trace.isEnabled(Trace.Level.INFO));
+        assertTrue(Trace.isEnabled(Trace.Level.WAR));
+        assertTrue(Trace.isEnabled(Trace.Level.ERR));
+    }
+
+    @Test
+    @DisplayName("Message suppliers are only called when the level is enabled")
+    void testSupplierIsLazy() {
+        AtomicInteger calls = new AtomicInteger();
+        Trace.setTraceLevel(Trace.Level.ERR);
+        Trace.out(Trace.Level.INFO, () -> "built " + calls.incrementAndGet());
+        assertEquals(0, calls.get());
+
+        Trace.setTraceLevel(Trace.Level.INFO);
+        Trace.out(Trace.Level.INFO, () -> "built " + calls.incrementAndGet());
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,83 @@
+package MVC.simu.framework;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class WarmupDetector Tests")
+class WarmupDetectorTest {
+
+    @Test
+    @DisplayName("MSER finds the end of a deterministic transient")
+    void testTruncationPointOfStep() {
+        double[] y = new double[100];
+        for (int i = 0; i < y.length; i++) y[i] = i < 30 ? 10 + (30 - i) : 10 + (i % 2);
+        int d = WarmupDetector.truncationPoint(y, y.length);
+        assertTrue(d >= 28 && d <= 30, "d = " + d);
+    }
+
+    @Test
+    @DisplayName("A stationary series is truncated little or not at all")
+    void testStationarySeries() {
+        Random random = new Random(1);
+        WarmupDetector detector = new WarmupDetector();
+        int detectedAt = -1;
+        for (int i = 1; i <= 10_000 && detectedAt < 0; i++) {
+            if (detector.add(5 + random.nextGaussian())) detectedAt = i;
+        }
+        assertTrue(detector.isWarmupOver());
+        // the first evaluation at 100 observations and seven more confirmations
+        assertTrue(detectedAt <= 1_000, "detected at " + detectedAt);
+        assertEquals(detectedAt, detector.getDetectionPoint());
+        assertTrue(detector.getTruncationPoint() <= detectedAt / 2);
+    }
+
+    @Test
+    @DisplayName("The warm-up is reported once, after the transient of a streaming series")
+    void testStreamingTransient() {
+        Random random = new Random(2);
+        WarmupDetector detector = new WarmupDetector();
+        int reports = 0;
+        for (int i = 0; i < 20_000; i++) {
+            double transientPart = 50 * Math.exp(-i / 400.0);
+            if (detector.add(10 + transientPart + random.nextGaussian())) reports++;
+        }
+        assertEquals(1, reports);
+        assertEquals(20_000, detector.getObservationCount());
+        // the transient has decayed below the noise level after about 1800 observations,
+        // and a truncation point is only trusted in the first half of the series
+        long detected = detector.getDetectionPoint();
+        assertTrue(detected >= 1_600 && detected <= 8_000, "detected at " + detected);
+        long d = detector.getTruncationPoint();
+        assertTrue(d >= 800 && d <= 3_000, "truncation point " + d);
+    }
+
+    @Test
+    @DisplayName("A slow drift is not mistaken for the end of the warm-up")
+    void testLinearRamp() {
+        Random random = new Random(3);
+        WarmupDetector detector = new WarmupDetector();
+        for (int i = 0; i < 20_000 && !detector.isWarmupOver(); i++) {
+            detector.add(10 * Math.min(1.0, i / 2_000.0) + random.nextGaussian());
+        }
+        assertTrue(detector.getDetectionPoint() >= 2_000, "detected at " + detector.getDetectionPoint());
+        long d = detector.getTruncationPoint();
+        assertTrue(d >= 1_500 && d <= 2_500, "truncation point " + d);
+    }
+
+    @Test
+    @DisplayName("The observations after the truncation point are retained")
+    void testRetainedSum() {
+        Random random = new Random(4);
+        WarmupDetector detector = new WarmupDetector();
+        assertEquals(0.0, detector.getRetainedSum());
+        for (int i = 0; !detector.isWarmupOver(); i++) {
+            detector.add(10 + 50 * Math.exp(-i / 100.0) + random.nextGaussian());
+        }
+        long retained = detector.getDetectionPoint() - detector.getTruncationPoint();
+        assertTrue(retained >= detector.getDetectionPoint() / 2);
+        assertEquals(10, detector.getRetainedSum() / retained, 0.2);
+    }
+}
@@ -0,0 +1,71 @@
+package MVC.simu.model;
+
+import MVC.controller.NullController;
+import MVC.simu.framework.EngineMetrics;
+import MVC.simu.framework.EventListType;
+import MVC.simu.framework.SimulationContext;
+import MVC.simu.framework.Trace;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class EngineMetrics Tests")
+class EngineMetricsTest {
+
+    private MyEngine engine;
+
+    @BeforeEach
+    void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+        engine = new MyEngine(NullController.INSTANCE, TestConfigs.configs(), new SimulationContext(3L), EventListType.ARRAY_HEAP);
+        engine.setHeadless(true);
+        engine.setPersistResults(false);
+        engine.setSimulationTime(500);
+    }
+
+    @Test
+    @DisplayName("Counters reflect the finished run")
+    void testCounters() {
+        engine.run();
+        EngineMetrics metrics = engine.getMetrics();
+
+        Map<String, Long> counts = metrics.getEventCounts();
+        assertEquals(metrics.getEventsProcessed(), counts.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(counts.get("ARRIVAL") > 0);
+        assertTrue(metrics.getEventsProcessed() >= metrics.getCycles());
+        assertTrue(metrics.getCycles() > 0);
+        assertTrue(metrics.getEventListHighWaterMark() >= metrics.getEventListSize());
+        assertTrue(metrics.getEventsPerSecond() > 0);
+        assertTrue(metrics.getBPhaseMillis() > 0);
+        assertEquals(engine.getContext().getClock().getTime(), metrics.getSimulationTime());
+
+        assertEquals(6, metrics.getServicePointNames().length);
+        assertEquals(6, metrics.getQueueLengths().length);
+        int[] busy = metrics.getBusyServers();
+        for (int i = 0; i < busy.length; i++) {
+            assertEquals(engine.getServicePoints()[i].getBusyServers(), busy[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Metrics are readable over JMX and replaced by the next run")
+    void testMBean() throws Exception {
+        engine.run();
+        ObjectName name = engine.getMetrics().registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(engine.getMetrics().getEventsProcessed(), server.getAttribute(name, "EventsProcessed"));
+
+            EngineMetrics next = new EngineMetrics();
+            assertEquals(name, next.registerMBean());
+            assertEquals(0L, server.getAttribute(name, "EventsProcessed"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package MVC.simu.model;
+
+import MVC.controller.NullController;
+import MVC.simu.framework.EventListType;
+import MVC.simu.framework.SimulationContext;
+import MVC.simu.framework.Trace;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for running many {@link MyEngine} instances concurrently in one JVM.
+ */
+@DisplayName("Class MyEngine Concurrency Tests")
+class MyEngineConcurrencyTest {
+
+    private static final int ENGINES = 64;
+
+    @BeforeEach
+    void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    /** Runs one headless engine and returns a fingerprint of its results. */
+    private static String runOnce(long seed) {
+        MyEngine engine = new MyEngine(NullController.INSTANCE, TestConfigs.configs(), new SimulationContext(seed), EventListType.ARRAY_HEAP);
+        engine.setHeadless(true);
+        engine.setPersistResults(false);
+        engine.setSimulationTime(1_000);
+        engine.run();
+
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(engine.getTotalApplications()).append('/')
+                .append(engine.getApprovedCount()).append('/')
+                .append(engine.getRejectedCount()).append('/')
+                .append(Double.doubleToLongBits(engine.getAverageSystemTime()));
+        double end = engine.getContext().getClock().getTime();
+        for (ServicePoint sp : engine.getServicePoints()) {
+            fingerprint.append('|').append(sp.getTotalDepartures())
+                    .append(',').append(Double.doubleToLongBits(sp.getAverageWaitingTime()))
+                    .append(',').append(sp.getMaxQueueLength())
+                    .append(',').append(Double.doubleToLongBits(sp.getUtilization(end)));
+        }
+        return fingerprint.toString();
+    }
+
+    @Test
+    @DisplayName("64 engines with the same seed running in parallel produce identical results")
+    void testParallelEnginesAreIdentical() throws Exception {
+        String expected = runOnce(2024L);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < ENGINES; i++) {
+                results.add(pool.submit(() -> runOnce(2024L)));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Different seeds give different runs")
+    void testDifferentSeedsDiffer() {
+        assertNotEquals(runOnce(1L), runOnce(2L));
+    }
+}
@@ -0,0 +1,147 @@
+package MVC.simu.model;
+
+import MVC.controller.IControllerMtoV;
+import MVC.simu.framework.BatchMeansStoppingRule;
+import MVC.simu.framework.ControlVariateEstimator;
+import MVC.simu.framework.Engine.StopReason;
+import MVC.simu.framework.Trace;
+import MVC.view.IVisualisation;
+import eduni.project_distributionconfiguration.DistributionConfig;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link MyEngine} in headless mode. Unlike {@link MyEngineTest}, these tests
+ * must not need {@code Platform.startup}: any JavaFX call would fail without a toolkit.
+ */
+@DisplayName("Class MyEngine Headless Mode Tests")
+class MyEngineHeadlessTest {
+
+    /** Controller that fails the test if the engine reports to it in headless mode. */
+    static class FailingController implements IControllerMtoV {
+        @Override
+        public void showEndTime(double time) { fail("showEndTime called in headless mode"); }
+
+        @Override
+        public void visualiseCustomer() { fail("visualiseCustomer called in headless mode"); }
+
+        @Override
+        public void updateQueueStatus(int id, int size) { fail("updateQueueStatus called in headless mode"); }
+
+        @Override
+        public void displayResults(String s) { fail("displayResults called in headless mode"); }
+
+        @Override
+        public void updateStatistics(int totalApps, int approved, int rejected, double avgTime, double currentTime) {
+            fail("updateStatistics called in headless mode");
+        }
+
+        @Override
+        public IVisualisation getVisualisation() {
+            fail("getVisualisation called in headless mode");
+            return null;
+        }
+    }
+
+    private MyEngine engine;
+
+    @BeforeEach
+    void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+        DistributionConfig[] cfgs = new DistributionConfig[7];
+        for (int i = 0; i < 6; i++) {
+            cfgs[i] = new DistributionConfig("Negexp", 1.0, true);
+        }
+        cfgs[6] = new DistributionConfig("Negexp", 2.0, true);
+
+        engine = new MyEngine(new FailingController(), cfgs, 42L);
+        engine.setHeadless(true);
+        engine.setPersistResults(false);
+        engine.setDelay(1_000);
+    }
+
+    @Test
+    @DisplayName("A headless run completes without the FX toolkit, the view or the delay")
+    void testHeadlessRun() {
+        engine.setSimulationTime(2_000);
+        long start = System.nanoTime();
+        engine.run();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(engine.isHeadless());
+        assertTrue(engine.getTotalApplications() > 0, "Applications should have been processed");
+        assertEquals(engine.getTotalApplications(), engine.getApprovedCount() + engine.getRejectedCount());
+        assertTrue(elapsedMs < 1_000, "Headless mode must not sleep for the configured delay");
+    }
+
+    @Test
+    @DisplayName("Warm-up detection resets the statistics once the transient is over")
+    void testWarmupTruncation() {
+        engine.setWarmupDetection(true);
+        engine.setSimulationTime(5_000);
+        engine.run();
+
+        double warmupEnd = engine.getWarmupEndTime();
+        assertTrue(warmupEnd > 0 && warmupEnd < 5_000, "warm-up end " + warmupEnd);
+        assertTrue(engine.getAverageSystemTime() > 0);
+        assertTrue(engine.getTotalApplications() > 0);
+        assertEquals(engine.getTotalApplications(), engine.getApprovedCount() + engine.getRejectedCount());
+        for (ServicePoint sp : engine.getServicePoints()) {
+            assertTrue(sp.getUtilization(5_000) <= 100.0 * sp.getNumEmployees());
+        }
+    }
+
+    @Test
+    @DisplayName("A run ends at the horizon unless a stopping rule or budget ends it first")
+    void testStopReasons() {
+        engine.setSimulationTime(500);
+        engine.run();
+        assertEquals(StopReason.TIME_HORIZON, engine.getStopReason());
+    }
+
+    @Test
+    @DisplayName("A precision target stops the run once the confidence interval is tight enough")
+    void testPrecisionTarget() {
+        BatchMeansStoppingRule rule = engine.addSystemTimePrecisionTarget(0.05, 0.95);
+        engine.setSimulationTime(1e9);
+        engine.run();
+
+        assertEquals(StopReason.PRECISION_REACHED, engine.getStopReason());
+        assertTrue(rule.getConfidenceInterval().getRelativeHalfWidth() <= 0.05);
+        assertTrue(engine.getContext().getClock().getTime() < 1e9);
+    }
+
+    @Test
+    @DisplayName("The wall-clock budget ends a run that would otherwise not stop")
+    void testWallClockBudget() {
+        engine.addWaitingTimePrecisionTarget(0, 1e-12, 0.95);
+        engine.setWallClockBudget(200);
+        engine.setSimulationTime(Double.MAX_VALUE);
+        long start = System.nanoTime();
+        engine.run();
+
+        assertEquals(StopReason.WALL_CLOCK_BUDGET, engine.getStopReason());
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2_000);
+    }
+
+    @Test
+    @DisplayName("Control variates adjust the average time in system and reduce its variance")
+    void testControlVariates() {
+        assertNull(engine.getSystemTimeEstimate());
+        engine.setSimulationTime(20_000);
+        engine.run();
+
+        assertEquals(2.0, engine.getControlMean(0));
+        assertEquals(1.0, engine.getControlMean(1));
+        assertEquals(2.0, engine.getControlSampleMean(0), 0.1);
+        assertEquals(1.0, engine.getControlSampleMean(3), 0.1);
+
+        ControlVariateEstimator.Estimate estimate = engine.getSystemTimeEstimate();
+        assertNotNull(estimate);
+        assertTrue(estimate.getControlsUsed() > 0);
+        assertEquals(engine.getAverageSystemTime(), estimate.getRaw().getMean(), 0.05 * engine.getAverageSystemTime());
+        assertTrue(estimate.getControlledVariance() < estimate.getRawVariance(), estimate.toString());
+        assertNotNull(engine.getWaitingTimeEstimate(0));
+    }
+}
@@ -0,0 +1,73 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.Trace;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class ParameterSweep Tests")
+class ParameterSweepTest {
+
+    @BeforeEach
+    void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    private static ParameterSweep sweep(boolean quasiRandom) {
+        ParameterSweep sweep = new ParameterSweep(new ReplicationRunner(TestConfigs.configs(3.0), 500));
+        sweep.addRange(3, 1, 1.0, 6.0);
+        sweep.addRange(1, 1, 1.0, 3.0);
+        sweep.setQuasiRandom(quasiRandom);
+        return sweep;
+    }
+
+    @Test
+    @DisplayName("The settings of each randomization cover every range evenly")
+    void testSettings() {
+        SweepSummary summary = sweep(true).run(16, 2, 5L);
+        List<double[]> settings = summary.getSettings();
+        assertEquals(32, settings.size());
+        assertEquals(32, summary.getReplications().size());
+        for (int r = 0; r < 2; r++) {
+            boolean[] hit = new boolean[16];
+            for (int p = 0; p < 16; p++) {
+                double[] setting = settings.get(16 * r + p);
+                assertTrue(setting[0] > 1.0 && setting[0] < 6.0);
+                assertTrue(setting[1] > 1.0 && setting[1] < 3.0);
+                int cell = (int) ((setting[0] - 1.0) / 5.0 * 16);
+                assertFalse(hit[cell], "cell " + cell + " of randomization " + r + " hit twice");
+                hit[cell] = true;
+            }
+        }
+        assertNotEquals(settings.get(0)[0], settings.get(16)[0], "randomizations are scrambled independently");
+        assertEquals(2, summary.getAverageSystemTime().getCount());
+        assertEquals(1 + 2 * 6, summary.getMetrics().size());
+    }
+
+    @Test
+    @DisplayName("Quasi-random settings estimate the average over the region more precisely than random ones")
+    void testQuasiRandomGain() {
+        SweepSummary quasiRandom = sweep(true).run(16, 8, 5L);
+        SweepSummary random = sweep(false).run(16, 8, 5L);
+        assertTrue(quasiRandom.getAverageSystemTime().getHalfWidth() < random.getAverageSystemTime().getHalfWidth(),
+                quasiRandom.getAverageSystemTime() + " vs " + random.getAverageSystemTime());
+        assertTrue(Math.abs(quasiRandom.getAverageSystemTime().getMean() - random.getAverageSystemTime().getMean())
+                < quasiRandom.getAverageSystemTime().getHalfWidth() + random.getAverageSystemTime().getHalfWidth());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        ParameterSweep sweep = new ParameterSweep(new ReplicationRunner(TestConfigs.configs(3.0), 100));
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(4, 2, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addRange(0, 2, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addRange(-1, 1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addRange(7, 1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addRange(0, 1, 2, 1));
+        sweep.addRange(0, 1, 0.5, 1.5);
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(4, 1, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(0, 2, 1L));
+    }
+}
@@ -0,0 +1,137 @@
+package MVC.simu.model;
+
+import MVC.simu.framework.ConfidenceInterval;
+import MVC.simu.framework.Trace;
+import eduni.distributions.RandomStreamFactory;
+import eduni.project_distributionconfiguration.DistributionConfig;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class ReplicationRunner Tests")
+class ReplicationRunnerTest {
+
+    @BeforeEach
+    void setup() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    @Test
+    @DisplayName("Results do not depend on the degree of parallelism")
+    void testParallelismDoesNotChangeResults() {
+        ReplicationRunner sequential = new ReplicationRunner(TestConfigs.configs(), 500);
+        sequential.setParallelism(1);
+        ReplicationRunner parallel = new ReplicationRunner(TestConfigs.configs(), 500);
+        parallel.setParallelism(4);
+
+        ReplicationSummary a = sequential.run(8, 99L);
+        ReplicationSummary b = parallel.run(8, 99L);
+        assertEquals(a.toString(), b.toString());
+        for (int r = 0; r < 8; r++) {
+            assertEquals(a.getReplications().get(r).getSeed(), b.getReplications().get(r).getSeed());
+            assertEquals(a.getReplications().get(r).getAverageSystemTime(), b.getReplications().get(r).getAverageSystemTime());
+        }
+    }
+
+    @Test
+    @DisplayName("Replications use distinct seeds and produce a summary for every metric")
+    void testSummary() {
+        ReplicationRunner runner = new ReplicationRunner(TestConfigs.configs(), 500);
+        ReplicationSummary summary = runner.run(6, 7L);
+
+        List<ReplicationResult> replications = summary.getReplications();
+        assertEquals(6, replications.size());
+        assertEquals(6, replications.stream().mapToLong(ReplicationResult::getSeed).distinct().count());
+        assertEquals(6, replications.stream().mapToDouble(ReplicationResult::getAverageSystemTime).distinct().count());
+
+        ConfidenceInterval systemTime = summary.getAverageSystemTime();
+        assertEquals(6, systemTime.getCount());
+        assertTrue(systemTime.getHalfWidth() > 0);
+        assertTrue(systemTime.contains(systemTime.getMean()));
+        // one system-time metric plus three per service point
+        assertEquals(1 + 3 * 6, summary.getMetrics().size());
+        assertTrue(summary.getUtilization(0).getMean() > 0);
+        // with six replications at most three controls keep two degrees of freedom
+        assertEquals(3, summary.getControlledAverageSystemTime().getControlsUsed());
+        assertEquals(systemTime.getMean(), summary.getControlledAverageSystemTime().getRaw().getMean());
+        assertEquals(6, summary.getControlledAverageWaitingTime(0).getControlled().getCount());
+    }
+
+    @Test
+    @DisplayName("Replications on MRG32k3a streams are reproducible and independent of parallelism")
+    void testStreamFactory() {
+        ReplicationRunner sequential = new ReplicationRunner(TestConfigs.configs(), 500);
+        sequential.setParallelism(1);
+        sequential.setStreamFactory(new RandomStreamFactory(3));
+        ReplicationRunner parallel = new ReplicationRunner(TestConfigs.configs(), 500);
+        parallel.setParallelism(4);
+        parallel.setStreamFactory(new RandomStreamFactory(3));
+        ReplicationRunner seeded = new ReplicationRunner(TestConfigs.configs(), 500);
+
+        ReplicationSummary a = sequential.run(6, 11L);
+        ReplicationSummary b = parallel.run(6, 11L);
+        ReplicationSummary c = seeded.run(6, 11L);
+        assertEquals(a.toString(), b.toString());
+        assertNotEquals(a.toString(), c.toString());
+        assertEquals(6, a.getReplications().stream().mapToDouble(ReplicationResult::getAverageSystemTime).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Common random numbers narrow the interval of a scenario difference")
+    void testCompareWithCommonRandomNumbers() {
+        // a stable system, so that the synchronized runs stay in step
+        DistributionConfig[] base = TestConfigs.configs();
+        base[6] = new DistributionConfig("Negexp", 3.0, true);
+        DistributionConfig[] faster = base.clone();
+        faster[5] = new DistributionConfig("Normal", 2.3, 0.3, false);
+        ReplicationRunner runner = new ReplicationRunner(base, 1000);
+        ScenarioComparison comparison = runner.compare(faster, 8, 5L);
+
+        ConfidenceInterval difference = comparison.getAverageSystemTimeDifference();
+        assertEquals(8, difference.getCount());
+        assertEquals(comparison.getFirst().getAverageSystemTime().getMean() - comparison.getSecond().getAverageSystemTime().getMean(),
+                difference.getMean(), 1e-9);
+        assertTrue(difference.getLower() > 0, "the faster decision step lowers the time in system: " + difference);
+        double unpaired = Math.hypot(comparison.getFirst().getAverageSystemTime().getHalfWidth(),
+                comparison.getSecond().getAverageSystemTime().getHalfWidth());
+        assertTrue(difference.getHalfWidth() < 0.6 * unpaired, "paired interval " + difference + " vs unpaired half-width " + unpaired);
+        // system time plus waiting time and utilization per service point
+        assertEquals(1 + 2 * 6, comparison.getMetrics().size());
+
+        ScenarioComparison same = runner.compare(base, 4, 5L);
+        assertEquals(0.0, same.getAverageSystemTimeDifference().getMean());
+    }
+
+    @Test
+    @DisplayName("Antithetic replications run in pairs of one seed and are summarized per pair")
+    void testAntitheticPairs() {
+        ReplicationRunner runner = new ReplicationRunner(TestConfigs.configs(), 500);
+        runner.setAntithetic(true);
+        ReplicationSummary summary = runner.run(8, 3L);
+
+        List<ReplicationResult> replications = summary.getReplications();
+        assertEquals(8, replications.size());
+        assertEquals(4, summary.getAverageSystemTime().getCount());
+        for (int k = 0; k < 4; k++) {
+            ReplicationResult ordinary = replications.get(2 * k), mirrored = replications.get(2 * k + 1);
+            assertEquals(ordinary.getSeed(), mirrored.getSeed());
+            assertNotEquals(ordinary.getAverageSystemTime(), mirrored.getAverageSystemTime());
+        }
+        assertEquals(replications.stream().mapToDouble(ReplicationResult::getAverageSystemTime).average().orElseThrow(),
+                summary.getAverageSystemTime().getMean(), 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> runner.run(2, 1L));
+        assertThrows(IllegalArgumentException.class, () -> runner.run(5, 1L));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        ReplicationRunner runner = new ReplicationRunner(TestConfigs.configs(), 500);
+        assertThrows(IllegalArgumentException.class, () -> runner.run(1, 1L));
+        assertThrows(IllegalArgumentException.class, () -> runner.setParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> new ReplicationRunner(TestConfigs.configs(), 0));
+    }
+}
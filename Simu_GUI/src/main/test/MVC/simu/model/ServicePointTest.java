@@ -1,7 +1,9 @@
 package MVC.simu.model;
 
 import MVC.controller.IControllerMtoV;
+import MVC.simu.framework.Event;
 import MVC.simu.framework.EventList;
+import MVC.simu.framework.SimulationContext;
 import MVC.simu.framework.Trace;
 import MVC.view.IVisualisation;
 import eduni.distributions.ContinuousGenerator;
@@ -188,4 +190,101 @@ class ServicePointTest {
     void testGetServicePointNameReturnsName() {
         assertNotNull(servicePoint.getServicePointName());
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that resetting the statistics clears the counters but keeps the applications.
+     */
+    @Test
+    void testResetStatistics() {
+        for (int i = 0; i < servicePoint.getNumEmployees() + 3; i++) {
+            servicePoint.addQueue(new ApplicationAsCustomer(true, true));
+        }
+        servicePoint.removeQueue();
+        assertEquals(1, servicePoint.getTotalDepartures());
+
+        servicePoint.resetStatistics();
+        assertEquals(0, servicePoint.getTotalDepartures());
+        assertEquals(0.0, servicePoint.getAverageWaitingTime());
+        assertEquals(servicePoint.getQueueSize(), servicePoint.getMaxQueueLength());
+        assertTrue(servicePoint.getQueueSize() > 0);
+    }
+
+    /**
+     * Verifies that a completion event releases the application of its own server slot,
+     * and that the busy time is that of the completed services plus the elapsed part of those in progress.
+     */
+    @Test
+    void testCompletionReleasesItsOwnSlot() {
+        double[] serviceTimes = {5.0, 1.0, 2.0};
+        ContinuousGenerator fixed = new ContinuousGenerator() {
+            private int next;
+            public double sample() { return serviceTimes[next++]; }
+            public void setSeed(long seed) {}
+            public long getSeed() { return 0; }
+            public void reseed() {}
+        };
+        SimulationContext context = new SimulationContext(1L);
+        ServicePoint sp = new ServicePoint(fixed, eventList, EventType.END_DOC_CHECK, controller, context);
+        sp.adjustEmployees(2);
+        ApplicationAsCustomer first = new ApplicationAsCustomer(context, true, true);
+        ApplicationAsCustomer second = new ApplicationAsCustomer(context, true, true);
+        ApplicationAsCustomer third = new ApplicationAsCustomer(context, true, true);
+        sp.addQueue(first);
+        sp.addQueue(second);
+        sp.addQueue(third);
+        assertEquals(1, sp.getQueueSize());
+
+        // the second application finishes first, although the first started at the same time
+        Event event = eventList.remove();
+        assertEquals(1.0, event.getTime());
+        context.getClock().setTime(event.getTime());
+        assertSame(second, sp.removeQueue(event.getPayload()));
+        assertEquals(0, sp.getQueueSize());
+        // the first application has been in service for 1, the third has just started
+        assertEquals((1.0 + 1.0 + 0.0) / 10.0 * 100, sp.getUtilization(10.0), 1e-12);
+        // all three have started service, only the third one waited
+        assertEquals(1.0 / 3.0, sp.getAverageWaitingTime(), 1e-12);
+
+        // the third application took over the freed slot and ends at 1 + 2
+        event = eventList.remove();
+        assertEquals(3.0, event.getTime());
+        context.getClock().setTime(event.getTime());
+        assertSame(third, sp.removeQueue(event.getPayload()));
+        assertNull(sp.removeQueue(event.getPayload()), "an idle slot has nothing to release");
+
+        context.getClock().setTime(5.0);
+        assertSame(first, sp.removeQueue());
+        assertEquals(3, sp.getTotalDepartures());
+        assertEquals((5.0 + 1.0 + 2.0) / 10.0 * 100, sp.getUtilization(10.0), 1e-12);
+        assertEquals(0, sp.getBusyServers());
+        assertNull(sp.removeQueue());
+    }
+
+    /**
+     * Verifies that the waiting queue keeps its first-in first-out order while its ring buffer wraps and grows.
+     */
+    @Test
+    void testQueueOrderAcrossGrowth() {
+        SimulationContext context = new SimulationContext(2L);
+        ServicePoint sp = new ServicePoint(new Negexp(1.0, 3L), eventList, EventType.END_DOC_CHECK, controller, context) {
+            @Override
+            public void checkBottleneck() {} // keep a single employee however long the queue gets
+        };
+        sp.adjustEmployees(1);
+        ApplicationAsCustomer[] apps = new ApplicationAsCustomer[60];
+        int served = 0;
+        for (int i = 0; i < apps.length; i++) {
+            apps[i] = new ApplicationAsCustomer(context, true, true);
+            sp.addQueue(apps[i]);
+            // complete one service every third arrival so the ring buffer wraps around before it grows
+            if (i % 3 == 2) assertSame(apps[served++], sp.removeQueue());
+        }
+        assertEquals(apps.length - served - 1, sp.getQueueSize());
+        while (served < apps.length) {
+            assertSame(apps[served], sp.removeQueue(), "application " + served);
+            served++;
+        }
+        assertEquals(0, sp.getQueueSize());
+        assertNull(sp.removeQueue());
+    }
+}
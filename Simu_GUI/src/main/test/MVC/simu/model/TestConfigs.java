@@ -0,0 +1,33 @@
+package MVC.simu.model;
+
+import eduni.project_distributionconfiguration.DistributionConfig;
+
+/**
+ * Distribution configurations shared by the tests that run complete engines:
+ * six service points with mixed distributions and an exponential arrival process.
+ */
+final class TestConfigs {
+
+    private TestConfigs() {}
+
+    /** @return a new set of configurations with a mean inter-arrival time of 0.8 */
+    static DistributionConfig[] configs() {
+        return configs(0.8);
+    }
+
+    /**
+     * @param arrivalMean the mean inter-arrival time
+     * @return a new set of configurations, indexed like the configurations of {@link MyEngine}
+     */
+    static DistributionConfig[] configs(double arrivalMean) {
+        return new DistributionConfig[] {
+                new DistributionConfig("Negexp", 1.0, false),
+                new DistributionConfig("Normal", 2.0, 0.5, false),
+                new DistributionConfig("Gamma", 1.0, 2.0, false),
+                new DistributionConfig("Negexp", 3.0, false),
+                new DistributionConfig("Negexp", 1.5, false),
+                new DistributionConfig("Normal", 2.5, 0.3, false),
+                new DistributionConfig("Negexp", arrivalMean, true)
+        };
+    }
+}
@@ -0,0 +1,226 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class Distributions Tests")
+class DistributionsTest {
+
+    private static final long SEED = 20240611L;
+
+    /** Checks that bulk sampling, split over several calls, repeats the scalar sequence. */
+    private static void assertBulkMatchesScalar(LongFunction<ContinuousGenerator> factory) {
+        ContinuousGenerator scalar = factory.apply(SEED);
+        ContinuousGenerator bulk = factory.apply(SEED);
+
+        double[] expected = new double[1001];
+        for (int i = 0; i < expected.length; i++) expected[i] = scalar.sample();
+
+        double[] actual = new double[expected.length + 2];
+        bulk.sample(actual, 1, 1);
+        bulk.sample(actual, 2, 499);
+        bulk.sample(actual, 501, 501);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i + 1], "sample " + i);
+        }
+        assertEquals(0.0, actual[0]);
+        assertEquals(0.0, actual[actual.length - 1]);
+        assertEquals(scalar.sample(), bulk.sample(), "generators continue in step");
+    }
+
+    @Test
+    @DisplayName("Bulk sampling of the specialized generators matches scalar sampling")
+    void testBulkMatchesScalar() {
+        assertBulkMatchesScalar(RandomGenerator::new);
+        assertBulkMatchesScalar(seed -> new Negexp(5, seed));
+        assertBulkMatchesScalar(seed -> new Uniform(2, 7, seed));
+        assertBulkMatchesScalar(seed -> new Normal(10, 4, seed));
+        assertBulkMatchesScalar(seed -> new LogNormal(1, 0.25, seed));
+        assertBulkMatchesScalar(seed -> new Gamma(2, 3, seed));
+        assertBulkMatchesScalar(seed -> new Gamma(2, 2.5, seed));
+        assertBulkMatchesScalar(seed -> new Erlang(3, 2, seed));
+        assertBulkMatchesScalar(seed -> new Weibull(2, 1.5, seed));
+    }
+
+    @Test
+    @DisplayName("Bulk sampling with the legacy algorithms matches scalar sampling")
+    void testLegacyBulkMatchesScalar() {
+        assertBulkMatchesScalar(seed -> legacy(new Negexp(5, seed)));
+        assertBulkMatchesScalar(seed -> legacy(new Normal(10, 4, seed)));
+        assertBulkMatchesScalar(seed -> legacy(new LogNormal(1, 0.25, seed)));
+    }
+
+    private static <G extends Generator> G legacy(G generator) {
+        generator.setAlgorithm(Distributions.Algorithm.LEGACY);
+        return generator;
+    }
+
+    @Test
+    @DisplayName("The legacy algorithms reproduce Box-Muller and inversion sampling")
+    void testLegacyAlgorithms() {
+        Normal normal = legacy(new Normal(10, 4, SEED));
+        Negexp negexp = legacy(new Negexp(5, SEED + 1));
+        RandomGenerator u = new RandomGenerator(SEED);
+        RandomGenerator v = new RandomGenerator(SEED + 1);
+        for (int i = 0; i < 100; i++) {
+            double u1 = u.sample(), u2 = u.sample();
+            assertEquals(10 + 2 * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2)), normal.sample());
+            assertEquals(-5 * Math.log(v.sample()), negexp.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("Ziggurat samplers have the moments and tails of their distributions")
+    void testZigguratDistributions() {
+        Normal normal = new Normal(0, 1, SEED);
+        Negexp negexp = new Negexp(1, SEED);
+        assertEquals(Distributions.Algorithm.FAST, normal.getAlgorithm());
+        int n = 400000;
+        double sumN = 0, sumSqN = 0, sumE = 0, sumSqE = 0;
+        int beyond2 = 0, beyondR = 0, above3 = 0, above8 = 0;
+        for (int i = 0; i < n; i++) {
+            double z = normal.sample();
+            sumN += z;
+            sumSqN += z * z;
+            if (Math.abs(z) > 2) beyond2++;
+            if (Math.abs(z) > 3.442619855899) beyondR++;
+            double e = negexp.sample();
+            assertTrue(e >= 0);
+            sumE += e;
+            sumSqE += e * e;
+            if (e > 3) above3++;
+            if (e > 8) above8++;
+        }
+        assertEquals(0, sumN / n, 0.01);
+        assertEquals(1, sumSqN / n, 0.01);
+        assertEquals(0.0455, (double) beyond2 / n, 0.002);
+        assertEquals(5.76e-4, (double) beyondR / n, 1.5e-4);
+        assertEquals(1, sumE / n, 0.01);
+        assertEquals(2, sumSqE / n, 0.04);
+        assertEquals(Math.exp(-3), (double) above3 / n, 0.002);
+        assertEquals(Math.exp(-8), (double) above8 / n, 1.5e-4);
+    }
+
+    /** Asserts the sample mean (within 5 standard errors) and variance (within 3%) of a generator. */
+    private static void assertMoments(ContinuousGenerator generator, double mean, double variance) {
+        int n = 200000;
+        double sum = 0, sumSq = 0;
+        for (int i = 0; i < n; i++) {
+            double x = generator.sample();
+            assertFalse(Double.isNaN(x));
+            sum += x;
+            sumSq += x * x;
+        }
+        double m = sum / n;
+        assertEquals(mean, m, 5 * Math.sqrt(variance / n), "mean");
+        assertEquals(variance, sumSq / n - m * m, 0.03 * variance, "variance");
+    }
+
+    @Test
+    @DisplayName("Marsaglia-Tsang gamma and the distributions built on it have the expected moments")
+    void testGammaFamily() {
+        assertMoments(new Gamma(2, 0.3, SEED), 0.6, 1.2);
+        assertMoments(new Gamma(2, 2.5, SEED), 5, 10);
+        assertMoments(new Gamma(0.5, 1000, SEED), 500, 250);
+        assertMoments(new Erlang(3, 2, SEED), 6, 12);
+        assertMoments(new ChiSquare(4, SEED), 4, 8);
+        assertMoments(new Beta(2, 5, SEED), 2.0 / 7, 10.0 / (49 * 8));
+        assertMoments(new Tstudent(5, SEED), 0, 5.0 / 3);
+    }
+
+    @Test
+    @DisplayName("The legacy chi-square sums squared normals")
+    void testLegacyChiSquare() {
+        assertMoments(legacy(new ChiSquare(4, SEED)), 4, 8);
+    }
+
+    /** Asserts the sample mean (within 5 standard errors) and variance (within 3%) of a discrete generator. */
+    private static void assertMoments(DiscreteGenerator generator, double mean, double variance) {
+        int n = 200000;
+        double sum = 0, sumSq = 0;
+        for (int i = 0; i < n; i++) {
+            double x = generator.sample();
+            sum += x;
+            sumSq += x * x;
+        }
+        double m = sum / n;
+        assertEquals(mean, m, 5 * Math.sqrt(variance / n), "mean");
+        assertEquals(variance, sumSq / n - m * m, 0.03 * variance, "variance");
+    }
+
+    @Test
+    @DisplayName("Poisson and binomial samplers have the expected moments for small and large parameters")
+    void testDiscreteMoments() {
+        assertMoments(new Poisson(4, SEED), 4, 4);
+        assertMoments(new Poisson(50, SEED), 50, 50);
+        assertMoments(new Poisson(1e6, SEED), 1e6, 1e6);
+        assertMoments(new Binomial(0.3, 20, SEED), 6, 4.2);
+        assertMoments(new Binomial(0.3, 1000, SEED), 300, 210);
+        assertMoments(new Binomial(0.9, 1000, SEED), 900, 90);
+        assertMoments(new Binomial(0.001, 2000000, SEED), 2000, 1998);
+        assertMoments(new Geometric(0.001, SEED), 1000, 999000);
+    }
+
+    @Test
+    @DisplayName("PTRS and BTRD reproduce the probability mass functions")
+    void testRejectionSamplersPmf() {
+        int n = 400000;
+        int[] poisson = new int[100];
+        int[] binomial = new int[101];
+        Poisson ptrs = new Poisson(30, SEED);
+        Binomial btrd = new Binomial(0.4, 100, SEED);
+        for (int i = 0; i < n; i++) {
+            long k = ptrs.sample();
+            if (k < poisson.length) poisson[(int) k]++;
+            binomial[(int) btrd.sample()]++;
+        }
+        for (int k = 15; k <= 45; k++) {
+            double p = Math.exp(-30 + k * Math.log(30) - SpecialFunctions.logFactorial(k));
+            assertEquals(p, (double) poisson[k] / n, 5 * Math.sqrt(p / n) + 1e-5, "Poisson k = " + k);
+        }
+        for (int k = 25; k <= 55; k++) {
+            double p = Math.exp(SpecialFunctions.logFactorial(100) - SpecialFunctions.logFactorial(k)
+                    - SpecialFunctions.logFactorial(100 - k) + k * Math.log(0.4) + (100 - k) * Math.log(0.6));
+            assertEquals(p, (double) binomial[k] / n, 5 * Math.sqrt(p / n) + 1e-5, "binomial k = " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Generators without a bulk implementation fall back to scalar sampling")
+    void testDefaultBulkSampling() {
+        assertBulkMatchesScalar(seed -> new Pareto(1, 3, seed));
+
+        DiscreteGenerator scalar = new Poisson(4, SEED);
+        DiscreteGenerator bulk = new Poisson(4, SEED);
+        long[] actual = new long[100];
+        bulk.sample(actual, 0, actual.length);
+        for (long value : actual) assertEquals(scalar.sample(), value);
+    }
+
+    @Test
+    @DisplayName("Bulk sampling rejects ranges outside the array")
+    void testBulkBounds() {
+        double[] dst = new double[10];
+        assertThrows(IndexOutOfBoundsException.class, () -> new RandomGenerator(1).sample(dst, 5, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> new Normal(0, 1, 1).sample(dst, -1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> new Erlang(2, 1, 1).sample(dst, 8, 3));
+    }
+
+    @Test
+    @DisplayName("Weibull samples are positive with the expected mean")
+    void testWeibullMean() {
+        Weibull weibull = new Weibull(2, 1, SEED);
+        double[] values = new double[20000];
+        weibull.sample(values, 0, values.length);
+        double sum = 0;
+        for (double value : values) {
+            assertTrue(value > 0);
+            sum += value;
+        }
+        // shape 1 is the exponential distribution with mean = scale
+        assertEquals(2.0, sum / values.length, 0.1);
+    }
+}
@@ -0,0 +1,89 @@
+package eduni.distributions;
+
+import eduni.project_distributionconfiguration.DistributionConfig;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class EmpiricalGenerator Tests")
+class EmpiricalGeneratorTest {
+
+    @Test
+    @DisplayName("Alias sampling picks the bins in proportion to their counts")
+    void testBinFrequencies() {
+        // 10 bins of width 1 on [0, 10] with counts 1, 2, ..., 10
+        EmpiricalGenerator.Histogram histogram = new EmpiricalGenerator.Histogram(0, 10, 10);
+        for (int bin = 0; bin < 10; bin++)
+            for (int k = 0; k <= bin; k++) histogram.accept(bin + 0.5);
+        assertEquals(55, histogram.getCount());
+        EmpiricalGenerator generator = new EmpiricalGenerator(histogram.toTable(), 11L);
+
+        int n = 550000;
+        int[] frequency = new int[10];
+        for (int i = 0; i < n; i++) {
+            double x = generator.sample();
+            assertTrue(x >= 0 && x <= 10, "sample " + x);
+            frequency[(int) x]++;
+        }
+        for (int bin = 0; bin < 10; bin++) {
+            double p = (bin + 1) / 55.0;
+            assertEquals(p, (double) frequency[bin] / n, 5 * Math.sqrt(p / n), "bin " + bin);
+        }
+        // sum of (bin + 1) * (bin + 0.5) over the bins, divided by the count
+        assertEquals(357.5 / 55, histogram.toTable().getMean(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Observations held in memory give their mean and range back")
+    void testObservations() {
+        Negexp source = new Negexp(4, 5L);
+        double[] observations = new double[40000];
+        source.sample(observations, 0, observations.length);
+        double min = Double.POSITIVE_INFINITY, max = 0, sum = 0;
+        for (double x : observations) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+            sum += x;
+        }
+
+        EmpiricalGenerator generator = new EmpiricalGenerator(observations, 9L);
+        assertEquals(EmpiricalGenerator.binsFor(observations.length), generator.getTable().getBins());
+        double[] samples = new double[200000];
+        generator.sample(samples, 0, samples.length);
+        double total = 0;
+        for (double x : samples) {
+            assertTrue(x >= min && x <= max);
+            total += x;
+        }
+        assertEquals(sum / observations.length, total / samples.length, 0.05);
+
+        double[] constant = {3, 3, 3};
+        assertEquals(3.0, new EmpiricalGenerator(constant, 1L).sample());
+    }
+
+    @Test
+    @DisplayName("Invalid histograms are rejected")
+    void testInvalid() {
+        assertThrows(ParameterException.class, () -> new EmpiricalGenerator(new double[0], 1L));
+        assertThrows(ParameterException.class, () -> new EmpiricalGenerator.Histogram(1, 0, 4));
+        assertThrows(ParameterException.class, () -> new EmpiricalGenerator.Histogram(0, 1, 4).accept(2));
+        assertThrows(ParameterException.class, () -> new EmpiricalGenerator.Histogram(0, 1, 4).toTable());
+        assertEquals(1, EmpiricalGenerator.binsFor(0));
+        assertEquals(100, EmpiricalGenerator.binsFor(10000));
+        assertEquals(EmpiricalGenerator.MAX_BINS, EmpiricalGenerator.binsFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Empirical configurations build generators that share the table")
+    void testDistributionConfig() {
+        EmpiricalGenerator.Table table = new EmpiricalGenerator(new double[] {1, 2, 4, 8}, 1L).getTable();
+        DistributionConfig config = new DistributionConfig(table, true);
+        config.setTabulated(true);
+        assertEquals("Empirical", config.getType());
+        assertEquals(table.getMean(), config.getParam1());
+
+        EmpiricalGenerator generator = (EmpiricalGenerator) config.buildGenerator(3L);
+        assertSame(table, generator.getTable());
+        assertEquals(new EmpiricalGenerator(table, 3L).sample(), generator.sample());
+    }
+}
@@ -0,0 +1,110 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class MRG32k3a Tests")
+class MRG32k3aTest {
+
+    private static long[][] powerOfTwo(long[][] a, int exponent, long m) {
+        for (int i = 0; i < exponent; i++) a = MRG32k3a.multiply(a, a, m);
+        return a;
+    }
+
+    @Test
+    @DisplayName("The default stream starts with the reference values of MRG32k3a")
+    void testReferenceValues() {
+        MRG32k3a generator = new RandomStreamFactory().getStream(0);
+        assertEquals(0.12701112204657714, generator.sample(), 1e-15);
+        assertEquals(0.3185275653967945, generator.sample(), 1e-15);
+        assertEquals(0.3091860155832701, generator.sample(), 1e-15);
+    }
+
+    @Test
+    @DisplayName("The jump matrices are the step matrices to the powers 2^76 and 2^127")
+    void testJumpMatrices() {
+        assertArrayEquals(MRG32k3a.A1P76, powerOfTwo(MRG32k3a.A1, 76, MRG32k3a.M1));
+        assertArrayEquals(MRG32k3a.A2P76, powerOfTwo(MRG32k3a.A2, 76, MRG32k3a.M2));
+        assertArrayEquals(MRG32k3a.A1P127, powerOfTwo(MRG32k3a.A1, 127, MRG32k3a.M1));
+        assertArrayEquals(MRG32k3a.A2P127, powerOfTwo(MRG32k3a.A2, 127, MRG32k3a.M2));
+    }
+
+    @Test
+    @DisplayName("Jumping by the step matrices equals stepping the generator")
+    void testJumpMatchesStepping() {
+        MRG32k3a stepped = new RandomStreamFactory(5).getStream(0);
+        long[] start = stepped.getState();
+        for (int i = 0; i < 1000; i++) stepped.sample();
+        long[] jumped = new long[6];
+        MRG32k3a.jump(start, MRG32k3a.A1, MRG32k3a.A2, 1000, jumped);
+        assertArrayEquals(stepped.getState(), jumped);
+    }
+
+    @Test
+    @DisplayName("Streams and substreams are addressed consistently")
+    void testStreamsAndSubstreams() {
+        RandomStreamFactory factory = new RandomStreamFactory(42);
+        long[] twoJumps = new long[6];
+        MRG32k3a.jump(factory.getStream(1).getState(), MRG32k3a.A1P127, MRG32k3a.A2P127, 2, twoJumps);
+        assertArrayEquals(factory.getStream(3).getState(), twoJumps);
+
+        MRG32k3a stream = factory.getStream(7);
+        MRG32k3a third = stream.substream(3);
+        stream.reseed();
+        stream.reseed();
+        stream.reseed();
+        assertEquals(3, stream.getSeed());
+        assertArrayEquals(third.getState(), stream.getState());
+        assertNotEquals(factory.getStream(7).sample(), factory.getStream(8).sample());
+    }
+
+    @Test
+    @DisplayName("Seeding restarts a substream and bulk sampling matches scalar sampling")
+    void testSeedAndBulk() {
+        MRG32k3a generator = new RandomStreamFactory(1).getStream(2);
+        generator.setSeed(4);
+        double[] expected = new double[257];
+        for (int i = 0; i < expected.length; i++) expected[i] = generator.sample();
+
+        generator.resetStartSubstream();
+        double[] actual = new double[expected.length];
+        generator.sample(actual, 0, 100);
+        generator.sample(actual, 100, 157);
+        assertArrayEquals(expected, actual);
+
+        generator.setSeed(4);
+        assertEquals(expected[0], generator.sample());
+        for (double u : expected) assertTrue(u > 0 && u < 1);
+    }
+
+    @Test
+    @DisplayName("Generators and Random wrappers draw from the stream")
+    void testSourceOfGenerators() {
+        MRG32k3a stream = new RandomStreamFactory(9).getStream(0);
+        Uniform uniform = new Uniform(0, 2, 1);
+        uniform.setSource(stream.substream(1));
+        assertEquals(2 * stream.substream(1).sample(), uniform.sample());
+
+        Random random = stream.substream(2).asRandom();
+        double sum = 0;
+        for (int i = 0; i < 10000; i++) {
+            double d = random.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+            sum += d;
+        }
+        assertEquals(0.5, sum / 10000, 0.02);
+    }
+
+    @Test
+    @DisplayName("Invalid seeds and indexes are rejected")
+    void testInvalidArguments() {
+        assertThrows(ParameterException.class, () -> new RandomStreamFactory(new long[] {0, 0, 0, 1, 1, 1}));
+        assertThrows(ParameterException.class, () -> new RandomStreamFactory(new long[] {1, 1, MRG32k3a.M1, 1, 1, 1}));
+        assertThrows(ParameterException.class, () -> new RandomStreamFactory(new long[] {1, 1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new RandomStreamFactory().getStream(-1));
+        assertThrows(IllegalArgumentException.class, () -> new RandomStreamFactory().getStream(0).setSeed(-1));
+    }
+}
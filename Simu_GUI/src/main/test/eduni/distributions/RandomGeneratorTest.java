@@ -0,0 +1,48 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class RandomGenerator Tests")
+class RandomGeneratorTest {
+
+    @Test
+    @DisplayName("Skipping n numbers equals calling nextLong n times")
+    void testSkipMatchesStepping() {
+        for (long n : new long[]{0, 1, 2, 7, 1024, 100000, 123457}) {
+            RandomGenerator stepped = new RandomGenerator(4851L);
+            RandomGenerator skipped = new RandomGenerator(4851L);
+            for (long i = 0; i < n; i++) stepped.nextLong();
+            skipped.skip(n);
+            assertEquals(stepped.getSeed(), skipped.getSeed(), "n = " + n);
+            assertEquals(stepped.nextLong(), skipped.nextLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Skipping a full period returns to the start")
+    void testSkipFullPeriod() {
+        RandomGenerator generator = new RandomGenerator(987654321L);
+        generator.skip(2147483646L);
+        assertEquals(987654321L, generator.getSeed());
+    }
+
+    @Test
+    @DisplayName("Skipping a negative count is rejected")
+    void testSkipNegative() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomGenerator(1).skip(-1));
+    }
+
+    @Test
+    @DisplayName("Seed generators hand out seeds spacing numbers apart")
+    void testSeedGeneratorSpacing() {
+        SeedGenerator seeds = new SeedGenerator(4851L, 100000);
+        RandomGenerator reference = new RandomGenerator(4851L);
+        assertEquals(4851L, seeds.sample());
+        for (int k = 0; k < 5; k++) {
+            for (int i = 0; i < 100000; i++) reference.nextLong();
+            assertEquals(reference.getSeed(), seeds.sample());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class SobolSequence Tests")
+class SobolSequenceTest {
+
+    private static double[][] points(SobolSequence sequence, int n) {
+        double[][] points = new double[n][sequence.getDimensions()];
+        for (double[] point : points) sequence.nextPoint(point);
+        return points;
+    }
+
+    @Test
+    @DisplayName("The plain sequence starts with the reference Sobol points")
+    void testReferencePoints() {
+        double[][] points = points(new SobolSequence(3), 4);
+        double[][] expected = {{0, 0, 0}, {0.5, 0.5, 0.5}, {0.75, 0.25, 0.25}, {0.25, 0.75, 0.75}};
+        for (int n = 0; n < 4; n++)
+            for (int j = 0; j < 3; j++)
+                assertEquals(expected[n][j], points[n][j], 1e-9, "point " + n + ", coordinate " + j);
+    }
+
+    @Test
+    @DisplayName("Every coordinate of the first 2^m points hits each interval of width 2^-m once, scrambled or not")
+    void testStratification() {
+        int n = 1 << 12;
+        for (SobolSequence sequence : new SobolSequence[] {
+                new SobolSequence(SobolSequence.MAX_DIMENSION), new SobolSequence(SobolSequence.MAX_DIMENSION, 17)}) {
+            double[][] points = points(sequence, n);
+            for (int j = 0; j < SobolSequence.MAX_DIMENSION; j++) {
+                boolean[] hit = new boolean[n];
+                for (double[] point : points) {
+                    assertTrue(point[j] > 0 && point[j] < 1);
+                    int cell = (int) (point[j] * n);
+                    assertFalse(hit[cell], "coordinate " + j + " hits cell " + cell + " twice");
+                    hit[cell] = true;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Randomized QMC estimates a smooth integral with far less variance than Monte Carlo")
+    void testRandomizedQmcVariance() {
+        int n = 1024, randomizations = 20, d = 6;
+        double[] qmc = new double[randomizations], mc = new double[randomizations];
+        double[] point = new double[d];
+        for (int r = 0; r < randomizations; r++) {
+            SobolSequence sequence = new SobolSequence(d, r);
+            Random random = new Random(r);
+            for (int i = 0; i < n; i++) {
+                sequence.nextPoint(point);
+                double f = 1, g = 1;
+                for (int j = 0; j < d; j++) {
+                    f *= 0.5 + point[j];
+                    g *= 0.5 + random.nextDouble();
+                }
+                qmc[r] += f / n;
+                mc[r] += g / n;
+            }
+        }
+        // the integral of prod(0.5 + u_j) over the unit cube is 1
+        assertEquals(1.0, mean(qmc), 1e-3);
+        assertTrue(variance(qmc) < 0.01 * variance(mc), "RQMC " + variance(qmc) + ", MC " + variance(mc));
+    }
+
+    @Test
+    @DisplayName("A coordinate stream, the skip-ahead and the seed reproduce the points of the sequence")
+    void testStreamsAndSkipping() {
+        SobolSequence sequence = new SobolSequence(5, 99);
+        ContinuousGenerator stream = sequence.stream(3);
+        double[][] points = points(sequence, 1000);
+        double[] batch = new double[500];
+        for (int i = 0; i < 500; i++) assertEquals(points[i][3], stream.sample());
+        stream.sample(batch, 0, 500);
+        for (int i = 0; i < 500; i++) assertEquals(points[500 + i][3], batch[i]);
+
+        double[] point = new double[5];
+        sequence.skipTo(777);
+        sequence.nextPoint(point);
+        assertArrayEquals(points[777], point);
+        assertEquals(778, sequence.getIndex());
+
+        sequence.setSeed(99);
+        sequence.nextPoint(point);
+        assertArrayEquals(points[0], point);
+        sequence.setSeed(100);
+        sequence.nextPoint(point);
+        assertNotEquals(points[0][0], point[0]);
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        assertThrows(ParameterException.class, () -> new SobolSequence(0));
+        assertThrows(ParameterException.class, () -> new SobolSequence(SobolSequence.MAX_DIMENSION + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SobolSequence(2).skipTo(SobolSequence.MAX_POINTS));
+        assertThrows(IndexOutOfBoundsException.class, () -> new SobolSequence(2).stream(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> new SobolSequence(3).nextPoint(new double[2]));
+    }
+
+    private static double mean(double[] x) {
+        double sum = 0;
+        for (double v : x) sum += v;
+        return sum / x.length;
+    }
+
+    private static double variance(double[] x) {
+        double m = mean(x), sum = 0;
+        for (double v : x) sum += (v - m) * (v - m);
+        return sum / (x.length - 1);
+    }
+}
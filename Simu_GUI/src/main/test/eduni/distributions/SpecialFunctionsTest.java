@@ -0,0 +1,51 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class SpecialFunctions Tests")
+class SpecialFunctionsTest {
+
+    @Test
+    @DisplayName("logFactorial matches the sum of logarithms on both sides of the table")
+    void testLogFactorial() {
+        assertEquals(0.0, SpecialFunctions.logFactorial(0));
+        assertEquals(0.0, SpecialFunctions.logFactorial(1));
+        double sum = 0;
+        for (int k = 1; k <= 5000; k++) {
+            sum += Math.log(k);
+            assertEquals(sum, SpecialFunctions.logFactorial(k), 1e-12 * sum, "k = " + k);
+        }
+        assertThrows(IllegalArgumentException.class, () -> SpecialFunctions.logFactorial(-1));
+    }
+
+    @Test
+    @DisplayName("The Stirling correction is continuous where the series takes over")
+    void testStirlingCorrection() {
+        // known value of the correction at k = 0: 1 - log(2 pi) / 2
+        assertEquals(1 - 0.5 * Math.log(2 * Math.PI), SpecialFunctions.stirlingCorrection(0), 1e-15);
+        for (int k = 10; k < 40; k++) {
+            double x = k + 1.0;
+            double exact = SpecialFunctions.logFactorial(k) - ((x - 0.5) * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI));
+            assertEquals(exact, SpecialFunctions.stirlingCorrection(k), 1e-11, "k = " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Digamma and trigamma match known values and their recurrences")
+    void testPolygamma() {
+        double eulerGamma = 0.5772156649015329;
+        assertEquals(-eulerGamma, SpecialFunctions.digamma(1), 1e-13);
+        assertEquals(-eulerGamma - 2 * Math.log(2), SpecialFunctions.digamma(0.5), 1e-13);
+        assertEquals(Math.PI * Math.PI / 6, SpecialFunctions.trigamma(1), 1e-13);
+        assertEquals(Math.PI * Math.PI / 2, SpecialFunctions.trigamma(0.5), 1e-12);
+        for (double x : new double[] {0.01, 0.7, 3.3, 5.9, 40, 1e5}) {
+            assertEquals(SpecialFunctions.digamma(x) + 1 / x, SpecialFunctions.digamma(x + 1), 1e-12 * Math.max(1, 1 / x), "x = " + x);
+            assertEquals(SpecialFunctions.trigamma(x) - 1 / (x * x), SpecialFunctions.trigamma(x + 1), 1e-12 * Math.max(1, 1 / (x * x)), "x = " + x);
+            // derivative of logGamma
+            double h = 1e-5 * x;
+            assertEquals((SpecialFunctions.logGamma(x + h) - SpecialFunctions.logGamma(x - h)) / (2 * h), SpecialFunctions.digamma(x), 1e-6 * Math.max(1, 1 / x), "x = " + x);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package eduni.distributions;
+
+import eduni.project_distributionconfiguration.DistributionConfig;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class TabulatedGenerator Tests")
+class TabulatedGeneratorTest {
+
+    private static final int N = 100000;
+
+    /** Critical value of the Kolmogorov-Smirnov statistic at the 0.1% level. */
+    private static final double KS_CRITICAL = 1.95;
+
+    private static double[] sortedSample(ContinuousGenerator generator) {
+        double[] x = new double[N];
+        generator.sample(x, 0, N);
+        Arrays.sort(x);
+        return x;
+    }
+
+    /** One-sample KS distance of a sorted sample from a distribution function. */
+    private static double ksDistance(double[] sorted, DoubleUnaryOperator cdf) {
+        double d = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            double f = cdf.applyAsDouble(sorted[i]);
+            d = Math.max(d, Math.max((i + 1.0) / sorted.length - f, f - (double) i / sorted.length));
+        }
+        return d;
+    }
+
+    /** Two-sample KS distance of two sorted samples. */
+    private static double ksDistance(double[] a, double[] b) {
+        int i = 0, j = 0;
+        double d = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] <= b[j]) i++; else j++;
+            d = Math.max(d, Math.abs((double) i / a.length - (double) j / b.length));
+        }
+        return d;
+    }
+
+    private static void assertMatchesExact(DoubleUnaryOperator quantile, DoubleUnaryOperator cdf, ContinuousGenerator exact) {
+        double[] tabulated = sortedSample(new TabulatedGenerator(quantile, 17L));
+        assertTrue(ksDistance(tabulated, cdf) < KS_CRITICAL / Math.sqrt(N), "KS distance to the distribution function");
+        assertTrue(ksDistance(tabulated, sortedSample(exact)) < KS_CRITICAL * Math.sqrt(2.0 / N), "KS distance to the exact sampler");
+    }
+
+    @Test
+    @DisplayName("Tabulated samples follow the distributions of the exact samplers")
+    void testKolmogorovSmirnov() {
+        assertMatchesExact(p -> DistributionFunctions.normalQuantile(p, 5, 2),
+                x -> DistributionFunctions.normalCdf(x, 5, 2), new Normal(5, 2, 3L));
+        assertMatchesExact(p -> DistributionFunctions.negexpQuantile(p, 3),
+                x -> DistributionFunctions.negexpCdf(x, 3), new Negexp(3, 3L));
+        assertMatchesExact(p -> DistributionFunctions.gammaQuantile(p, 2, 0.5),
+                x -> DistributionFunctions.gammaCdf(x, 2, 0.5), new Gamma(2, 0.5, 3L));
+        assertMatchesExact(p -> DistributionFunctions.gammaQuantile(p, 1, 20),
+                x -> DistributionFunctions.gammaCdf(x, 1, 20), new Gamma(1, 20, 3L));
+    }
+
+    @Test
+    @DisplayName("Interpolated quantiles are close to the exact ones and the tails are exact")
+    void testInterpolationError() {
+        DoubleUnaryOperator quantile = p -> DistributionFunctions.normalQuantile(p, 0, 1);
+        TabulatedGenerator.Table table = new TabulatedGenerator.Table(quantile, TabulatedGenerator.DEFAULT_SIZE);
+        for (double u = 0.001; u < 0.999; u += 0.000937) {
+            assertEquals(quantile.applyAsDouble(u), table.quantile(u), 1e-5, "u = " + u);
+        }
+        assertEquals(quantile.applyAsDouble(1e-9), table.quantile(1e-9));
+        assertEquals(quantile.applyAsDouble(1 - 1e-9), table.quantile(1 - 1e-9));
+    }
+
+    @Test
+    @DisplayName("Distribution functions and quantiles are inverse to each other")
+    void testDistributionFunctions() {
+        assertEquals(1.959963984540054, DistributionFunctions.normalQuantile(0.975, 0, 1), 1e-12);
+        assertEquals(0.5, DistributionFunctions.normalCdf(3, 3, 4), 1e-15);
+        for (double p : new double[] {1e-10, 0.01, 0.3, 0.5, 0.9, 0.999999}) {
+            assertEquals(p, DistributionFunctions.normalCdf(DistributionFunctions.normalQuantile(p, 1, 4), 1, 4), 1e-12 * Math.max(1, p / (1 - p)));
+            assertEquals(p, DistributionFunctions.negexpCdf(DistributionFunctions.negexpQuantile(p, 2), 2), 1e-13);
+            for (double shape : new double[] {0.1, 1, 2.5, 100}) {
+                assertEquals(p, DistributionFunctions.gammaCdf(DistributionFunctions.gammaQuantile(p, 3, shape), 3, shape), 1e-10, "shape " + shape);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> DistributionFunctions.normalQuantile(1, 0, 1));
+    }
+
+    @Test
+    @DisplayName("Tabulated configurations build generators that share one table")
+    void testDistributionConfig() {
+        DistributionConfig config = new DistributionConfig("Gamma", 1.0, 2.0, false);
+        assertFalse(config.isTabulated());
+        assertInstanceOf(Gamma.class, config.buildGenerator(1L));
+
+        config.setTabulated(true);
+        TabulatedGenerator a = (TabulatedGenerator) config.buildGenerator(1L);
+        TabulatedGenerator b = (TabulatedGenerator) config.buildGenerator(2L);
+        assertSame(a.getTable(), b.getTable());
+        assertEquals(new TabulatedGenerator(a.getTable(), 1L).sample(), a.sample());
+
+        DistributionConfig invalid = new DistributionConfig("Negexp", -1.0, false);
+        invalid.setTabulated(true);
+        assertThrows(IllegalArgumentException.class, () -> invalid.buildGenerator(1L));
+    }
+}
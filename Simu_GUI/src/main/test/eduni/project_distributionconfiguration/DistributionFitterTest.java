@@ -0,0 +1,84 @@
+package eduni.project_distributionconfiguration;
+
+import eduni.distributions.Gamma;
+import eduni.distributions.Negexp;
+import eduni.distributions.Normal;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Class DistributionFitter Tests")
+class DistributionFitterTest {
+
+    private static double[] sample(eduni.distributions.ContinuousGenerator generator, int n) {
+        double[] x = new double[n];
+        generator.sample(x, 0, n);
+        return x;
+    }
+
+    @Test
+    @DisplayName("A gamma sample is fitted best by Gamma with the generating parameters")
+    void testGammaSample() {
+        DistributionFitter fitter = new DistributionFitter();
+        fitter.setParallelism(3);
+        List<DistributionFitter.Fit> fits = fitter.fit(sample(new Gamma(2, 3, 7L), 200000), false);
+
+        assertEquals(3, fits.size());
+        DistributionFitter.Fit best = fits.get(0);
+        assertEquals("Gamma", best.getConfig().getType());
+        assertEquals(2, best.getConfig().getParam1(), 0.03);
+        assertEquals(3, best.getConfig().getParam2(), 0.03);
+        assertTrue(best.getKolmogorovSmirnov() < 1.95 / Math.sqrt(200000));
+        assertTrue(best.getAndersonDarling() < 6.0, "AD " + best.getAndersonDarling());
+        assertTrue(fits.get(1).getAic() >= best.getAic());
+        assertTrue(fits.get(1).getKolmogorovSmirnov() > best.getKolmogorovSmirnov());
+    }
+
+    @Test
+    @DisplayName("Normal and exponential samples are recognised and only valid families are fitted")
+    void testNormalAndNegexpSamples() {
+        DistributionFitter fitter = new DistributionFitter();
+        List<DistributionFitter.Fit> normal = fitter.fit(sample(new Normal(-1, 4, 3L), 100000), false);
+        assertEquals(1, normal.size(), "samples with negative values only fit Normal");
+        assertEquals(-1, normal.get(0).getConfig().getParam1(), 0.03);
+        assertEquals(4, normal.get(0).getConfig().getParam2(), 0.08);
+
+        List<DistributionFitter.Fit> negexp = fitter.fit(sample(new Negexp(5, 3L), 100000), true);
+        assertNotEquals("Normal", negexp.get(0).getConfig().getType());
+        for (DistributionFitter.Fit fit : negexp) {
+            if (fit.getConfig().getType().equals("Negexp")) assertEquals(5, fit.getConfig().getParam1(), 0.1);
+            if (fit.getConfig().getType().equals("Gamma")) assertEquals(1, fit.getConfig().getParam2(), 0.02);
+        }
+        assertEquals("Normal", negexp.get(negexp.size() - 1).getConfig().getType());
+    }
+
+    @Test
+    @DisplayName("The Gamma shape estimate solves its likelihood equation")
+    void testGammaShape() {
+        for (double shape : new double[] {0.05, 0.5, 1, 7, 300}) {
+            double s = Math.log(shape) - eduni.distributions.SpecialFunctions.digamma(shape);
+            assertEquals(shape, DistributionFitter.gammaShape(s), 1e-9 * shape, "shape " + shape);
+        }
+    }
+
+    @Test
+    @DisplayName("Samples are read from text files and invalid samples are rejected")
+    void testReadSampleAndInvalid() throws Exception {
+        Path file = Files.createTempFile("sample", ".txt");
+        try {
+            Files.writeString(file, "# times\n1.5, 2\n\n3;4.25  5\n");
+            assertArrayEquals(new double[] {1.5, 2, 3, 4.25, 5}, DistributionFitter.readSample(file));
+        } finally {
+            Files.delete(file);
+        }
+        DistributionFitter fitter = new DistributionFitter();
+        assertThrows(IllegalArgumentException.class, () -> fitter.fit(new double[] {1}, false));
+        assertThrows(IllegalArgumentException.class, () -> fitter.fit(new double[] {2, 2, 2}, false));
+        assertThrows(IllegalArgumentException.class, () -> fitter.fit(new double[] {1, Double.NaN}, false));
+        assertThrows(IllegalArgumentException.class, () -> fitter.setParallelism(0));
+    }
+}